@@ -0,0 +1,81 @@
+package com.university.management.config;
+
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.university.management.model.Application;
+import com.university.management.model.Course;
+import com.university.management.model.Student;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Document Version Backfill - stamps version 0 on students, courses and applications
+ * written before they carried a @Version field. Spring Data treats an entity with a null
+ * version as new, so saving such a document would try to insert it again; this runs during
+ * context startup, before the initializers and before any request is served.
+ * Every later write goes through the versioned entities, so once all three collections are
+ * stamped a marker in schema_migrations is written and later startups skip the scans.
+ */
+@Component
+public class DocumentVersionBackfill {
+    
+    private static final List<Class<?>> VERSIONED_ENTITIES = List.of(Student.class, Course.class, Application.class);
+    
+    private static final String MIGRATIONS = "schema_migrations";
+    private static final String MARKER_ID = "document-version-backfill";
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Value("${concurrency.version-backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+    
+    @PostConstruct
+    public void backfill() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            if (mongoTemplate.exists(new Query(Criteria.where("_id").is(MARKER_ID)), MIGRATIONS)) {
+                return;
+            }
+        } catch (Exception e) {
+            System.out.println("⚠️  Could not read version backfill marker: " + e.getMessage());
+        }
+        
+        boolean complete = true;
+        for (Class<?> entity : VERSIONED_ENTITIES) {
+            try {
+                long stamped = mongoTemplate.updateMulti(new Query(Criteria.where("version").exists(false)),
+                        new Update().set("version", 0L), entity).getModifiedCount();
+                if (stamped > 0) {
+                    System.out.println("✅ Version backfill: " + stamped + " documents in "
+                            + mongoTemplate.getCollectionName(entity));
+                }
+            } catch (Exception e) {
+                complete = false;
+                System.out.println("❌ Version backfill failed for " + mongoTemplate.getCollectionName(entity)
+                        + ": " + e.getMessage());
+            }
+        }
+        
+        // Retried on the next startup if any collection failed
+        if (complete) {
+            try {
+                mongoTemplate.save(new Document("_id", MARKER_ID).append("completedAt", new Date()), MIGRATIONS);
+            } catch (Exception e) {
+                System.out.println("⚠️  Could not record version backfill marker: " + e.getMessage());
+            }
+        }
+    }
+}
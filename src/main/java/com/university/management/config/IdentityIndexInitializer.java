@@ -0,0 +1,45 @@
+package com.university.management.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.university.management.service.IdentityService;
+
+/**
+ * Identity Index Initializer - reconciles the identities collection with admins and students
+ * Runs after the data initializers, on a background thread so startup is not blocked;
+ * until it finishes, lookups for missing handles fall back to the per-collection queries.
+ */
+@Component
+@Order(10) // Run after all data initializers
+public class IdentityIndexInitializer implements CommandLineRunner {
+    
+    @Autowired
+    private IdentityService identityService;
+    
+    @Value("${identity.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+    
+    @Override
+    public void run(String... args) throws Exception {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        
+        Thread rebuild = new Thread(() -> {
+            try {
+                long started = System.currentTimeMillis();
+                long written = identityService.rebuild();
+                System.out.println("✅ Identity index rebuilt: " + written + " handles in "
+                        + (System.currentTimeMillis() - started) + " ms");
+            } catch (Exception e) {
+                System.out.println("❌ Identity index rebuild failed: " + e.getMessage());
+            }
+        }, "identity-index-rebuild");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+}
@@ -0,0 +1,235 @@
+package com.university.management.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import com.university.management.model.Application;
+import com.university.management.model.Course;
+import com.university.management.model.ProvisioningJob;
+import com.university.management.model.SeatHold;
+import com.university.management.model.SeatStripe;
+import com.university.management.model.Student;
+
+/**
+ * Index Catalog - single place where query-driven indexes are declared
+ * Each index is listed next to the repository queries it serves, and every query shape
+ * registered here is explain-checked by QueryPlanVerifier (test profile) to make sure it
+ * never falls back to a COLLSCAN. Single-field unique indexes stay as @Indexed on the models;
+ * IndexReconciler ensures both.
+ */
+@Component
+public class IndexCatalog {
+
+    private final List<IndexSpec> indexes = new ArrayList<>();
+    private final List<QueryShape> queryShapes = new ArrayList<>();
+
+    public IndexCatalog() {
+        declareStudentIndexes();
+        declareCourseIndexes();
+        declareApplicationIndexes();
+        declareSeatHoldIndexes();
+        declareSeatStripeIndexes();
+        declareProvisioningJobIndexes();
+    }
+
+    public List<IndexSpec> getIndexes() {
+        return Collections.unmodifiableList(indexes);
+    }
+
+    public List<QueryShape> getQueryShapes() {
+        return Collections.unmodifiableList(queryShapes);
+    }
+
+    private void declareStudentIndexes() {
+        // Cursor listing (StudentSortField): {sortKey, _id}, also serves equality/range on the sort key
+        index(Student.class, "name_id", "name", "_id");
+        index(Student.class, "rollNo_id", "rollNo", "_id");
+        index(Student.class, "department_id", "department", "_id");
+        index(Student.class, "year_id", "year", "_id");
+        index(Student.class, "currentCGPA_id", "currentCGPA", "_id");
+        index(Student.class, "createdAt_id", "createdAt", "_id");
+
+        // Derived queries in StudentRepository
+        index(Student.class, "department_year", "department", "year");
+        index(Student.class, "department_semester", "department", "semester");
+        index(Student.class, "year_semester", "year", "semester");
+        index(Student.class, "semester", "semester");
+        index(Student.class, "placementStatus", "placementStatus");
+        index(Student.class, "company", "company");
+        index(Student.class, "attendancePercentage", "attendance.percentage");
+        index(Student.class, "totalCredits", "totalCredits");
+        index(Student.class, "packageAmount", "packageAmount");
+
+        shape(Student.class, "findByEmail", new Document("email", "a@b.c"), null);
+        shape(Student.class, "findByRollNo", new Document("rollNo", "CS0001"), null);
+        shape(Student.class, "findByDepartment", new Document("department", "CSE"), null);
+        shape(Student.class, "findByYear", new Document("year", 1), null);
+        shape(Student.class, "findByDepartmentAndYear", new Document("department", "CSE").append("year", 1), null);
+        shape(Student.class, "findBySemester", new Document("semester", 1), null);
+        shape(Student.class, "findByDepartmentAndSemester", new Document("department", "CSE").append("semester", 1), null);
+        shape(Student.class, "findByYearAndSemester", new Document("year", 1).append("semester", 1), null);
+        shape(Student.class, "findByPlacementStatus", new Document("placementStatus", "Placed"), null);
+        shape(Student.class, "findByCompany", new Document("company", "TCS"), null);
+        shape(Student.class, "findByCurrentCGPABetween",
+                new Document("currentCGPA", new Document("$gte", 6.0).append("$lte", 9.0)), null);
+        shape(Student.class, "findStudentsWithLowAttendance",
+                new Document("attendance.percentage", new Document("$lt", 75.0)), null);
+        shape(Student.class, "findByTotalCreditsBetween",
+                new Document("totalCredits", new Document("$gte", 0).append("$lte", 200)), null);
+        shape(Student.class, "findByPackageAmountBetween",
+                new Document("packageAmount", new Document("$gte", 0.0).append("$lte", 50.0)), null);
+        shape(Student.class, "rolloverBatch", new Document("department", "CSE")
+                .append("semester", new Document("$lt", 8)).append("lastRolloverTerm", new Document("$ne", "2025-ODD")),
+                new Document("_id", 1));
+        shape(Student.class, "cursorByName", new Document(), new Document("name", 1).append("_id", 1));
+        shape(Student.class, "cursorByCgpaDesc", new Document(), new Document("currentCGPA", -1).append("_id", -1));
+    }
+
+    private void declareCourseIndexes() {
+        index(Course.class, "courseCode", "courseCode");
+        index(Course.class, "courseName", "courseName");
+        index(Course.class, "department_programType", "department", "programType");
+        index(Course.class, "programType", "programType");
+        index(Course.class, "isActive_availableSeats", "isActive", "availableSeats");
+        index(Course.class, "isActive_feeAmount", "isActive", "feeAmount");
+        index(Course.class, "seatStripes", "seatStripes");
+
+        shape(Course.class, "findByCourseCode", new Document("courseCode", "CSE101"), null);
+        shape(Course.class, "findByCourseName", new Document("courseName", "Computer Science"), null);
+        shape(Course.class, "findAllSortedByName", new Document(), new Document("courseName", 1));
+        shape(Course.class, "findByDepartment", new Document("department", "CSE"), null);
+        shape(Course.class, "findByProgramType", new Document("programType", "Undergraduate"), null);
+        shape(Course.class, "findByDepartmentAndProgramType",
+                new Document("department", "CSE").append("programType", "Undergraduate"), null);
+        shape(Course.class, "findByIsActiveTrue", new Document("isActive", true), null);
+        shape(Course.class, "findAvailableCourses", new Document("isActive", true).append("$or", List.of(
+                new Document("availableSeats", new Document("$gt", 0)),
+                new Document("seatStripes", new Document("$gt", 1)))), null);
+        shape(Course.class, "findByFeeRange",
+                new Document("feeAmount", new Document("$gte", 0.0).append("$lte", 100000.0)).append("isActive", true), null);
+    }
+
+    private void declareApplicationIndexes() {
+        // Listing filters, each ending in the (applicationDate, _id) page order; the prefixes also
+        // serve the unpaged by-status / by-course / by-qualification reads
+        index(Application.class, "applicationDate_id", "-applicationDate", "-_id");
+        index(Application.class, "applicationStatus_applicationDate_id", "applicationStatus", "-applicationDate", "-_id");
+        index(Application.class, "desiredCourse_applicationDate_id", "desiredCourse", "-applicationDate", "-_id");
+        index(Application.class, "previousQualification_applicationDate_id",
+                "previousQualification", "-applicationDate", "-_id");
+        index(Application.class, "applicationStatus_desiredCourse_applicationDate_id",
+                "applicationStatus", "desiredCourse", "-applicationDate", "-_id");
+        index(Application.class, "reviewedBy", "reviewedBy");
+        index(Application.class, "generatedStudentId", "generatedStudentId");
+        // Provisioning sweep for approvals without a job
+        index(Application.class, "applicationStatus_reviewedAt", "applicationStatus", "reviewedAt");
+
+        shape(Application.class, "findByEmail", new Document("email", "a@b.c"), null);
+        shape(Application.class, "findAllByDate", new Document(), new Document("applicationDate", -1));
+        shape(Application.class, "findByApplicationStatus",
+                new Document("applicationStatus", "APPLIED"), new Document("applicationDate", -1));
+        shape(Application.class, "findByDesiredCourse",
+                new Document("desiredCourse", "CSE"), new Document("applicationDate", -1));
+        shape(Application.class, "findByStatusAndCourse",
+                new Document("applicationStatus", "APPLIED").append("desiredCourse", "CSE"), null);
+        shape(Application.class, "findByPreviousQualification", new Document("previousQualification", "12th Grade"), null);
+        shape(Application.class, "findByReviewedBy", new Document("reviewedBy", "admin"), null);
+        Document pageOrder = new Document("applicationDate", -1).append("_id", -1);
+        shape(Application.class, "pageByDate", new Document(), pageOrder);
+        shape(Application.class, "pageByStatus", new Document("applicationStatus", "APPLIED"), pageOrder);
+        shape(Application.class, "pageByStatusAndCourse",
+                new Document("applicationStatus", "APPLIED").append("desiredCourse", "CSE"), pageOrder);
+        shape(Application.class, "pageByQualification", new Document("previousQualification", "12th Grade"), pageOrder);
+        shape(Application.class, "pageByDateRange", new Document("applicationDate",
+                new Document("$gte", new Date()).append("$lt", new Date())), pageOrder);
+        shape(Application.class, "approvedSince", new Document("applicationStatus", "APPROVED")
+                .append("reviewedAt", new Document("$gte", new Date()).append("$lte", new Date())), null);
+        shape(Application.class, "studentIdSequenceSeed",
+                new Document("generatedStudentId", new Document("$regex", "^STU2025[0-9]+$")), null);
+    }
+
+    private void declareSeatHoldIndexes() {
+        // Expiry sweep in SeatReservationService
+        index(SeatHold.class, "status_expiresAt", "status", "expiresAt");
+
+        shape(SeatHold.class, "expiredHolds", new Document("status", "HELD")
+                .append("expiresAt", new Document("$lt", new Date())), new Document("expiresAt", 1));
+    }
+
+    private void declareSeatStripeIndexes() {
+        // Stripe totals and cleanup in SeatStripeService
+        index(SeatStripe.class, "courseId", "courseId");
+
+        shape(SeatStripe.class, "stripesOfCourse", new Document("courseId", "c1"), null);
+    }
+
+    private void declareProvisioningJobIndexes() {
+        // Claims and polling in StudentProvisioningService
+        index(ProvisioningJob.class, "status_nextAttemptAt", "status", "nextAttemptAt");
+        index(ProvisioningJob.class, "status_leaseExpiresAt", "status", "leaseExpiresAt");
+
+        shape(ProvisioningJob.class, "dueJobs", new Document("status", "PENDING")
+                .append("nextAttemptAt", new Document("$lte", new Date())), new Document("nextAttemptAt", 1));
+        shape(ProvisioningJob.class, "expiredLeases", new Document("status", "RUNNING")
+                .append("leaseExpiresAt", new Document("$lt", new Date())), new Document("leaseExpiresAt", 1));
+    }
+
+    // Ascending index on the given keys; a key prefixed with '-' is descending
+    private void index(Class<?> entity, String name, String... keys) {
+        Index index = new Index().named(name);
+        for (String key : keys) {
+            if (key.startsWith("-")) {
+                index.on(key.substring(1), Sort.Direction.DESC);
+            } else {
+                index.on(key, Sort.Direction.ASC);
+            }
+        }
+        indexes.add(new IndexSpec(entity, name, index));
+    }
+
+    private void shape(Class<?> entity, String name, Document filter, Document sort) {
+        queryShapes.add(new QueryShape(entity, name, filter, sort));
+    }
+
+    public static class IndexSpec {
+        private final Class<?> entity;
+        private final String name;
+        private final Index index;
+
+        public IndexSpec(Class<?> entity, String name, Index index) {
+            this.entity = entity;
+            this.name = name;
+            this.index = index;
+        }
+
+        public Class<?> getEntity() { return entity; }
+        public String getName() { return name; }
+        public Index getIndex() { return index; }
+    }
+
+    public static class QueryShape {
+        private final Class<?> entity;
+        private final String name;
+        private final Document filter;
+        private final Document sort;
+
+        public QueryShape(Class<?> entity, String name, Document filter, Document sort) {
+            this.entity = entity;
+            this.name = name;
+            this.filter = filter;
+            this.sort = sort;
+        }
+
+        public Class<?> getEntity() { return entity; }
+        public String getName() { return name; }
+        public Document getFilter() { return filter; }
+        public Document getSort() { return sort; }
+    }
+}
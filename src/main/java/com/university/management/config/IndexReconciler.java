@@ -0,0 +1,256 @@
+package com.university.management.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoCommandException;
+
+import com.university.management.model.Admin;
+import com.university.management.model.Application;
+import com.university.management.model.Course;
+import com.university.management.model.Identity;
+import com.university.management.model.Student;
+
+/**
+ * Index Reconciler - ensures every declared index exists
+ * Covers the IndexCatalog entries plus the @Indexed annotations on the models (index
+ * auto-creation is off). By default it runs on a background thread so startup and
+ * readiness are not held up by index builds; with indexes.reconcile-async=false (test
+ * profile) it runs inline and then hands over to QueryPlanVerifier.
+ * An existing index with the same keys or name but different options (e.g. a unique index
+ * that is now declared sparse) is reported as failed and left as it is. With
+ * indexes.recreate-on-conflict=true it is dropped and rebuilt from the declaration instead;
+ * the collection goes without it while it rebuilds, and if the rebuild fails (e.g. duplicates
+ * under a unique index) the dropped index is put back as it was.
+ */
+@Component
+@Order(5)
+public class IndexReconciler implements CommandLineRunner {
+
+    // IndexOptionsConflict / IndexKeySpecsConflict
+    private static final Set<Integer> SPEC_CONFLICT_CODES = Set.of(85, 86);
+
+    private static final List<Class<?>> ANNOTATED_ENTITIES =
+            List.of(Admin.class, Student.class, Course.class, Application.class, Identity.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mongoMappingContext;
+
+    @Autowired
+    private IndexCatalog indexCatalog;
+
+    @Autowired
+    private QueryPlanVerifier queryPlanVerifier;
+
+    @Value("${indexes.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    @Value("${indexes.reconcile-async:true}")
+    private boolean reconcileAsync;
+
+    @Value("${indexes.verify-plans:false}")
+    private boolean verifyPlans;
+
+    @Value("${indexes.recreate-on-conflict:false}")
+    private boolean recreateOnConflict;
+
+    private final Map<String, String> lastResult = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!reconcileOnStartup) {
+            return;
+        }
+
+        if (!reconcileAsync) {
+            reconcile();
+            if (verifyPlans) {
+                queryPlanVerifier.verify();
+            }
+            return;
+        }
+
+        Thread worker = new Thread(() -> {
+            try {
+                reconcile();
+                if (verifyPlans) {
+                    queryPlanVerifier.verify();
+                }
+            } catch (Exception e) {
+                System.out.println("❌ Index reconciliation failed: " + e.getMessage());
+            }
+        }, "index-reconciler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Ensure all declared indexes. Each index is ensured on its own so a single failure
+     * (e.g. duplicates blocking a unique index) does not stop the rest; failures are reported.
+     */
+    public Map<String, String> reconcile() {
+        long started = System.currentTimeMillis();
+        Map<String, String> result = new LinkedHashMap<>();
+        Map<String, Set<String>> ensuredNames = new HashMap<>();
+        IndexResolver resolver = IndexResolver.create(mongoMappingContext);
+
+        for (Class<?> entity : ANNOTATED_ENTITIES) {
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity)) {
+                ensure(entity, definition, result, ensuredNames);
+            }
+        }
+        for (IndexCatalog.IndexSpec spec : indexCatalog.getIndexes()) {
+            ensure(spec.getEntity(), spec.getIndex(), result, ensuredNames);
+        }
+
+        reportUndeclared(ensuredNames);
+        lastResult.clear();
+        lastResult.putAll(result);
+
+        long failed = result.values().stream().filter(state -> state.startsWith("failed")).count();
+        System.out.println("✅ Index reconciliation finished: " + (result.size() - failed) + " ensured, "
+                + failed + " failed in " + (System.currentTimeMillis() - started) + " ms");
+        return result;
+    }
+
+    // State of each declared index after the last reconciliation
+    public Map<String, String> getLastResult() {
+        synchronized (lastResult) {
+            return new LinkedHashMap<>(lastResult);
+        }
+    }
+
+    private void ensure(Class<?> entity, IndexDefinition definition, Map<String, String> result,
+            Map<String, Set<String>> ensuredNames) {
+        String collection = mongoTemplate.getCollectionName(entity);
+        String key = collection + "." + definition.getIndexKeys().toJson();
+        try {
+            String name;
+            try {
+                name = mongoTemplate.indexOps(entity).ensureIndex(definition);
+            } catch (Exception e) {
+                if (!recreateOnConflict || !isSpecConflict(e)) {
+                    throw e;
+                }
+                name = recreate(entity, definition);
+                System.out.println("🔁 Rebuilt index " + key + " with the declared options");
+            }
+            ensuredNames.computeIfAbsent(collection, c -> new HashSet<>()).add(name);
+            result.put(key, "ok (" + name + ")");
+        } catch (Exception e) {
+            result.put(key, "failed: " + e.getMessage());
+            System.out.println("⚠️  Could not ensure index " + key + ": " + e.getMessage());
+        }
+    }
+
+    // Drop the existing index that clashes with the declaration (same keys or same name), then create it;
+    // if that fails the dropped index is restored so a unique constraint is never silently lost
+    private String recreate(Class<?> entity, IndexDefinition definition) {
+        String collection = mongoTemplate.getCollectionName(entity);
+        Object declaredName = definition.getIndexOptions().get("name");
+        List<Document> dropped = new ArrayList<>();
+        for (Document existing : mongoTemplate.getCollection(collection).listIndexes()) {
+            String name = existing.getString("name");
+            boolean sameKeys = sameKeys(existing.get("key", Document.class), definition.getIndexKeys());
+            if (!"_id_".equals(name) && (sameKeys || name.equals(declaredName))) {
+                mongoTemplate.indexOps(entity).dropIndex(name);
+                dropped.add(existing);
+            }
+        }
+        try {
+            return mongoTemplate.indexOps(entity).ensureIndex(definition);
+        } catch (RuntimeException e) {
+            restore(collection, dropped);
+            throw e;
+        }
+    }
+
+    private void restore(String collection, List<Document> dropped) {
+        if (dropped.isEmpty()) {
+            return;
+        }
+        List<Document> specs = new ArrayList<>();
+        for (Document index : dropped) {
+            Document spec = new Document(index);
+            spec.remove("ns");
+            specs.add(spec);
+        }
+        try {
+            mongoTemplate.getDb().runCommand(new Document("createIndexes", collection).append("indexes", specs));
+            System.out.println("↩️  Restored previous index on " + collection + " after a failed rebuild");
+        } catch (Exception e) {
+            System.out.println("❌ Could not restore dropped index on " + collection + ": " + e.getMessage());
+        }
+    }
+
+    // Same fields in the same order with the same directions
+    private static boolean sameKeys(Document existing, Document declared) {
+        if (existing == null || existing.size() != declared.size()) {
+            return false;
+        }
+        List<String> existingFields = new ArrayList<>(existing.keySet());
+        List<String> declaredFields = new ArrayList<>(declared.keySet());
+        if (!existingFields.equals(declaredFields)) {
+            return false;
+        }
+        for (String field : declaredFields) {
+            Object a = existing.get(field);
+            Object b = declared.get(field);
+            boolean equal = a instanceof Number && b instanceof Number
+                    ? ((Number) a).intValue() == ((Number) b).intValue()
+                    : String.valueOf(a).equals(String.valueOf(b));
+            if (!equal) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSpecConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoCommandException command && SPEC_CONFLICT_CODES.contains(command.getErrorCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Log indexes present in the database but declared nowhere (they are left in place)
+    private void reportUndeclared(Map<String, Set<String>> ensuredNames) {
+        for (Class<?> entity : ANNOTATED_ENTITIES) {
+            String collection = mongoTemplate.getCollectionName(entity);
+            Set<String> declared = ensuredNames.getOrDefault(collection, Set.of());
+
+            List<String> undeclared = new ArrayList<>();
+            for (IndexInfo info : mongoTemplate.indexOps(entity).getIndexInfo()) {
+                if (!"_id_".equals(info.getName()) && !declared.contains(info.getName())) {
+                    undeclared.add(info.getName());
+                }
+            }
+            if (!undeclared.isEmpty()) {
+                System.out.println("ℹ️  Undeclared indexes on " + collection + ": " + undeclared);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.university.management.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Query Plan Verifier - explains every query shape registered in IndexCatalog
+ * and fails when a winning plan contains a COLLSCAN stage. Enabled with
+ * indexes.verify-plans=true (see application-test.properties).
+ */
+@Component
+public class QueryPlanVerifier {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private IndexCatalog indexCatalog;
+
+    public void verify() {
+        List<String> collectionScans = new ArrayList<>();
+
+        for (IndexCatalog.QueryShape shape : indexCatalog.getQueryShapes()) {
+            String collection = mongoTemplate.getCollectionName(shape.getEntity());
+            Document find = new Document("find", collection).append("filter", shape.getFilter());
+            if (shape.getSort() != null) {
+                find.append("sort", shape.getSort());
+            }
+
+            Document explain = mongoTemplate.getDb().runCommand(
+                    new Document("explain", find).append("verbosity", "queryPlanner"));
+            Document queryPlanner = explain.get("queryPlanner", Document.class);
+            Object winningPlan = queryPlanner == null ? null : queryPlanner.get("winningPlan");
+
+            if (winningPlan == null || containsStage(winningPlan, "COLLSCAN")) {
+                collectionScans.add(collection + "." + shape.getName());
+            }
+        }
+
+        if (!collectionScans.isEmpty()) {
+            throw new IllegalStateException("Query shapes without index support (COLLSCAN): " + collectionScans);
+        }
+        System.out.println("✅ Query plans verified: " + indexCatalog.getQueryShapes().size() + " shapes use indexes");
+    }
+
+    // Walk the plan tree (inputStage, inputStages, queryPlan, ...) looking for the given stage
+    private boolean containsStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            for (Object child : document.values()) {
+                if (containsStage(child, stage)) {
+                    return true;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object child : list) {
+                if (containsStage(child, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -17,7 +18,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -25,6 +25,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.university.management.security.BoundedPasswordEncoder;
 import com.university.management.security.CustomUserDetailsService;
 import com.university.management.security.JwtAuthenticationFilter;
 
@@ -39,6 +40,27 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
+    @Value("${security.password-hashing.threads:0}")
+    private int hashingThreads;
+    
+    @Value("${security.password-hashing.max-pending:64}")
+    private int hashingMaxPending;
+    
+    @Value("${security.password-hashing.wait-timeout-ms:5000}")
+    private long hashingWaitTimeoutMs;
+    
+    @Value("${security.password-hashing.strength:10}")
+    private int hashingStrength;
+    
+    @Value("${security.password-hashing.adaptive.enabled:false}")
+    private boolean adaptiveHashing;
+    
+    @Value("${security.password-hashing.adaptive.target-ms:250}")
+    private long adaptiveTargetMs;
+    
+    @Value("${security.password-hashing.adaptive.max-strength:14}")
+    private int adaptiveMaxStrength;
+    
     @Bean
     public SecurityFilterChain filterChain(@NonNull HttpSecurity http) throws Exception {
         http
@@ -94,6 +116,7 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.POST, "/admin/students/**", "/admin/courses/**").hasAnyRole("STAFF_ADMIN", "SUPER_ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/admin/students/**", "/admin/courses/**").hasAnyRole("STAFF_ADMIN", "SUPER_ADMIN")
                 .requestMatchers(HttpMethod.DELETE, "/admin/students/**", "/admin/courses/**").hasRole("SUPER_ADMIN")
+                .requestMatchers(HttpMethod.GET, "/admin/export/**").hasAnyRole("STAFF_ADMIN", "SUPER_ADMIN")
                 
                 // University endpoints - public read, admin write
                 .requestMatchers(HttpMethod.GET, "/university/**").permitAll()
@@ -115,6 +138,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehash on login when the stored BCrypt cost is below the current one
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
     
@@ -123,9 +148,18 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
     
-    @Bean
+    // BCrypt on a dedicated bounded pool so login storms cannot pin the request threads
+    @Bean(destroyMethod = "shutdown")
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(
+            hashingThreads,
+            hashingMaxPending,
+            hashingWaitTimeoutMs,
+            hashingStrength,
+            adaptiveHashing,
+            adaptiveTargetMs,
+            adaptiveMaxStrength
+        );
     }
     
     @Bean
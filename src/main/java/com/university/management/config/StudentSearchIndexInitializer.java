@@ -0,0 +1,45 @@
+package com.university.management.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.university.management.service.StudentSearchIndex;
+
+/**
+ * Student Search Index Initializer - builds the in-memory typeahead index
+ * Runs after the data initializers on a background thread; until it finishes,
+ * /students/search answers from a regex query.
+ */
+@Component
+@Order(11) // Run after all data initializers
+public class StudentSearchIndexInitializer implements CommandLineRunner {
+    
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+    
+    @Value("${search.index.build-on-startup:true}")
+    private boolean buildOnStartup;
+    
+    @Override
+    public void run(String... args) throws Exception {
+        if (!buildOnStartup) {
+            return;
+        }
+        
+        Thread build = new Thread(() -> {
+            try {
+                long started = System.currentTimeMillis();
+                int indexed = studentSearchIndex.rebuild();
+                System.out.println("✅ Student search index built: " + indexed + " students in "
+                        + (System.currentTimeMillis() - started) + " ms");
+            } catch (Exception e) {
+                System.out.println("❌ Student search index build failed: " + e.getMessage());
+            }
+        }, "student-search-index");
+        build.setDaemon(true);
+        build.start();
+    }
+}
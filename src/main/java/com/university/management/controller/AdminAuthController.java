@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -18,8 +19,11 @@ import com.university.management.dto.request.AdminRegistrationRequest;
 import com.university.management.dto.response.AdminAuthResponse;
 import com.university.management.dto.response.AdminResponse;
 import com.university.management.dto.response.ApiResponse;
+import com.university.management.security.LoginThrottle;
+import com.university.management.security.PasswordHashingRejectedException;
 import com.university.management.service.AdminAuthService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -30,9 +34,21 @@ public class AdminAuthController {
     @Autowired
     private AdminAuthService adminAuthService;
     
+    @Autowired
+    private LoginThrottle loginThrottle;
+    
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<AdminAuthResponse>> login(@Valid @RequestBody AdminLoginRequest loginRequest) {
+    public ResponseEntity<ApiResponse<AdminAuthResponse>> login(@Valid @RequestBody AdminLoginRequest loginRequest,
+            HttpServletRequest request) {
+        long retryAfter = loginThrottle.tryAcquire(loginRequest.getUsernameOrEmail(), loginThrottle.clientIp(request));
+        if (retryAfter > 0) {
+            return throttled(retryAfter);
+        }
+        
         ApiResponse<AdminAuthResponse> response = adminAuthService.login(loginRequest);
+        if (!response.isSuccess()) {
+            loginThrottle.recordFailure(loginThrottle.clientIp(request));
+        }
         HttpStatus status = response.isSuccess() ? HttpStatus.OK : HttpStatus.UNAUTHORIZED;
         return new ResponseEntity<>(response, status);
     }
@@ -106,6 +122,21 @@ public class AdminAuthController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
     
+    // Password hashing pool is saturated - ask the client to retry instead of queueing more work
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ApiResponse<String>> handleHashingRejected(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(ApiResponse.error("Server is busy, please try again shortly", e.getMessage()));
+    }
+    
+    // Too many attempts for this identifier or client IP - rejected before any lookup or hashing
+    private <T> ResponseEntity<ApiResponse<T>> throttled(long retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(retryAfterSeconds))
+                .body(ApiResponse.error("Too many login attempts, please try again later"));
+    }
+    
     // Inner class for request DTO
     public static class ChangePasswordRequest {
         private String oldPassword;
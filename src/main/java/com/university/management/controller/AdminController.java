@@ -4,24 +4,35 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.university.management.dto.request.StudentAcademicUpdateDto;
 import com.university.management.dto.request.StudentFullUpdateDto;
 import com.university.management.dto.response.ApiResponse;
+import com.university.management.dto.response.BulkUpdateResult;
+import com.university.management.dto.response.ImportJobStatus;
 import com.university.management.dto.response.StudentResponse;
 import com.university.management.model.Admin;
+import com.university.management.model.RolloverCheckpoint;
+import com.university.management.service.BulkAcademicUpdateService;
+import com.university.management.service.SemesterRolloverService;
+import com.university.management.service.StudentImportService;
 import com.university.management.service.StudentService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -32,6 +43,15 @@ public class AdminController {
     @Autowired
     private StudentService studentService;
     
+    @Autowired
+    private BulkAcademicUpdateService bulkAcademicUpdateService;
+    
+    @Autowired
+    private StudentImportService studentImportService;
+    
+    @Autowired
+    private SemesterRolloverService semesterRolloverService;
+    
     /**
      * Get all students - Both SUPER_ADMIN and STAFF_ADMIN can access
      * GET /api/admin/students
@@ -101,6 +121,131 @@ public class AdminController {
         }
     }
     
+    /**
+     * Bulk update academic records by roll number - STAFF_ADMIN and SUPER_ADMIN
+     * POST /api/admin/students/academic/bulk
+     * Body: JSON array of rows, or CSV (Content-Type: text/csv) with a header row
+     */
+    @PostMapping(value = "/students/academic/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, "text/csv" })
+    @PreAuthorize("hasRole('STAFF_ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<BulkUpdateResult>> bulkUpdateStudentAcademics(HttpServletRequest request) {
+        try {
+            BulkUpdateResult result = request.getContentType().toLowerCase().startsWith("text/csv")
+                ? bulkAcademicUpdateService.applyCsv(request.getInputStream())
+                : bulkAcademicUpdateService.applyJson(request.getInputStream());
+            
+            return ResponseEntity.ok(ApiResponse.success(
+                "Bulk academic update processed: " + result.getUpdated() + " of " + result.getTotal() + " rows updated",
+                result
+            ));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid bulk academic update", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to process bulk academic update", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Bulk student import - Only SUPER_ADMIN can access
+     * POST /api/admin/students/import?format=csv|ndjson
+     * The upload is processed in the background; poll the returned job for progress.
+     */
+    @PostMapping("/students/import")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<ImportJobStatus>> importStudents(
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) {
+        try {
+            String importFormat = format;
+            if (importFormat == null) {
+                String contentType = request.getContentType();
+                importFormat = contentType != null && contentType.toLowerCase().startsWith("text/csv")
+                    ? StudentImportService.FORMAT_CSV
+                    : StudentImportService.FORMAT_NDJSON;
+            }
+            ImportJobStatus job = studentImportService.startImport(request.getInputStream(), importFormat);
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(
+                "Student import queued", 
+                job
+            ));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid student import", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("Student import rejected", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to start student import", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Bulk student import progress - Both SUPER_ADMIN and STAFF_ADMIN can access
+     * GET /api/admin/students/import/{jobId}
+     */
+    @GetMapping("/students/import/{jobId}")
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('STAFF_ADMIN')")
+    public ResponseEntity<ApiResponse<ImportJobStatus>> getImportStatus(@PathVariable String jobId) {
+        ImportJobStatus job = studentImportService.getStatus(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Import job not found: " + jobId));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Import job status retrieved successfully", job));
+    }
+    
+    /**
+     * Semester rollover: promote every student below the final semester - Only SUPER_ADMIN
+     * POST /api/admin/students/rollover?term=2025-ODD
+     * Runs in the background; re-posting the same term resumes a failed run and never promotes twice.
+     */
+    @PostMapping("/students/rollover")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<RolloverCheckpoint>> startRollover(
+            @RequestParam String term,
+            Authentication authentication) {
+        try {
+            RolloverCheckpoint checkpoint = semesterRolloverService.start(term, authentication.getName());
+            HttpStatus status = RolloverCheckpoint.COMPLETED.equals(checkpoint.getStatus()) ? HttpStatus.OK : HttpStatus.ACCEPTED;
+            
+            return ResponseEntity.status(status).body(ApiResponse.success(
+                status == HttpStatus.OK ? "Rollover already completed for term " + term : "Rollover started for term " + term,
+                checkpoint
+            ));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid rollover request", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("Rollover already running", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to start rollover", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Semester rollover progress - Both SUPER_ADMIN and STAFF_ADMIN can access
+     * GET /api/admin/students/rollover/{term}
+     */
+    @GetMapping("/students/rollover/{term}")
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('STAFF_ADMIN')")
+    public ResponseEntity<ApiResponse<RolloverCheckpoint>> getRolloverStatus(@PathVariable String term) {
+        RolloverCheckpoint checkpoint = semesterRolloverService.getStatus(term);
+        if (checkpoint == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("No rollover found for term: " + term));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Rollover status retrieved successfully", checkpoint));
+    }
+    
     /**
      * Update student profile (all fields) - Only SUPER_ADMIN can access
      * PUT /api/admin/students/{studentId}
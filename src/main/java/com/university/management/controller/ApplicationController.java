@@ -7,22 +7,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.university.management.dto.ApplicationRequestDto;
 import com.university.management.dto.ApplicationReviewDto;
+import com.university.management.dto.request.ApplicationBatchReviewItem;
+import com.university.management.dto.request.ApplicationSearchCriteria;
+import com.university.management.dto.response.ApplicationSummary;
+import com.university.management.dto.response.BulkUpdateResult;
+import com.university.management.dto.response.CursorPage;
 import com.university.management.model.Admin;
 import com.university.management.model.Application;
+import com.university.management.model.ProvisioningJob;
+import com.university.management.service.ApplicationBatchReviewService;
 import com.university.management.service.ApplicationService;
 import com.university.management.service.ApplicationService.ApplicationStats;
+import com.university.management.service.StudentProvisioningService;
 
 import jakarta.validation.Valid;
 
@@ -34,6 +45,12 @@ public class ApplicationController {
     @Autowired
     private ApplicationService applicationService;
     
+    @Autowired
+    private ApplicationBatchReviewService applicationBatchReviewService;
+    
+    @Autowired
+    private StudentProvisioningService studentProvisioningService;
+    
     /**
      * Submit new admission application (Public endpoint)
      * POST /api/applications/submit
@@ -78,6 +95,40 @@ public class ApplicationController {
         }
     }
     
+    /**
+     * Paginated application listing with optional filters (SUPER_ADMIN only)
+     * GET /api/applications/filter?status=&desiredCourse=&previousQualification=&from=&to=&cursor=&size=
+     * Newest first; pass the returned nextCursor (with the same filters) to get the following page.
+     */
+    @GetMapping("/filter")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> filterApplications(@ModelAttribute ApplicationSearchCriteria criteria,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int size) {
+        try {
+            CursorPage<ApplicationSummary> page = applicationService.searchApplications(criteria, cursor, size);
+            
+            return ResponseEntity.ok(new ApiResponse(
+                true,
+                "Applications retrieved successfully",
+                page
+            ));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(
+                false,
+                "Invalid filter request: " + e.getMessage(),
+                null
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(
+                false,
+                "Failed to retrieve applications: " + e.getMessage(),
+                null
+            ));
+        }
+    }
+    
     /**
      * Get applications by status (SUPER_ADMIN only)
      * GET /api/applications/status/{status}
@@ -202,6 +253,102 @@ public class ApplicationController {
         }
     }
     
+    /**
+     * Student account provisioning status of an approved application (SUPER_ADMIN only)
+     * GET /api/applications/{id}/provisioning
+     */
+    @GetMapping("/{id}/provisioning")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> getProvisioningStatus(@PathVariable String id) {
+        try {
+            Optional<ProvisioningJob> job = studentProvisioningService.getJob(id);
+            
+            if (job.isPresent()) {
+                return ResponseEntity.ok(new ApiResponse(
+                    true,
+                    "Provisioning status retrieved successfully",
+                    job.get()
+                ));
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(
+                    false,
+                    "No provisioning job for this application",
+                    null
+                ));
+            }
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(
+                false,
+                "Failed to retrieve provisioning status: " + e.getMessage(),
+                null
+            ));
+        }
+    }
+    
+    /**
+     * Retry a dead-lettered provisioning job (SUPER_ADMIN only)
+     * POST /api/applications/{id}/provisioning/retry
+     */
+    @PostMapping("/{id}/provisioning/retry")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> retryProvisioning(@PathVariable String id) {
+        try {
+            ProvisioningJob job = studentProvisioningService.retry(id);
+            
+            return ResponseEntity.ok(new ApiResponse(
+                true,
+                "Provisioning job queued again",
+                job
+            ));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(
+                false,
+                "Failed to retry provisioning: " + e.getMessage(),
+                null
+            ));
+        }
+    }
+    
+    /**
+     * Review many applications at once (SUPER_ADMIN only)
+     * POST /api/applications/review/batch
+     * Body: JSON array of { applicationId, applicationStatus, reviewComments, rejectionReason };
+     * the response reports the outcome of each decision in request order.
+     */
+    @PostMapping("/review/batch")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> reviewApplications(@RequestBody List<ApplicationBatchReviewItem> reviews,
+                                                Authentication authentication) {
+        try {
+            BulkUpdateResult result = applicationBatchReviewService.review(reviews, authentication.getName());
+            
+            return ResponseEntity.ok(new ApiResponse(
+                true,
+                "Batch review completed: " + result.getUpdated() + " applied, " + result.getFailed() + " not applied",
+                result
+            ));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(
+                false,
+                e.getMessage(),
+                null
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(
+                false,
+                "Batch review failed: " + e.getMessage(),
+                null
+            ));
+        }
+    }
+    
     /**
      * Get application statistics (SUPER_ADMIN only)
      * GET /api/applications/stats
@@ -14,12 +14,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.university.management.model.Course;
 import com.university.management.service.CourseService;
 import com.university.management.service.CourseService.CourseStats;
+import com.university.management.service.ResponseBytesCache.CachedResponse;
 
 import jakarta.validation.Valid;
 
@@ -36,15 +39,15 @@ public class CourseController {
      * GET /api/courses/available
      */
     @GetMapping("/available")
-    public ResponseEntity<?> getAvailableCourses() {
+    public ResponseEntity<?> getAvailableCourses(@RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding,
+                                                 @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            List<Course> courses = courseService.getAvailableCourses();
-            
-            return ResponseEntity.ok(new ApiResponse(
+            CachedResponse view = courseService.getCatalogView("available", () -> new ApiResponse(
                 true,
                 "Available courses retrieved successfully",
-                courses.stream().map(CourseResponse::new).toList()
+                courseService.getAvailableCourses().stream().map(CourseResponse::new).toList()
             ));
+            return courseService.catalogResponse(view, acceptEncoding, ifNoneMatch);
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(
@@ -60,15 +63,15 @@ public class CourseController {
      * GET /api/courses/active
      */
     @GetMapping("/active")
-    public ResponseEntity<?> getAllActiveCourses() {
+    public ResponseEntity<?> getAllActiveCourses(@RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding,
+                                                 @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            List<Course> courses = courseService.getAllActiveCourses();
-            
-            return ResponseEntity.ok(new ApiResponse(
+            CachedResponse view = courseService.getCatalogView("active", () -> new ApiResponse(
                 true,
                 "Active courses retrieved successfully",
-                courses.stream().map(CourseResponse::new).toList()
+                courseService.getAllActiveCourses().stream().map(CourseResponse::new).toList()
             ));
+            return courseService.catalogResponse(view, acceptEncoding, ifNoneMatch);
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(
@@ -109,15 +112,16 @@ public class CourseController {
      * GET /api/courses/department/{department}
      */
     @GetMapping("/department/{department}")
-    public ResponseEntity<?> getCoursesByDepartment(@PathVariable String department) {
+    public ResponseEntity<?> getCoursesByDepartment(@PathVariable String department,
+                                                    @RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding,
+                                                    @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            List<Course> courses = courseService.getCoursesByDepartment(department);
-            
-            return ResponseEntity.ok(new ApiResponse(
+            CachedResponse view = courseService.getCatalogView("department:" + department, () -> new ApiResponse(
                 true,
                 "Courses retrieved successfully",
-                courses.stream().map(CourseResponse::new).toList()
+                courseService.getCoursesByDepartment(department).stream().map(CourseResponse::new).toList()
             ));
+            return courseService.catalogResponse(view, acceptEncoding, ifNoneMatch);
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(
@@ -133,15 +137,16 @@ public class CourseController {
      * GET /api/courses/program/{programType}
      */
     @GetMapping("/program/{programType}")
-    public ResponseEntity<?> getCoursesByProgramType(@PathVariable String programType) {
+    public ResponseEntity<?> getCoursesByProgramType(@PathVariable String programType,
+                                                     @RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding,
+                                                     @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            List<Course> courses = courseService.getCoursesByProgramType(programType);
-            
-            return ResponseEntity.ok(new ApiResponse(
+            CachedResponse view = courseService.getCatalogView("program:" + programType, () -> new ApiResponse(
                 true,
                 "Courses retrieved successfully",
-                courses.stream().map(CourseResponse::new).toList()
+                courseService.getCoursesByProgramType(programType).stream().map(CourseResponse::new).toList()
             ));
+            return courseService.catalogResponse(view, acceptEncoding, ifNoneMatch);
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(
@@ -157,16 +162,21 @@ public class CourseController {
      * GET /api/courses/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getCourseById(@PathVariable String id) {
+    public ResponseEntity<?> getCourseById(@PathVariable String id,
+                                           @RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding,
+                                           @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            Optional<Course> course = courseService.getCourseById(id);
-            
-            if (course.isPresent()) {
-                return ResponseEntity.ok(new ApiResponse(
+            // Not-found results are not cached
+            CachedResponse view = courseService.getCatalogView("id:" + id, () -> courseService.getCourseById(id)
+                .map(course -> new ApiResponse(
                     true,
                     "Course retrieved successfully",
-                    new CourseResponse(course.get())
-                ));
+                    new CourseResponse(course)
+                ))
+                .orElse(null));
+            
+            if (view != null) {
+                return courseService.catalogResponse(view, acceptEncoding, ifNoneMatch);
             } else {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(
                     false,
@@ -259,6 +269,37 @@ public class CourseController {
         }
     }
     
+    /**
+     * Split a hot course's seats across N stripe counters, or fold them back with stripes=1 (Admin only)
+     * PUT /api/courses/{id}/seat-stripes?stripes=8
+     */
+    @PutMapping("/{id}/seat-stripes")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> setSeatStripes(@PathVariable String id, @RequestParam int stripes) {
+        try {
+            Course course = courseService.setSeatStripes(id, stripes);
+            
+            return ResponseEntity.ok(new ApiResponse(
+                true,
+                stripes > 1 ? "Course seats split across " + stripes + " stripes" : "Course seat striping disabled",
+                new CourseResponse(course)
+            ));
+            
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse(
+                false,
+                e.getMessage(),
+                null
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(
+                false,
+                e.getMessage(),
+                null
+            ));
+        }
+    }
+    
     /**
      * Toggle course active status (Admin only)
      * PUT /api/courses/{id}/toggle-status
@@ -362,6 +403,7 @@ public class CourseController {
         private Integer durationYears;
         private Integer totalSeats;
         private Integer availableSeats;
+        private Integer seatStripes;
         private String description;
         private List<String> eligibilityCriteria;
         private Double feeAmount;
@@ -380,6 +422,7 @@ public class CourseController {
             this.durationYears = course.getDurationYears();
             this.totalSeats = course.getTotalSeats();
             this.availableSeats = course.getAvailableSeats();
+            this.seatStripes = course.getSeatStripes();
             this.description = course.getDescription();
             this.eligibilityCriteria = course.getEligibilityCriteria();
             this.feeAmount = course.getFeeAmount();
@@ -399,6 +442,7 @@ public class CourseController {
         public Integer getDurationYears() { return durationYears; }
         public Integer getTotalSeats() { return totalSeats; }
         public Integer getAvailableSeats() { return availableSeats; }
+        public Integer getSeatStripes() { return seatStripes; }
         public String getDescription() { return description; }
         public List<String> getEligibilityCriteria() { return eligibilityCriteria; }
         public Double getFeeAmount() { return feeAmount; }
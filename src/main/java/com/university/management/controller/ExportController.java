@@ -0,0 +1,69 @@
+package com.university.management.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.university.management.dto.response.ApiResponse;
+import com.university.management.service.ExportService;
+
+@RestController
+@RequestMapping("/admin/export")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    /**
+     * Stream a whole collection as NDJSON (default) or CSV
+     * GET /api/admin/export/{students|applications|courses}?format=ndjson|csv
+     */
+    @GetMapping("/{collection}")
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('STAFF_ADMIN')")
+    public ResponseEntity<?> export(
+            @PathVariable String collection,
+            @RequestParam(defaultValue = ExportService.FORMAT_NDJSON) String format) {
+
+        String normalizedFormat = format.toLowerCase();
+        if (!ExportService.isSupportedFormat(normalizedFormat)) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Unsupported export format: " + format + " (expected ndjson or csv)"));
+        }
+
+        StreamingResponseBody body;
+        switch (collection) {
+            case "students":
+                body = out -> exportService.exportStudents(out, normalizedFormat);
+                break;
+            case "applications":
+                body = out -> exportService.exportApplications(out, normalizedFormat);
+                break;
+            case "courses":
+                body = out -> exportService.exportCourses(out, normalizedFormat);
+                break;
+            default:
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Unknown export collection: " + collection));
+        }
+
+        boolean csv = ExportService.FORMAT_CSV.equals(normalizedFormat);
+        String fileName = collection + "-" + LocalDate.now() + (csv ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+            .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .body(body);
+    }
+}
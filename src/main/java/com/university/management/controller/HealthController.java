@@ -4,46 +4,62 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.university.management.dto.response.ApiResponse;
+import com.university.management.service.ResponseBytesCache;
+import com.university.management.service.ResponseBytesCache.CachedResponse;
 
 @RestController
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class HealthController {
     
+    // Serialized once per TTL (health) or once per process (API info)
+    private static final String NAMESPACE = "health";
+    
+    @Autowired
+    private ResponseBytesCache responseBytesCache;
+    
+    @Value("${response.cache.health-ttl-ms:1000}")
+    private long healthTtlMillis;
+    
     @GetMapping("/health")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> healthCheck() {
-        Map<String, Object> healthInfo = new HashMap<>();
-        healthInfo.put("status", "UP");
-        healthInfo.put("timestamp", LocalDateTime.now());
-        healthInfo.put("service", "University Management System - Spring Boot Backend");
-        healthInfo.put("version", "1.0.0");
-        
-        return ResponseEntity.ok(ApiResponse.success("Service is healthy", healthInfo));
+    public ResponseEntity<byte[]> healthCheck(@RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding,
+                                              @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        CachedResponse response = responseBytesCache.get(NAMESPACE, "health", healthTtlMillis, () -> {
+            Map<String, Object> healthInfo = new HashMap<>();
+            healthInfo.put("status", "UP");
+            healthInfo.put("timestamp", LocalDateTime.now());
+            healthInfo.put("service", "University Management System - Spring Boot Backend");
+            healthInfo.put("version", "1.0.0");
+            
+            return ApiResponse.success("Service is healthy", healthInfo);
+        });
+        return responseBytesCache.respond(NAMESPACE, response, acceptEncoding, ifNoneMatch, CacheControl.noCache());
     }
     
     @GetMapping("/")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> root() {
-        Map<String, Object> apiInfo = new HashMap<>();
-        apiInfo.put("message", "University Management System API");
-        apiInfo.put("version", "1.0.0");
-        apiInfo.put("status", "active");
-        apiInfo.put("endpoints", new String[]{
-            "/api/health - Health check",
-            "/api/admin/auth/login - Admin login",
-            "/api/students - Student operations (requires auth)",
-            "/api/admissions - Admission operations"
-        });
-        
-        return ResponseEntity.ok(ApiResponse.success("API is running", apiInfo));
+    public ResponseEntity<byte[]> root(@RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding,
+                                       @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        CachedResponse response = responseBytesCache.get(NAMESPACE, "root", 0, HealthController::apiInfo);
+        return responseBytesCache.respond(NAMESPACE, response, acceptEncoding, ifNoneMatch, CacheControl.noCache());
     }
     
     @GetMapping("/api")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> apiRoot() {
+    public ResponseEntity<byte[]> apiRoot(@RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding,
+                                          @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        CachedResponse response = responseBytesCache.get(NAMESPACE, "api", 0, HealthController::apiInfo);
+        return responseBytesCache.respond(NAMESPACE, response, acceptEncoding, ifNoneMatch, CacheControl.noCache());
+    }
+    
+    private static ApiResponse<Map<String, Object>> apiInfo() {
         Map<String, Object> apiInfo = new HashMap<>();
         apiInfo.put("message", "University Management System API");
         apiInfo.put("version", "1.0.0");
@@ -55,6 +71,6 @@ public class HealthController {
             "/api/admissions - Admission operations"
         });
         
-        return ResponseEntity.ok(ApiResponse.success("API is running", apiInfo));
+        return ApiResponse.success("API is running", apiInfo);
     }
 }
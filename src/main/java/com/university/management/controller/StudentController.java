@@ -14,6 +14,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -25,8 +26,11 @@ import org.springframework.web.bind.annotation.RestController;
 import com.university.management.dto.request.StudentAcademicUpdateDto;
 import com.university.management.dto.request.StudentFullUpdateDto;
 import com.university.management.dto.request.StudentRegistrationRequest;
+import com.university.management.dto.request.StudentSearchCriteria;
 import com.university.management.dto.response.ApiResponse;
+import com.university.management.dto.response.CursorPage;
 import com.university.management.dto.response.StudentResponse;
+import com.university.management.dto.response.StudentSearchResult;
 import com.university.management.service.StudentService;
 
 import jakarta.validation.Valid;
@@ -64,6 +68,63 @@ public class StudentController {
         }
     }
     
+    // Cursor-based listing: pass the returned nextCursor to fetch the following page
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<StudentResponse>>> getStudentsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        
+        try {
+            CursorPage<StudentResponse> students = studentService.getStudentsAfter(cursor, size, sortBy, sortDir);
+            return ResponseEntity.ok(ApiResponse.success("Students retrieved successfully", students));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid cursor request", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve students", e.getMessage()));
+        }
+    }
+    
+    // Typeahead lookup by a fragment of name, roll number or email
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<StudentSearchResult>>> searchStudents(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        try {
+            List<StudentSearchResult> students = studentService.searchStudentsByText(q, limit);
+            return ResponseEntity.ok(ApiResponse.success("Students retrieved successfully", students));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to search students", e.getMessage()));
+        }
+    }
+    
+    // Combined filters (all optional, ANDed) with the same cursor paging as /cursor
+    @GetMapping("/filter")
+    public ResponseEntity<ApiResponse<CursorPage<StudentResponse>>> filterStudents(
+            @ModelAttribute StudentSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "listing") String view) {
+        
+        try {
+            CursorPage<StudentResponse> students = studentService.searchStudents(criteria, cursor, size, sortBy, sortDir, view);
+            return ResponseEntity.ok(ApiResponse.success("Students retrieved successfully", students));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Invalid filter request", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve students", e.getMessage()));
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<StudentResponse>> getStudentById(@PathVariable String id) {
         try {
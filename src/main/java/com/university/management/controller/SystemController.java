@@ -5,15 +5,23 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.university.management.config.IndexReconciler;
 import com.university.management.repository.AdminRepository;
-import com.university.management.repository.ApplicationRepository;
-import com.university.management.repository.CourseRepository;
-import com.university.management.repository.StudentRepository;
+import com.university.management.security.BoundedPasswordEncoder;
+import com.university.management.security.LoginThrottle;
+import com.university.management.service.CourseCatalogCache;
+import com.university.management.service.OptimisticRetry;
+import com.university.management.service.ResponseBytesCache;
+import com.university.management.service.SeatReservationService;
+import com.university.management.service.StatsService;
+import com.university.management.service.StudentProvisioningService;
+import com.university.management.service.StudentSearchIndex;
 
 @RestController
 @RequestMapping("/system")
@@ -24,13 +32,34 @@ public class SystemController {
     private AdminRepository adminRepository;
     
     @Autowired
-    private ApplicationRepository applicationRepository;
+    private PasswordEncoder passwordEncoder;
     
     @Autowired
-    private CourseRepository courseRepository;
+    private LoginThrottle loginThrottle;
     
     @Autowired
-    private StudentRepository studentRepository;
+    private IndexReconciler indexReconciler;
+    
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+    
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+    
+    @Autowired
+    private SeatReservationService seatReservationService;
+    
+    @Autowired
+    private StudentProvisioningService studentProvisioningService;
+    
+    @Autowired
+    private StatsService statsService;
+    
+    @Autowired
+    private CourseCatalogCache courseCatalogCache;
+    
+    @Autowired
+    private ResponseBytesCache responseBytesCache;
     
     /**
      * Check database collections and their counts
@@ -41,12 +70,8 @@ public class SystemController {
         try {
             Map<String, Object> status = new HashMap<>();
             
-            // Collection counts
-            Map<String, Long> collections = new HashMap<>();
-            collections.put("admins", adminRepository.count());
-            collections.put("applications", applicationRepository.count());
-            collections.put("courses", courseRepository.count());
-            collections.put("students", studentRepository.count());
+            // Collection counts (estimated from collection metadata, cached briefly)
+            Map<String, Long> collections = statsService.collectionCounts();
             
             status.put("collections", collections);
             status.put("totalCollections", collections.size());
@@ -55,8 +80,8 @@ public class SystemController {
             
             // Check if initial data exists
             Map<String, Boolean> dataStatus = new HashMap<>();
-            dataStatus.put("adminsInitialized", adminRepository.count() > 0);
-            dataStatus.put("coursesInitialized", courseRepository.count() > 0);
+            dataStatus.put("adminsInitialized", collections.get("admins") > 0);
+            dataStatus.put("coursesInitialized", collections.get("courses") > 0);
             dataStatus.put("readyForApplications", true);
             dataStatus.put("readyForStudents", true);
             
@@ -114,6 +139,149 @@ public class SystemController {
         }
     }
     
+    /**
+     * Password hashing pool metrics (queue depth, hash time, rejections)
+     * GET /api/system/password-hashing
+     */
+    @GetMapping("/password-hashing")
+    public ResponseEntity<?> getPasswordHashingMetrics() {
+        if (!(passwordEncoder instanceof BoundedPasswordEncoder encoder)) {
+            return ResponseEntity.ok(new ApiResponse(true, "Password hashing runs on request threads", null));
+        }
+        
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("queueDepth", encoder.getQueueDepth());
+        metrics.put("activeHashes", encoder.getActiveHashes());
+        metrics.put("poolSize", encoder.getPoolSize());
+        metrics.put("maxPending", encoder.getMaxPending());
+        metrics.put("verifications", encoder.getVerifyCount());
+        metrics.put("encodes", encoder.getEncodeCount());
+        metrics.put("rejected", encoder.getRejectedCount());
+        metrics.put("completedHashes", encoder.getCompletedHashes());
+        metrics.put("averageHashMillis", encoder.getAverageHashMillis());
+        metrics.put("maxHashMillis", encoder.getMaxHashMillis());
+        metrics.put("bcryptStrength", encoder.getStrength());
+        metrics.put("adaptive", encoder.isAdaptive());
+        
+        return ResponseEntity.ok(new ApiResponse(
+            true,
+            "Password hashing metrics retrieved successfully",
+            metrics
+        ));
+    }
+    
+    /**
+     * Login throttle metrics
+     * GET /api/system/login-throttle
+     */
+    @GetMapping("/login-throttle")
+    public ResponseEntity<?> getLoginThrottleMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("throttledAttempts", loginThrottle.getThrottledCount());
+        metrics.put("localBuckets", loginThrottle.size());
+        
+        return ResponseEntity.ok(new ApiResponse(
+            true,
+            "Login throttle metrics retrieved successfully",
+            metrics
+        ));
+    }
+    
+    /**
+     * Student typeahead index metrics
+     * GET /api/system/student-search
+     */
+    @GetMapping("/student-search")
+    public ResponseEntity<?> getStudentSearchMetrics() {
+        return ResponseEntity.ok(new ApiResponse(
+            true,
+            "Student search index metrics retrieved successfully",
+            studentSearchIndex.getMetrics()
+        ));
+    }
+    
+    /**
+     * Optimistic-locking conflict counters
+     * GET /api/system/optimistic-retry
+     */
+    @GetMapping("/optimistic-retry")
+    public ResponseEntity<?> getOptimisticRetryMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("maxAttempts", optimisticRetry.getMaxAttempts());
+        metrics.put("conflicts", optimisticRetry.getConflictCount());
+        metrics.put("exhausted", optimisticRetry.getExhaustedCount());
+        return ResponseEntity.ok(new ApiResponse(
+            true,
+            "Optimistic retry metrics retrieved successfully",
+            metrics
+        ));
+    }
+    
+    /**
+     * Seat reservation counters
+     * GET /api/system/seats
+     */
+    @GetMapping("/seats")
+    public ResponseEntity<?> getSeatReservationMetrics() {
+        return ResponseEntity.ok(new ApiResponse(
+            true,
+            "Seat reservation metrics retrieved successfully",
+            seatReservationService.getMetrics()
+        ));
+    }
+    
+    /**
+     * Student provisioning queue: jobs per status, workers and counters
+     * GET /api/system/provisioning
+     */
+    @GetMapping("/provisioning")
+    public ResponseEntity<?> getProvisioningMetrics() {
+        return ResponseEntity.ok(new ApiResponse(
+            true,
+            "Provisioning metrics retrieved successfully",
+            studentProvisioningService.getMetrics()
+        ));
+    }
+    
+    /**
+     * Public course catalog cache counters
+     * GET /api/system/course-catalog
+     */
+    @GetMapping("/course-catalog")
+    public ResponseEntity<?> getCourseCatalogMetrics() {
+        return ResponseEntity.ok(new ApiResponse(
+            true,
+            "Course catalog cache metrics retrieved successfully",
+            courseCatalogCache.getMetrics()
+        ));
+    }
+    
+    /**
+     * Response bytes cache counters per namespace
+     * GET /api/system/response-cache
+     */
+    @GetMapping("/response-cache")
+    public ResponseEntity<?> getResponseCacheMetrics() {
+        return ResponseEntity.ok(new ApiResponse(
+            true,
+            "Response cache metrics retrieved successfully",
+            responseBytesCache.getMetrics()
+        ));
+    }
+    
+    /**
+     * State of every declared index after the last reconciliation
+     * GET /api/system/indexes
+     */
+    @GetMapping("/indexes")
+    public ResponseEntity<?> getIndexStatus() {
+        return ResponseEntity.ok(new ApiResponse(
+            true,
+            "Index status retrieved successfully",
+            indexReconciler.getLastResult()
+        ));
+    }
+    
     // Response class
     public static class ApiResponse {
         private boolean success;
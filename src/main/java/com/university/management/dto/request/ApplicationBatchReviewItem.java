@@ -0,0 +1,27 @@
+package com.university.management.dto.request;
+
+import com.university.management.dto.ApplicationReviewDto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * One decision of a batch review (POST /applications/review/batch)
+ * Same fields as ApplicationReviewDto, keyed by application id.
+ */
+public class ApplicationBatchReviewItem extends ApplicationReviewDto {
+    
+    @NotBlank(message = "Application id is required")
+    private String applicationId;
+    
+    // Constructors
+    public ApplicationBatchReviewItem() {}
+    
+    // Getters and Setters
+    public String getApplicationId() {
+        return applicationId;
+    }
+    
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+}
@@ -0,0 +1,68 @@
+package com.university.management.dto.request;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Optional filters for the paginated application listing (GET /applications/filter)
+ * Every field that is set narrows the result; unset fields are ignored.
+ */
+public class ApplicationSearchCriteria {
+    
+    // Equality filters
+    private String status;
+    private String desiredCourse;
+    private String previousQualification;
+    
+    // Application date range (inclusive days, yyyy-MM-dd)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+    
+    // Constructors
+    public ApplicationSearchCriteria() {}
+    
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getDesiredCourse() {
+        return desiredCourse;
+    }
+    
+    public void setDesiredCourse(String desiredCourse) {
+        this.desiredCourse = desiredCourse;
+    }
+    
+    public String getPreviousQualification() {
+        return previousQualification;
+    }
+    
+    public void setPreviousQualification(String previousQualification) {
+        this.previousQualification = previousQualification;
+    }
+    
+    public LocalDate getFrom() {
+        return from;
+    }
+    
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+    
+    public LocalDate getTo() {
+        return to;
+    }
+    
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+}
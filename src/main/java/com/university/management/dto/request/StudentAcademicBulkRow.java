@@ -0,0 +1,25 @@
+package com.university.management.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * One row of a bulk academic update (POST /admin/students/academic/bulk)
+ * Same fields and limits as StudentAcademicUpdateDto, keyed by roll number.
+ */
+public class StudentAcademicBulkRow extends StudentAcademicUpdateDto {
+    
+    @NotBlank(message = "Roll number is required")
+    private String rollNo;
+    
+    // Constructors
+    public StudentAcademicBulkRow() {}
+    
+    // Getters and Setters
+    public String getRollNo() {
+        return rollNo;
+    }
+    
+    public void setRollNo(String rollNo) {
+        this.rollNo = rollNo;
+    }
+}
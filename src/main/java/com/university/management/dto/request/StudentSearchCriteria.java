@@ -0,0 +1,137 @@
+package com.university.management.dto.request;
+
+/**
+ * Optional filters for the combined student search (GET /students/filter)
+ * Every field that is set narrows the result; unset fields are ignored.
+ */
+public class StudentSearchCriteria {
+    
+    // Equality filters
+    private String department;
+    private Integer year;
+    private Integer semester;
+    private String placementStatus;
+    private String company;
+    
+    // Range filters (inclusive)
+    private Double minCgpa;
+    private Double maxCgpa;
+    private Integer minCredits;
+    private Integer maxCredits;
+    private Double minPackage;
+    private Double maxPackage;
+    
+    // Attendance strictly below this percentage
+    private Double attendanceBelow;
+    
+    // Only students whose paid amount is below their total fee
+    private Boolean pendingFees;
+    
+    // Constructors
+    public StudentSearchCriteria() {}
+    
+    // Getters and Setters
+    public String getDepartment() {
+        return department;
+    }
+    
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+    
+    public Integer getYear() {
+        return year;
+    }
+    
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+    
+    public Integer getSemester() {
+        return semester;
+    }
+    
+    public void setSemester(Integer semester) {
+        this.semester = semester;
+    }
+    
+    public String getPlacementStatus() {
+        return placementStatus;
+    }
+    
+    public void setPlacementStatus(String placementStatus) {
+        this.placementStatus = placementStatus;
+    }
+    
+    public String getCompany() {
+        return company;
+    }
+    
+    public void setCompany(String company) {
+        this.company = company;
+    }
+    
+    public Double getMinCgpa() {
+        return minCgpa;
+    }
+    
+    public void setMinCgpa(Double minCgpa) {
+        this.minCgpa = minCgpa;
+    }
+    
+    public Double getMaxCgpa() {
+        return maxCgpa;
+    }
+    
+    public void setMaxCgpa(Double maxCgpa) {
+        this.maxCgpa = maxCgpa;
+    }
+    
+    public Integer getMinCredits() {
+        return minCredits;
+    }
+    
+    public void setMinCredits(Integer minCredits) {
+        this.minCredits = minCredits;
+    }
+    
+    public Integer getMaxCredits() {
+        return maxCredits;
+    }
+    
+    public void setMaxCredits(Integer maxCredits) {
+        this.maxCredits = maxCredits;
+    }
+    
+    public Double getMinPackage() {
+        return minPackage;
+    }
+    
+    public void setMinPackage(Double minPackage) {
+        this.minPackage = minPackage;
+    }
+    
+    public Double getMaxPackage() {
+        return maxPackage;
+    }
+    
+    public void setMaxPackage(Double maxPackage) {
+        this.maxPackage = maxPackage;
+    }
+    
+    public Double getAttendanceBelow() {
+        return attendanceBelow;
+    }
+    
+    public void setAttendanceBelow(Double attendanceBelow) {
+        this.attendanceBelow = attendanceBelow;
+    }
+    
+    public Boolean getPendingFees() {
+        return pendingFees;
+    }
+    
+    public void setPendingFees(Boolean pendingFees) {
+        this.pendingFees = pendingFees;
+    }
+}
@@ -0,0 +1,45 @@
+package com.university.management.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.university.management.model.Application;
+
+/**
+ * One row of the paginated application listing: the columns an admin scans before opening
+ * an application (full details stay on GET /applications/{id}).
+ */
+public class ApplicationSummary {
+
+    private String id;
+    private String fullName;
+    private String email;
+    private String desiredCourse;
+    private String previousQualification;
+    private String applicationStatus;
+    private LocalDateTime applicationDate;
+    private LocalDateTime reviewedAt;
+
+    // Constructors
+    public ApplicationSummary() {}
+
+    public ApplicationSummary(Application application) {
+        this.id = application.getId();
+        this.fullName = application.getFullName();
+        this.email = application.getEmail();
+        this.desiredCourse = application.getDesiredCourse();
+        this.previousQualification = application.getPreviousQualification();
+        this.applicationStatus = application.getApplicationStatus();
+        this.applicationDate = application.getApplicationDate();
+        this.reviewedAt = application.getReviewedAt();
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public String getFullName() { return fullName; }
+    public String getEmail() { return email; }
+    public String getDesiredCourse() { return desiredCourse; }
+    public String getPreviousQualification() { return previousQualification; }
+    public String getApplicationStatus() { return applicationStatus; }
+    public LocalDateTime getApplicationDate() { return applicationDate; }
+    public LocalDateTime getReviewedAt() { return reviewedAt; }
+}
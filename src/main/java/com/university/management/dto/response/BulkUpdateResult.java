@@ -0,0 +1,101 @@
+package com.university.management.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk write: totals plus one entry per input row, in input order.
+ * A SKIPPED row was valid but had nothing applicable (counted apart from failures).
+ * complete is false when the input could not be read to the end (rows after the
+ * reported error were not processed; earlier chunks are already applied).
+ */
+public class BulkUpdateResult {
+
+    public static final String UPDATED = "UPDATED";
+    public static final String INVALID = "INVALID";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String FAILED = "FAILED";
+    public static final String SKIPPED = "SKIPPED";
+
+    private int total;
+    private int updated;
+    private int failed;
+    private int skipped;
+    private boolean complete = true;
+    private long elapsedMillis;
+    private List<RowResult> rows = new ArrayList<>();
+
+    // Constructors
+    public BulkUpdateResult() {}
+
+    public void add(RowResult row) {
+        rows.add(row);
+        total++;
+        if (UPDATED.equals(row.getStatus())) {
+            updated++;
+        } else if (SKIPPED.equals(row.getStatus())) {
+            skipped++;
+        } else {
+            failed++;
+        }
+    }
+
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public static class RowResult {
+        private int row;
+        private String key;
+        private String status;
+        private String message;
+
+        public RowResult() {}
+
+        public RowResult(int row, String key, String status, String message) {
+            this.row = row;
+            this.key = key;
+            this.status = status;
+            this.message = message;
+        }
+
+        public int getRow() { return row; }
+        public String getKey() { return key; }
+        public String getStatus() { return status; }
+        public String getMessage() { return message; }
+    }
+}
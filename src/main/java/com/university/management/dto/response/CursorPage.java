@@ -0,0 +1,58 @@
+package com.university.management.dto.response;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass nextCursor back to get the following page;
+ * it is null once the last page has been reached.
+ */
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+
+    // Constructors
+    public CursorPage() {}
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.size = items.size();
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -54,6 +54,24 @@ public class StudentResponse {
         this.attendance = student.getAttendance();
     }
     
+    // Response for list screens, built from a StudentView.LISTING / PLACEMENT projection
+    public static StudentResponse listing(Student student) {
+        StudentResponse response = new StudentResponse();
+        response.id = student.getId();
+        response.name = student.getName();
+        response.rollNo = student.getRollNo();
+        response.email = student.getEmail();
+        response.department = student.getDepartment();
+        response.year = student.getYear();
+        response.semester = student.getSemester();
+        response.currentCGPA = student.getCurrentCGPA();
+        response.attendance = student.getAttendance();
+        response.placementStatus = student.getPlacementStatus();
+        response.company = student.getCompany();
+        response.packageAmount = student.getPackageAmount();
+        return response;
+    }
+    
     // Getters and Setters
     public String getId() {
         return id;
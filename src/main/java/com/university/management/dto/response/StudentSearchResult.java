@@ -0,0 +1,75 @@
+package com.university.management.dto.response;
+
+/**
+ * One typeahead hit from GET /students/search.
+ */
+public class StudentSearchResult {
+
+    private String id;
+    private String name;
+    private String rollNo;
+    private String email;
+    private String department;
+    private Integer year;
+
+    // Constructors
+    public StudentSearchResult() {}
+
+    public StudentSearchResult(String id, String name, String rollNo, String email, String department, Integer year) {
+        this.id = id;
+        this.name = name;
+        this.rollNo = rollNo;
+        this.email = email;
+        this.department = department;
+        this.year = year;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getRollNo() {
+        return rollNo;
+    }
+
+    public void setRollNo(String rollNo) {
+        this.rollNo = rollNo;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+}
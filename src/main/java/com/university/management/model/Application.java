@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -18,6 +19,9 @@ public class Application {
     @Id
     private String id;
     
+    @Version // Optimistic locking: save() fails on a stale copy (see OptimisticRetry)
+    private Long version;
+    
     @NotBlank(message = "Full name is required")
     private String fullName;
     
@@ -81,6 +85,14 @@ public class Application {
         this.id = id;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public String getFullName() {
         return fullName;
     }
@@ -6,6 +6,7 @@ import java.util.List;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -17,6 +18,9 @@ public class Course {
     @Id
     private String id;
     
+    @Version // Optimistic locking: save() fails on a stale copy (see OptimisticRetry)
+    private Long version;
+    
     @NotBlank(message = "Course code is required")
     private String courseCode; // e.g., "CSE101", "ECE201"
     
@@ -35,7 +39,9 @@ public class Course {
     @NotNull(message = "Total seats is required")
     private Integer totalSeats;
     
-    private Integer availableSeats;
+    private Integer availableSeats; // Mirror of the stripe total while seatStripes > 1
+    
+    private Integer seatStripes; // > 1: seat pool split across seat_stripes documents (see SeatStripeService)
     
     private String description;
     
@@ -79,6 +85,14 @@ public class Course {
         this.id = id;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public String getCourseCode() {
         return courseCode;
     }
@@ -135,6 +149,14 @@ public class Course {
         this.availableSeats = availableSeats;
     }
     
+    public Integer getSeatStripes() {
+        return seatStripes;
+    }
+    
+    public void setSeatStripes(Integer seatStripes) {
+        this.seatStripes = seatStripes;
+    }
+    
     public String getDescription() {
         return description;
     }
@@ -0,0 +1,127 @@
+package com.university.management.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Login handle index shared by admins and students.
+ * One document per normalized handle (admin username/email, student email/roll number)
+ * so that login and token checks are a single point lookup on _id.
+ */
+@Document(collection = "identities")
+public class Identity {
+
+    public static final String TYPE_ADMIN = "admin";
+    public static final String TYPE_STUDENT = "student";
+
+    @Id
+    private String handle;
+
+    private String userType; // "admin" or "student"
+
+    @Indexed
+    private String ownerId; // Id of the owning admin/student document
+
+    private String principal; // Token subject: admin username or student email
+
+    private String passwordHash;
+
+    private String role; // Admin role, null for students
+
+    private boolean active = true;
+
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public Identity() {
+    }
+
+    public Identity(String handle, String userType, String ownerId, String principal,
+            String passwordHash, String role, boolean active) {
+        this.handle = handle;
+        this.userType = userType;
+        this.ownerId = ownerId;
+        this.principal = principal;
+        this.passwordHash = passwordHash;
+        this.role = role;
+        this.active = active;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getHandle() {
+        return handle;
+    }
+
+    public void setHandle(String handle) {
+        this.handle = handle;
+    }
+
+    public String getUserType() {
+        return userType;
+    }
+
+    public void setUserType(String userType) {
+        this.userType = userType;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public String getPrincipal() {
+        return principal;
+    }
+
+    public void setPrincipal(String principal) {
+        this.principal = principal;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public void setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    // Helper methods
+    public boolean isAdmin() {
+        return TYPE_ADMIN.equals(this.userType);
+    }
+
+    public boolean isStudent() {
+        return TYPE_STUDENT.equals(this.userType);
+    }
+}
@@ -0,0 +1,165 @@
+package com.university.management.model;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Progress of one semester rollover, keyed by term.
+ * Departments are marked DONE as they finish, so a failed or interrupted run resumes where it
+ * stopped; heartbeatAt lets another instance take over a run whose owner died.
+ */
+@Document(collection = "rollover_checkpoints")
+public class RolloverCheckpoint {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    private String term;
+
+    private String status;
+    private String runId; // Owner of the current run; progress writes from a superseded run are rejected
+    private String startedBy;
+    private long promoted;
+    private Map<String, DepartmentProgress> departments = new LinkedHashMap<>();
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime heartbeatAt;
+    private LocalDateTime finishedAt;
+
+    // Constructors
+    public RolloverCheckpoint() {}
+
+    // Getters and Setters
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+
+    public String getStartedBy() {
+        return startedBy;
+    }
+
+    public void setStartedBy(String startedBy) {
+        this.startedBy = startedBy;
+    }
+
+    public long getPromoted() {
+        return promoted;
+    }
+
+    public void setPromoted(long promoted) {
+        this.promoted = promoted;
+    }
+
+    public Map<String, DepartmentProgress> getDepartments() {
+        return departments;
+    }
+
+    public void setDepartments(Map<String, DepartmentProgress> departments) {
+        this.departments = departments;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    // Inner class for per-department progress
+    public static class DepartmentProgress {
+
+        public static final String DONE = "DONE";
+
+        private String status;
+        private long promoted;
+        private int batches;
+        private LocalDateTime finishedAt;
+
+        // Constructors
+        public DepartmentProgress() {}
+
+        // Getters and Setters
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public long getPromoted() {
+            return promoted;
+        }
+
+        public void setPromoted(long promoted) {
+            this.promoted = promoted;
+        }
+
+        public int getBatches() {
+            return batches;
+        }
+
+        public void setBatches(int batches) {
+            this.batches = batches;
+        }
+
+        public LocalDateTime getFinishedAt() {
+            return finishedAt;
+        }
+
+        public void setFinishedAt(LocalDateTime finishedAt) {
+            this.finishedAt = finishedAt;
+        }
+    }
+}
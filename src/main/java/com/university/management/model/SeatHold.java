@@ -0,0 +1,107 @@
+package com.university.management.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A course seat taken on behalf of one application, keyed by application id.
+ * HELD seats return to the course when they expire; CONFIRMED seats belong to an approved
+ * application; RELEASED holds have already given their seat back.
+ */
+@Document(collection = "seat_holds")
+public class SeatHold {
+
+    public static final String HELD = "HELD";
+    public static final String CONFIRMED = "CONFIRMED";
+    public static final String RELEASED = "RELEASED";
+
+    @Id
+    private String applicationId;
+
+    private String courseId;
+    private String courseName;
+    private Integer stripe; // Seat stripe the seat came from, null for the course counter
+    private String status;
+    private LocalDateTime heldAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime confirmedAt;
+    private LocalDateTime releasedAt;
+
+    // Constructors
+    public SeatHold() {}
+
+    // Getters and Setters
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(String courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public void setCourseName(String courseName) {
+        this.courseName = courseName;
+    }
+
+    public Integer getStripe() {
+        return stripe;
+    }
+
+    public void setStripe(Integer stripe) {
+        this.stripe = stripe;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getHeldAt() {
+        return heldAt;
+    }
+
+    public void setHeldAt(LocalDateTime heldAt) {
+        this.heldAt = heldAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getConfirmedAt() {
+        return confirmedAt;
+    }
+
+    public void setConfirmedAt(LocalDateTime confirmedAt) {
+        this.confirmedAt = confirmedAt;
+    }
+
+    public LocalDateTime getReleasedAt() {
+        return releasedAt;
+    }
+
+    public void setReleasedAt(LocalDateTime releasedAt) {
+        this.releasedAt = releasedAt;
+    }
+}
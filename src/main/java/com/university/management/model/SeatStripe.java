@@ -0,0 +1,66 @@
+package com.university.management.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * One slice of a striped course's seat pool (id "courseId:stripe").
+ * Reservations on a hot course spread over these documents instead of contending on the course.
+ */
+@Document(collection = "seat_stripes")
+public class SeatStripe {
+
+    @Id
+    private String id;
+
+    private String courseId;
+    private int stripe;
+    private int available;
+
+    // Constructors
+    public SeatStripe() {}
+
+    public SeatStripe(String courseId, int stripe, int available) {
+        this.id = idOf(courseId, stripe);
+        this.courseId = courseId;
+        this.stripe = stripe;
+        this.available = available;
+    }
+
+    public static String idOf(String courseId, int stripe) {
+        return courseId + ":" + stripe;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(String courseId) {
+        this.courseId = courseId;
+    }
+
+    public int getStripe() {
+        return stripe;
+    }
+
+    public void setStripe(int stripe) {
+        this.stripe = stripe;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(int available) {
+        this.available = available;
+    }
+}
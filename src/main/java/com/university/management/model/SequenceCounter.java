@@ -0,0 +1,37 @@
+package com.university.management.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * High-water mark of a named number sequence (e.g. "rollNo:CS25").
+ * Nodes lease blocks by incrementing value, so every number up to value has been handed out.
+ */
+@Document(collection = "counters")
+public class SequenceCounter {
+
+    @Id
+    private String id;
+
+    private long value;
+
+    // Constructors
+    public SequenceCounter() {}
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public void setValue(long value) {
+        this.value = value;
+    }
+}
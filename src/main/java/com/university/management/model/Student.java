@@ -6,6 +6,7 @@ import java.time.LocalDateTime;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -26,11 +27,14 @@ public class Student {
     @Id
     private String id;
 
+    @Version // Optimistic locking: save() fails on a stale copy (see OptimisticRetry)
+    private Long version;
+
     @NotBlank(message = "Name is required")
     private String name;
 
     @NotBlank(message = "Roll number is required")
-    @Indexed(unique = true)
+    @Indexed(unique = true, sparse = true) // Self-registered students have no roll number yet
     private String rollNo;
 
     @NotBlank(message = "Email is required")
@@ -84,6 +88,9 @@ public class Student {
     private String company;
     private Double packageAmount;
 
+    // Term of the last semester rollover applied to this student (makes the rollover idempotent)
+    private String lastRolloverTerm;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -139,6 +146,14 @@ public class Student {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -299,6 +314,14 @@ public class Student {
         this.updatedAt = updatedAt;
     }
 
+    public String getLastRolloverTerm() {
+        return lastRolloverTerm;
+    }
+
+    public void setLastRolloverTerm(String lastRolloverTerm) {
+        this.lastRolloverTerm = lastRolloverTerm;
+    }
+
     // Helper methods
     public Double getPendingAmount() {
         double total = (totalFee != null) ? totalFee.doubleValue() : 0.0;
@@ -11,7 +11,7 @@ import org.springframework.stereotype.Repository;
 import com.university.management.model.Application;
 
 @Repository
-public interface ApplicationRepository extends MongoRepository<Application, String> {
+public interface ApplicationRepository extends MongoRepository<Application, String>, ApplicationRepositoryCustom {
     
     // Find by email
     Optional<Application> findByEmail(String email);
@@ -0,0 +1,15 @@
+package com.university.management.repository;
+
+import java.util.List;
+
+import com.university.management.dto.request.ApplicationSearchCriteria;
+import com.university.management.model.Application;
+
+/**
+ * Hand-written application queries that cannot be expressed as derived repository methods.
+ */
+public interface ApplicationRepositoryCustom {
+
+    // Keyset page (newest first) over the applications matching every set filter, summary fields only
+    List<Application> searchPage(ApplicationSearchCriteria filters, PageCursor cursor, int limit);
+}
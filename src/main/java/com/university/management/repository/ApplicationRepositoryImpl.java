@@ -0,0 +1,65 @@
+package com.university.management.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.university.management.dto.request.ApplicationSearchCriteria;
+import com.university.management.model.Application;
+
+/**
+ * Paged application listing. Pages are ordered by (applicationDate, _id) descending and continue
+ * from a PageCursor, so each page is an index seek on one of the *_applicationDate_id indexes
+ * declared in IndexCatalog. Documents come back projected to the summary columns and must not be saved.
+ */
+public class ApplicationRepositoryImpl implements ApplicationRepositoryCustom {
+
+    public static final String SORT_FIELD = "applicationDate";
+
+    private static final String[] SUMMARY_FIELDS = { "fullName", "email", "desiredCourse", "previousQualification",
+            "applicationStatus", "applicationDate", "reviewedAt" };
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Application> searchPage(ApplicationSearchCriteria filters, PageCursor cursor, int limit) {
+        List<Criteria> conditions = new ArrayList<>();
+        if (filters.getStatus() != null && !filters.getStatus().isBlank()) {
+            conditions.add(Criteria.where("applicationStatus").is(filters.getStatus().trim().toUpperCase()));
+        }
+        if (filters.getDesiredCourse() != null && !filters.getDesiredCourse().isBlank()) {
+            conditions.add(Criteria.where("desiredCourse").is(filters.getDesiredCourse().trim()));
+        }
+        if (filters.getPreviousQualification() != null && !filters.getPreviousQualification().isBlank()) {
+            conditions.add(Criteria.where("previousQualification").is(filters.getPreviousQualification().trim()));
+        }
+        if (filters.getFrom() != null || filters.getTo() != null) {
+            Criteria date = Criteria.where(SORT_FIELD);
+            if (filters.getFrom() != null) {
+                date.gte(filters.getFrom().atStartOfDay());
+            }
+            if (filters.getTo() != null) {
+                date.lt(filters.getTo().plusDays(1).atStartOfDay());
+            }
+            conditions.add(date);
+        }
+        if (cursor != null) {
+            conditions.add(cursor.seekCriteria());
+        }
+
+        Query query = new Query();
+        if (!conditions.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(conditions));
+        }
+        query.fields().include(SUMMARY_FIELDS);
+        query.with(Sort.by(Sort.Direction.DESC, SORT_FIELD).and(Sort.by(Sort.Direction.DESC, "_id")));
+        query.limit(limit);
+        return mongoTemplate.find(query, Application.class);
+    }
+}
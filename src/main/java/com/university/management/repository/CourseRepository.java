@@ -27,8 +27,8 @@ public interface CourseRepository extends MongoRepository<Course, String> {
     // Find active courses
     List<Course> findByIsActiveTrue();
     
-    // Find courses with available seats
-    @Query("{'availableSeats': {$gt: 0}, 'isActive': true}")
+    // Find courses with available seats (striped courses are checked against their stripes by the caller)
+    @Query("{'isActive': true, $or: [{'availableSeats': {$gt: 0}}, {'seatStripes': {$gt: 1}}]}")
     List<Course> findAvailableCourses();
     
     // Find by department and program type
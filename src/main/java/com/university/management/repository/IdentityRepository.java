@@ -0,0 +1,18 @@
+package com.university.management.repository;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.university.management.model.Identity;
+
+@Repository
+public interface IdentityRepository extends MongoRepository<Identity, String> {
+    
+    // Find all handles owned by an admin/student document
+    List<Identity> findByOwnerId(String ownerId);
+    
+    // Remove all handles owned by an admin/student document
+    void deleteByOwnerId(String ownerId);
+}
@@ -0,0 +1,129 @@
+package com.university.management.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort field and direction it was issued for,
+ * plus the sort key value and _id of the last item returned. Encoded as base64url text so it can
+ * be passed back verbatim as a query parameter.
+ */
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String field;
+    private final Sort.Direction direction;
+    private final String lastId;
+    private final Object lastValue;
+
+    public PageCursor(String field, Sort.Direction direction, String lastId, Object lastValue) {
+        this.field = field;
+        this.direction = direction;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public String getLastId() {
+        return lastId;
+    }
+
+    public Object getLastValue() {
+        return lastValue;
+    }
+
+    /*
+     * Seek condition for (field, _id) ordering: everything after the last item returned.
+     * Mongo orders null/missing before any value, so a null sort key needs its own branches
+     * instead of a plain $gt/$lt comparison.
+     */
+    public Criteria seekCriteria() {
+        boolean ascending = direction.isAscending();
+        Object id = ObjectId.isValid(lastId) ? new ObjectId(lastId) : lastId;
+        Criteria idAfter = ascending ? Criteria.where("_id").gt(id) : Criteria.where("_id").lt(id);
+
+        if (lastValue == null) {
+            Criteria sameKey = new Criteria().andOperator(Criteria.where(field).is(null), idAfter);
+            if (ascending) {
+                // Nulls come first: the rest of the nulls, then every non-null value
+                return new Criteria().orOperator(sameKey, Criteria.where(field).ne(null));
+            }
+            // Nulls come last: only the remaining nulls
+            return sameKey;
+        }
+
+        Criteria valueAfter = ascending ? Criteria.where(field).gt(lastValue) : Criteria.where(field).lt(lastValue);
+        Criteria sameKey = new Criteria().andOperator(Criteria.where(field).is(lastValue), idAfter);
+        if (ascending) {
+            return new Criteria().orOperator(valueAfter, sameKey);
+        }
+        return new Criteria().orOperator(valueAfter, sameKey, Criteria.where(field).is(null));
+    }
+
+    // Format: field|direction|id|type|value (value last, so it may contain the separator)
+    public String encode() {
+        String raw = field + SEPARATOR + direction.name() + SEPARATOR + lastId + SEPARATOR
+                + typeOf(lastValue) + SEPARATOR + (lastValue == null ? "" : lastValue.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new PageCursor(parts[0], Sort.Direction.valueOf(parts[1]), parts[2], parseValue(parts[3], parts[4]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static String typeOf(Object value) {
+        if (value == null) {
+            return "n";
+        }
+        if (value instanceof Integer) {
+            return "i";
+        }
+        if (value instanceof Double) {
+            return "d";
+        }
+        if (value instanceof LocalDateTime) {
+            return "t";
+        }
+        return "s";
+    }
+
+    private static Object parseValue(String type, String value) {
+        switch (type) {
+            case "n":
+                return null;
+            case "i":
+                return Integer.valueOf(value);
+            case "d":
+                return Double.valueOf(value);
+            case "t":
+                return LocalDateTime.parse(value);
+            case "s":
+                return value;
+            default:
+                throw new IllegalArgumentException("Unknown cursor value type: " + type);
+        }
+    }
+}
@@ -12,7 +12,7 @@ import org.springframework.stereotype.Repository;
 import com.university.management.model.Student;
 
 @Repository
-public interface StudentRepository extends MongoRepository<Student, String> {
+public interface StudentRepository extends MongoRepository<Student, String>, StudentRepositoryCustom {
     
     // Find student by email
     Optional<Student> findByEmail(String email);
@@ -0,0 +1,44 @@
+package com.university.management.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.university.management.dto.request.StudentSearchCriteria;
+import com.university.management.model.Student;
+
+/**
+ * Hand-written student queries that cannot be expressed as derived repository methods.
+ * The view variants return projected documents (see {@link StudentView}) for read-only use;
+ * the update variants change only the fields named in the Update, atomically.
+ */
+public interface StudentRepositoryCustom {
+
+    // Keyset page over the students matching every set filter, hinted to the best-matching declared index
+    List<Student> searchPage(StudentSearchCriteria filters, StudentSortField sortField, Sort.Direction direction,
+            PageCursor cursor, int limit, StudentView view);
+
+    Optional<Student> findViewById(String id, StudentView view);
+
+    Optional<Student> findViewByEmail(String email, StudentView view);
+
+    Optional<Student> findViewByRollNo(String rollNo, StudentView view);
+
+    // All students matching the criteria (pass an empty Criteria for the whole collection)
+    List<Student> findViewAll(Criteria criteria, StudentView view);
+
+    Page<Student> findViewPage(Pageable pageable, StudentView view);
+
+    // Apply the update in a single findAndModify and return the projected new document (empty when no match)
+    Optional<Student> updateById(String id, Update update, StudentView view);
+
+    // Same, but only when the student also matches condition (empty otherwise)
+    Optional<Student> updateByIdWhere(String id, Criteria condition, Update update, StudentView view);
+
+    Optional<Student> updateByEmail(String email, Update update, StudentView view);
+}
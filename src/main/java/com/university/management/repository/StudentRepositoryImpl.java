@@ -0,0 +1,206 @@
+package com.university.management.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.university.management.config.IndexCatalog;
+import com.university.management.dto.request.StudentSearchCriteria;
+import com.university.management.model.Student;
+
+/**
+ * MongoTemplate-backed implementation of {@link StudentRepositoryCustom}.
+ */
+public class StudentRepositoryImpl implements StudentRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private IndexCatalog indexCatalog;
+
+    @Override
+    public List<Student> searchPage(StudentSearchCriteria filters, StudentSortField sortField, Sort.Direction direction,
+            PageCursor cursor, int limit, StudentView view) {
+        List<Criteria> conditions = new ArrayList<>();
+        List<String> equalityFields = new ArrayList<>();
+        List<String> rangeFields = new ArrayList<>();
+
+        equality(conditions, equalityFields, "department", filters.getDepartment());
+        equality(conditions, equalityFields, "year", filters.getYear());
+        equality(conditions, equalityFields, "semester", filters.getSemester());
+        equality(conditions, equalityFields, "placementStatus", filters.getPlacementStatus());
+        equality(conditions, equalityFields, "company", filters.getCompany());
+        range(conditions, rangeFields, "currentCGPA", filters.getMinCgpa(), filters.getMaxCgpa());
+        range(conditions, rangeFields, "totalCredits", filters.getMinCredits(), filters.getMaxCredits());
+        range(conditions, rangeFields, "packageAmount", filters.getMinPackage(), filters.getMaxPackage());
+        if (filters.getAttendanceBelow() != null) {
+            conditions.add(Criteria.where("attendance.percentage").lt(filters.getAttendanceBelow()));
+            rangeFields.add("attendance.percentage");
+        }
+        if (Boolean.TRUE.equals(filters.getPendingFees())) {
+            conditions.add(Criteria.where("totalFee").gt(0));
+            conditions.add(Criteria.expr(ComparisonOperators.valueOf("totalFee").greaterThan("paidAmount")));
+        }
+        if (cursor != null) {
+            conditions.add(cursor.seekCriteria());
+        }
+
+        Query query = new Query();
+        if (!conditions.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(conditions));
+        }
+        view.applyTo(query.fields());
+        if (!view.isDetail()) {
+            // The next cursor is built from the sort key, so it has to come back with the page
+            query.fields().include(sortField.getField());
+        }
+        query.with(Sort.by(direction, sortField.getField()).and(Sort.by(direction, "_id")));
+        query.limit(limit);
+
+        String hint = chooseIndex(equalityFields, rangeFields, sortField.getField());
+        if (hint == null) {
+            return mongoTemplate.find(query, Student.class);
+        }
+        try {
+            return mongoTemplate.find(Query.of(query).withHint(hint), Student.class);
+        } catch (DataAccessException e) {
+            // Index not built yet (reconciliation runs in the background): let the planner choose
+            return mongoTemplate.find(query, Student.class);
+        }
+    }
+
+    @Override
+    public Optional<Student> findViewById(String id, StudentView view) {
+        return findOne(Criteria.where("_id").is(id), view);
+    }
+
+    @Override
+    public Optional<Student> findViewByEmail(String email, StudentView view) {
+        return findOne(Criteria.where("email").is(email), view);
+    }
+
+    @Override
+    public Optional<Student> findViewByRollNo(String rollNo, StudentView view) {
+        return findOne(Criteria.where("rollNo").is(rollNo), view);
+    }
+
+    @Override
+    public List<Student> findViewAll(Criteria criteria, StudentView view) {
+        Query query = new Query(criteria);
+        view.applyTo(query.fields());
+        return mongoTemplate.find(query, Student.class);
+    }
+
+    @Override
+    public Page<Student> findViewPage(Pageable pageable, StudentView view) {
+        Query query = new Query().with(pageable);
+        view.applyTo(query.fields());
+        List<Student> students = mongoTemplate.find(query, Student.class);
+        return PageableExecutionUtils.getPage(students, pageable,
+                () -> mongoTemplate.count(new Query(), Student.class));
+    }
+
+    @Override
+    public Optional<Student> updateById(String id, Update update, StudentView view) {
+        return findAndModify(Criteria.where("_id").is(id), update, view);
+    }
+
+    @Override
+    public Optional<Student> updateByIdWhere(String id, Criteria condition, Update update, StudentView view) {
+        return findAndModify(Criteria.where("_id").is(id).andOperator(condition), update, view);
+    }
+
+    @Override
+    public Optional<Student> updateByEmail(String email, Update update, StudentView view) {
+        return findAndModify(Criteria.where("email").is(email), update, view);
+    }
+
+    // Bumps the @Version field so a concurrent read-modify-save of the same student fails and retries
+    private Optional<Student> findAndModify(Criteria criteria, Update update, StudentView view) {
+        update.inc("version", 1);
+        Query query = new Query(criteria);
+        view.applyTo(query.fields());
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Student.class));
+    }
+
+    private Optional<Student> findOne(Criteria criteria, StudentView view) {
+        Query query = new Query(criteria);
+        view.applyTo(query.fields());
+        return Optional.ofNullable(mongoTemplate.findOne(query, Student.class));
+    }
+
+    /*
+     * Pick the declared students-SB index whose key prefix best matches the query: each leading
+     * equality field scores 2, then either one range field or the sort key scores 1 (the latter
+     * avoids an in-memory sort). Ties go to the shorter index; no hint when nothing matches.
+     */
+    private String chooseIndex(List<String> equalityFields, List<String> rangeFields, String sortField) {
+        Set<String> equality = Set.copyOf(equalityFields);
+        Set<String> ranges = Set.copyOf(rangeFields);
+        String best = null;
+        int bestScore = 0;
+        int bestLength = Integer.MAX_VALUE;
+
+        for (IndexCatalog.IndexSpec spec : indexCatalog.getIndexes()) {
+            if (spec.getEntity() != Student.class) {
+                continue;
+            }
+            List<String> keys = new ArrayList<>(spec.getIndex().getIndexKeys().keySet());
+            int position = 0;
+            int score = 0;
+            while (position < keys.size() && equality.contains(keys.get(position))) {
+                score += 2;
+                position++;
+            }
+            if (position < keys.size()
+                    && (ranges.contains(keys.get(position)) || keys.get(position).equals(sortField))) {
+                score += 1;
+            }
+
+            if (score > bestScore || (score == bestScore && score > 0 && keys.size() < bestLength)) {
+                best = spec.getName();
+                bestScore = score;
+                bestLength = keys.size();
+            }
+        }
+        return best;
+    }
+
+    private static void equality(List<Criteria> conditions, List<String> fields, String field, Object value) {
+        if (value != null && !(value instanceof String text && text.isBlank())) {
+            conditions.add(Criteria.where(field).is(value));
+            fields.add(field);
+        }
+    }
+
+    private static void range(List<Criteria> conditions, List<String> fields, String field, Object min, Object max) {
+        if (min == null && max == null) {
+            return;
+        }
+        Criteria criteria = Criteria.where(field);
+        if (min != null) {
+            criteria.gte(min);
+        }
+        if (max != null) {
+            criteria.lte(max);
+        }
+        conditions.add(criteria);
+        fields.add(field);
+    }
+}
@@ -0,0 +1,46 @@
+package com.university.management.repository;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.university.management.model.Student;
+
+/**
+ * Sort keys supported by the cursor listing. Each one is backed by a {field: 1, _id: 1}
+ * compound index on students-SB (declared in IndexCatalog), which serves both directions.
+ */
+public enum StudentSortField {
+
+    NAME("name", Student::getName),
+    ROLL_NO("rollNo", Student::getRollNo),
+    DEPARTMENT("department", Student::getDepartment),
+    YEAR("year", Student::getYear),
+    CURRENT_CGPA("currentCGPA", Student::getCurrentCGPA),
+    CREATED_AT("createdAt", Student::getCreatedAt);
+
+    private final String field;
+    private final Function<Student, Object> accessor;
+
+    StudentSortField(String field, Function<Student, Object> accessor) {
+        this.field = field;
+        this.accessor = accessor;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    // Sort key value of a student, used to build the next cursor
+    public Object valueOf(Student student) {
+        return accessor.apply(student);
+    }
+
+    public static StudentSortField fromField(String field) {
+        return Arrays.stream(values())
+                .filter(sortField -> sortField.field.equals(field))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sortBy '" + field + "', expected one of: "
+                        + Arrays.stream(values()).map(StudentSortField::getField).collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,46 @@
+package com.university.management.repository;
+
+import org.springframework.data.mongodb.core.query.Field;
+
+/**
+ * Field projections for read-only student queries, so each endpoint only pulls what it renders.
+ * None of them include the password hash; only the auth paths load full documents.
+ * Fields outside a projection keep their Java defaults on the mapped Student, so documents read
+ * through a view must never be saved back.
+ */
+public enum StudentView {
+
+    // Everything except the password hash (single-student reads)
+    DETAIL(),
+
+    // Columns rendered by the student list screens
+    LISTING("name", "rollNo", "email", "department", "year", "semester", "currentCGPA", "attendance", "placementStatus"),
+
+    // Listing plus placement outcome
+    PLACEMENT("name", "rollNo", "email", "department", "year", "semester", "currentCGPA", "placementStatus",
+            "company", "packageAmount"),
+
+    // Academic summary for the self-service academic/course pages
+    ACADEMIC("rollNo", "department", "year", "semester", "currentCGPA", "totalCredits", "createdAt"),
+
+    // Fee summary for the self-service fee page
+    FEE("name", "rollNo", "department", "year", "semester", "totalFee", "paidAmount", "updatedAt");
+
+    private final String[] includes;
+
+    StudentView(String... includes) {
+        this.includes = includes;
+    }
+
+    public void applyTo(Field fields) {
+        if (includes.length == 0) {
+            fields.exclude("password");
+        } else {
+            fields.include(includes);
+        }
+    }
+
+    public boolean isDetail() {
+        return includes.length == 0;
+    }
+}
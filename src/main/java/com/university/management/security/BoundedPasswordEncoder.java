@@ -0,0 +1,246 @@
+package com.university.management.security;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt encoder that runs every hash on a small dedicated pool instead of the calling thread.
+ * Verifications (logins) are served before encodes (registrations, password changes), the number
+ * of pending hashes is capped and callers beyond the cap are rejected immediately with
+ * {@link PasswordHashingRejectedException}. In adaptive mode the cost factor is calibrated from
+ * measured hash latency and hashes below it are reported by {@link #upgradeEncoding(String)}
+ * so they get rehashed on the next successful login.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final int PRIORITY_VERIFY = 0;
+    private static final int PRIORITY_ENCODE = 1;
+
+    private final ThreadPoolExecutor executor;
+    private final int maxPending;
+    private final long waitTimeoutMillis;
+    private final boolean adaptive;
+
+    private volatile BCryptPasswordEncoder delegate;
+    private volatile int strength;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder verifyCount = new LongAdder();
+    private final LongAdder encodeCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public BoundedPasswordEncoder(int threads, int maxPending, long waitTimeoutMillis, int strength) {
+        this(threads, maxPending, waitTimeoutMillis, strength, false, 0, strength);
+    }
+
+    public BoundedPasswordEncoder(int threads, int maxPending, long waitTimeoutMillis, int strength,
+            boolean adaptive, long targetHashMillis, int maxStrength) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.maxPending = maxPending;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.adaptive = adaptive;
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+
+        if (adaptive) {
+            // Calibrate off the request path; the configured strength is used until it finishes
+            executor.execute(new PrioritizedTask<>(PRIORITY_ENCODE, sequence.incrementAndGet(), () -> {
+                calibrate(targetHashMillis, Math.max(strength, maxStrength));
+                return null;
+            }));
+        }
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        encodeCount.increment();
+        return submit(PRIORITY_ENCODE, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        verifyCount.increment();
+        // BCrypt reads the cost from the stored hash, so one delegate verifies every strength
+        return submit(PRIORITY_VERIFY, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return adaptive && delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // Stop the hashing threads (bean destroy method)
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Metrics
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveHashes() {
+        return executor.getActiveCount();
+    }
+
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public long getVerifyCount() {
+        return verifyCount.sum();
+    }
+
+    public long getEncodeCount() {
+        return encodeCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getCompletedHashes() {
+        return hashCount.sum();
+    }
+
+    public double getAverageHashMillis() {
+        long completed = hashCount.sum();
+        return completed == 0 ? 0.0 : totalHashNanos.sum() / 1_000_000.0 / completed;
+    }
+
+    public double getMaxHashMillis() {
+        return maxHashNanos.get() / 1_000_000.0;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    private <T> T submit(int priority, Callable<T> hash) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            rejectedCount.increment();
+            throw new PasswordHashingRejectedException("Password hashing queue is full, please retry shortly");
+        }
+
+        // The slot is released when the hash has run, so abandoned waits still count until their work is done
+        PrioritizedTask<T> task = new PrioritizedTask<>(priority, sequence.incrementAndGet(), () -> {
+            long start = System.nanoTime();
+            try {
+                return hash.call();
+            } finally {
+                recordHashTime(System.nanoTime() - start);
+                pending.decrementAndGet();
+            }
+        });
+
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+
+        try {
+            return task.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(task);
+            rejectedCount.increment();
+            throw new PasswordHashingRejectedException("Password hashing timed out, please retry shortly");
+        } catch (InterruptedException e) {
+            abandon(task);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Password hashing was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // Drop a task the caller stopped waiting for if it has not started; a running hash finishes and frees its slot
+    private void abandon(PrioritizedTask<?> task) {
+        if (executor.getQueue().remove(task)) {
+            task.cancel(false);
+            pending.decrementAndGet();
+        }
+    }
+
+    private void recordHashTime(long nanos) {
+        hashCount.increment();
+        totalHashNanos.add(nanos);
+        maxHashNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // Pick the highest cost whose measured hash time stays within the target (never below the configured one)
+    private void calibrate(long targetHashMillis, int maxStrength) {
+        int chosen = strength;
+        delegate.encode("calibration-warmup"); // first hash pays for SecureRandom seeding
+        for (int candidate = strength + 1; candidate <= maxStrength; candidate++) {
+            BCryptPasswordEncoder probe = new BCryptPasswordEncoder(candidate);
+            long start = System.nanoTime();
+            probe.encode("calibration-probe");
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            if (elapsedMillis > targetHashMillis) {
+                break;
+            }
+            chosen = candidate;
+        }
+
+        if (chosen != strength) {
+            delegate = new BCryptPasswordEncoder(chosen);
+            strength = chosen;
+        }
+        System.out.println("🔐 BCrypt cost calibrated to " + chosen + " (target " + targetHashMillis + " ms)");
+    }
+
+    private static final class PrioritizedTask<T> extends FutureTask<T> implements Comparable<PrioritizedTask<?>> {
+        private final int priority;
+        private final long sequence;
+
+        private PrioritizedTask(int priority, long sequence, Callable<T> callable) {
+            super(callable);
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask<?> other) {
+            if (priority != other.priority) {
+                return Integer.compare(priority, other.priority);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
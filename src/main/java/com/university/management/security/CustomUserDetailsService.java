@@ -3,20 +3,25 @@ package com.university.management.security;
 import java.util.Collections;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.university.management.model.Admin;
+import com.university.management.model.Identity;
 import com.university.management.model.Student;
 import com.university.management.repository.AdminRepository;
 import com.university.management.repository.StudentRepository;
+import com.university.management.repository.StudentView;
+import com.university.management.service.IdentityService;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private StudentRepository studentRepository;
@@ -24,9 +29,18 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private AdminRepository adminRepository;
     
+    @Autowired
+    private IdentityService identityService;
+    
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // First try to find as admin (by username or email)
+        // Single point lookup on the identity index
+        var identityOptional = identityService.findByHandle(username);
+        if (identityOptional.isPresent()) {
+            return buildUserFromIdentity(identityOptional.get());
+        }
+        
+        // Handle not indexed yet - first try to find as admin (by username or email)
         var adminOptional = adminRepository.findByUsernameOrEmail(username, username);
         if (adminOptional.isPresent()) {
             Admin admin = adminOptional.get();
@@ -55,6 +69,56 @@ public class CustomUserDetailsService implements UserDetailsService {
         throw new UsernameNotFoundException("User not found: " + username);
     }
     
+    // Called by the authentication provider after a successful login whose hash needs a higher BCrypt cost
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        String username = user.getUsername();
+        var adminOptional = adminRepository.findByUsername(username);
+        if (adminOptional.isPresent()) {
+            Admin admin = adminOptional.get();
+            admin.setPassword(newPassword);
+            adminRepository.save(admin);
+            identityService.syncAdmin(admin);
+        } else {
+            // The DETAIL projection leaves out the password hash the identity record carries, so re-read in full
+            studentRepository.updateByEmail(username, new Update().set("password", newPassword), StudentView.DETAIL)
+                    .flatMap(updated -> studentRepository.findById(updated.getId()))
+                    .ifPresent(identityService::syncStudent);
+        }
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+    
+    private UserDetails buildUserFromIdentity(Identity identity) {
+        String authority = identity.isAdmin() ? "ROLE_" + identity.getRole() : "ROLE_STUDENT";
+        return User.builder()
+                .username(identity.getPrincipal())
+                .password(identity.getPasswordHash())
+                .authorities(Collections.singletonList(new SimpleGrantedAuthority(authority)))
+                .accountExpired(false)
+                .accountLocked(!identity.isActive())
+                .credentialsExpired(false)
+                .disabled(!identity.isActive())
+                .build();
+    }
+    
+    // Build a principal from the type/role claims embedded by JwtUtil, without touching the database
+    public UserDetails buildUserFromClaims(String subject, String type, String role) {
+        String authority;
+        if ("admin".equals(type) && role != null) {
+            authority = "ROLE_" + role;
+        } else if ("student".equals(type)) {
+            authority = "ROLE_STUDENT";
+        } else {
+            return null;
+        }
+        
+        return User.builder()
+                .username(subject)
+                .password("")
+                .authorities(Collections.singletonList(new SimpleGrantedAuthority(authority)))
+                .build();
+    }
+    
     public Student loadStudentByUsername(String username) throws UsernameNotFoundException {
         return studentRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Student not found with email: " + username));
@@ -3,11 +3,13 @@ package com.university.management.security;
 import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -26,6 +28,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+    
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Value("${jwt.stateless-principal.enabled:true}")
+    private boolean statelessPrincipal;
+    
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, 
                                   @NonNull FilterChain chain) throws ServletException, IOException {
@@ -52,10 +63,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Once we get the token validate it.
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = resolvePrincipal(username, jwtToken);
             
             // if token is valid configure Spring Security to manually set authentication
-            if (jwtUtil.validateToken(jwtToken, userDetails)) {
+            if (userDetails != null && jwtUtil.validateToken(jwtToken, userDetails)) {
                 
                 UsernamePasswordAuthenticationToken authToken = 
                     new UsernamePasswordAuthenticationToken(
@@ -69,4 +80,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+    
+    // Build the principal from this token's claims when possible, falling back to a database lookup
+    private UserDetails resolvePrincipal(String username, String jwtToken) {
+        if (statelessPrincipal && !principalCache.isInvalidated(username, jwtUtil.extractIssuedAt(jwtToken))) {
+            UserDetails fromClaims = customUserDetailsService.buildUserFromClaims(username,
+                    jwtUtil.extractUserType(jwtToken), jwtUtil.extractRole(jwtToken));
+            if (fromClaims != null) {
+                return fromClaims;
+            }
+        }
+        
+        // Legacy tokens without type claims, or subjects changed since the token was issued
+        try {
+            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            return userDetails.isEnabled() ? userDetails : null;
+        } catch (UsernameNotFoundException e) {
+            logger.debug("JWT subject no longer exists: " + username);
+            return null;
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package com.university.management.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Bounded cache of already verified JWT claims.
+ * Entries are keyed by a SHA-256 digest of the token (the raw token is never kept)
+ * and are dropped as soon as the token's exp claim has passed, so an expired token
+ * always goes back through full signature/expiry verification.
+ */
+@Component
+public class JwtClaimsCache {
+
+    @Value("${jwt.claims-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, CachedClaims> entries = new ConcurrentHashMap<>();
+
+    // Return verified claims for the token, verifying and caching them on a miss
+    public Claims get(String token, Function<String, Claims> verifier) {
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+
+        CachedClaims cached = entries.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return cached.claims;
+            }
+            entries.remove(key, cached);
+        }
+
+        Claims claims = verifier.apply(token);
+        Date expiration = claims.getExpiration();
+        if (expiration != null && expiration.getTime() > now) {
+            if (entries.size() >= maxEntries) {
+                evict(now);
+            }
+            entries.put(key, new CachedClaims(claims, expiration.getTime()));
+        }
+        return claims;
+    }
+
+    // Drop every cached entry (e.g. after a signing key rotation)
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Remove expired entries first; if the cache is still full, drop entries until there is room
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class CachedClaims {
+        private final Claims claims;
+        private final long expiresAt;
+
+        private CachedClaims(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
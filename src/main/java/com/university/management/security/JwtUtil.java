@@ -7,14 +7,17 @@ import java.util.function.Function;
 
 import javax.crypto.SecretKey;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class JwtUtil {
@@ -25,8 +28,24 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
     
+    @Autowired
+    private JwtClaimsCache claimsCache;
+    
+    private SecretKey signingKey;
+    
+    private JwtParser parser;
+    
+    // Build the signing key and parser once instead of on every token operation
+    @PostConstruct
+    void initSigningKey() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+    
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
     
     // Extract username from token
@@ -39,19 +58,25 @@ public class JwtUtil {
         return extractClaim(token, Claims::getExpiration);
     }
     
+    // Extract issued-at date from token
+    public Date extractIssuedAt(String token) {
+        return extractClaim(token, Claims::getIssuedAt);
+    }
+    
     // Extract a claim from token
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
     }
     
-    // Extract all claims from token
+    // Extract all claims from token (verified once, then served from the claims cache until exp)
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return claimsCache.get(token, this::verifyClaims);
+    }
+    
+    // Parse and verify the token signature and expiry
+    private Claims verifyClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
     
     // Check if token is expired
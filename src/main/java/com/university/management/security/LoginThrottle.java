@@ -0,0 +1,250 @@
+package com.university.management.security;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Token-bucket throttle for the public login endpoints, keyed by login identifier and by client IP.
+ * It is checked before any user lookup or BCrypt work so brute-force traffic costs almost nothing.
+ * Every attempt is charged to the identifier, but only failed ones to the IP (recordFailure), so
+ * many students behind one campus NAT can all sign in while a spraying client still runs dry.
+ * Buckets live in lock-striped access-ordered maps; idle buckets are evicted and each stripe is
+ * size-bounded. With store=mongo the counters are shared across nodes as fixed one-minute windows
+ * (capacity attempts per window) in a TTL collection, falling back to memory if Mongo is unreachable.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final String COLLECTION = "login_throttle";
+    private static final long WINDOW_MILLIS = 60_000L;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${security.login-throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.login-throttle.store:memory}")
+    private String store;
+
+    @Value("${security.login-throttle.identifier.capacity:5}")
+    private int identifierCapacity;
+
+    @Value("${security.login-throttle.identifier.refill-per-minute:5}")
+    private double identifierRefillPerMinute;
+
+    @Value("${security.login-throttle.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${security.login-throttle.ip.refill-per-minute:20}")
+    private double ipRefillPerMinute;
+
+    @Value("${security.login-throttle.stripes:64}")
+    private int stripeCount;
+
+    @Value("${security.login-throttle.max-buckets:50000}")
+    private int maxBuckets;
+
+    @Value("${security.login-throttle.idle-eviction-ms:600000}")
+    private long idleEvictionMillis;
+
+    @Value("${security.login-throttle.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    private Stripe[] stripes;
+
+    private final LongAdder throttledCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        int perStripe = Math.max(16, maxBuckets / stripeCount);
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+
+        if (enabled && isMongoStore()) {
+            try {
+                mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index("expiresAt", Sort.Direction.ASC).expire(0));
+            } catch (Exception e) {
+                System.out.println("⚠️  Could not create login throttle TTL index: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Check the IP bucket and take one attempt from the identifier bucket.
+     * Returns 0 when the attempt may proceed, otherwise the number of seconds to wait.
+     */
+    public long tryAcquire(String identifier, String clientIp) {
+        if (!enabled) {
+            return 0;
+        }
+
+        // IP first: a spraying client should not drain the buckets of the accounts it targets
+        long wait = acquire("ip:" + clientIp, ipCapacity, ipRefillPerMinute, false);
+        if (wait == 0 && identifier != null && !identifier.isBlank()) {
+            wait = acquire("id:" + identifier.trim().toLowerCase(Locale.ROOT), identifierCapacity,
+                    identifierRefillPerMinute, true);
+        }
+        if (wait > 0) {
+            throttledCount.increment();
+        }
+        return wait;
+    }
+
+    // Charge a failed login to the client IP's bucket
+    public void recordFailure(String clientIp) {
+        if (enabled) {
+            acquire("ip:" + clientIp, ipCapacity, ipRefillPerMinute, true);
+        }
+    }
+
+    // Client address used as the IP key
+    public String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                return forwardedFor.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    public long getThrottledCount() {
+        return throttledCount.sum();
+    }
+
+    public int size() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.buckets.size();
+            }
+        }
+        return total;
+    }
+
+    // With take=false the bucket is only checked, not charged
+    private long acquire(String key, int capacity, double refillPerMinute, boolean take) {
+        if (isMongoStore()) {
+            try {
+                return acquireShared(key, capacity, take);
+            } catch (Exception e) {
+                // Shared store unavailable - keep protecting this node with local buckets
+                return acquireLocal(key, capacity, refillPerMinute, take);
+            }
+        }
+        return acquireLocal(key, capacity, refillPerMinute, take);
+    }
+
+    private long acquireLocal(String key, int capacity, double refillPerMinute, boolean take) {
+        long now = System.currentTimeMillis();
+        double refillPerMilli = refillPerMinute / WINDOW_MILLIS;
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+
+        synchronized (stripe) {
+            stripe.evictIdle(now, idleEvictionMillis);
+
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.lastRefill) * refillPerMilli);
+                bucket.lastRefill = now;
+            }
+
+            if (bucket.tokens >= 1) {
+                if (take) {
+                    bucket.tokens -= 1;
+                }
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - bucket.tokens) / refillPerMilli / 1000));
+        }
+    }
+
+    // Fixed-window counter shared through Mongo: one document per key and minute, removed by the TTL index
+    private long acquireShared(String key, int capacity, boolean take) {
+        long now = System.currentTimeMillis();
+        long windowStart = now - (now % WINDOW_MILLIS);
+
+        Query query = new Query(Criteria.where("_id").is(key + "@" + windowStart));
+        int count;
+        if (take) {
+            Update update = new Update()
+                    .inc("count", 1)
+                    .setOnInsert("expiresAt", new Date(windowStart + 2 * WINDOW_MILLIS));
+            Document counter = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, COLLECTION);
+            count = counter == null ? 1 : ((Number) counter.get("count")).intValue();
+        } else {
+            // Checking counts as the next attempt of the window without recording it
+            Document counter = mongoTemplate.findOne(query, Document.class, COLLECTION);
+            count = (counter == null ? 0 : ((Number) counter.get("count")).intValue()) + 1;
+        }
+        if (count <= capacity) {
+            return 0;
+        }
+        return Math.max(1, (windowStart + WINDOW_MILLIS - now) / 1000);
+    }
+
+    private boolean isMongoStore() {
+        return "mongo".equalsIgnoreCase(store);
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(double tokens, long lastRefill) {
+            this.tokens = tokens;
+            this.lastRefill = lastRefill;
+        }
+    }
+
+    private static final class Stripe {
+        private final Map<String, Bucket> buckets;
+
+        private Stripe(int maxEntries) {
+            // Access-ordered so the least recently used bucket is dropped when the stripe is full
+            this.buckets = new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        // Eldest entries come first, so stop at the first bucket that is still in use
+        private void evictIdle(long now, long idleMillis) {
+            Iterator<Bucket> iterator = buckets.values().iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next().lastRefill < idleMillis) {
+                    break;
+                }
+                iterator.remove();
+            }
+        }
+    }
+}
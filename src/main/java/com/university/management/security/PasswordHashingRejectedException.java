@@ -0,0 +1,14 @@
+package com.university.management.security;
+
+/**
+ * Thrown when the password hashing executor is saturated (queue full or wait timed out).
+ * Controllers map it to 503 so clients back off instead of piling up on the auth endpoints.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,106 @@
+package com.university.management.security;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Invalidation markers for stateless JWT principals (the principal itself is rebuilt from the
+ * claims of each token). Services call {@link #invalidate(String)} whenever something that the
+ * claims vouch for changes (status, role, password, deletion); tokens issued up to that moment
+ * are then no longer trusted on their claims alone and go through a full database lookup, while
+ * tokens issued afterwards carry the new claims. Markers are stored in a TTL collection so every
+ * node picks them up within jwt.invalidations.refresh-ms and they survive restarts; each one is
+ * kept for a token lifetime, after which the tokens it covers have expired anyway.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final String COLLECTION = "principal_invalidations";
+
+    // Markers written by nodes whose clock runs behind are still picked up
+    private static final long REFRESH_OVERLAP_MILLIS = 60_000L;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${jwt.expiration}")
+    private long tokenLifetimeMillis;
+
+    private final Map<String, Long> invalidations = new ConcurrentHashMap<>();
+
+    private volatile long refreshedUpTo;
+
+    @PostConstruct
+    public void init() {
+        try {
+            mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index("expiresAt", Sort.Direction.ASC).expire(0));
+            mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index("invalidatedAt", Sort.Direction.ASC));
+        } catch (Exception e) {
+            System.out.println("⚠️  Could not create principal invalidation indexes: " + e.getMessage());
+        }
+        refresh();
+    }
+
+    // True if the subject was invalidated at or after the moment the token was issued
+    public boolean isInvalidated(String subject, Date issuedAt) {
+        Long invalidatedAt = invalidations.get(subject);
+        if (invalidatedAt == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() <= invalidatedAt;
+    }
+
+    // Invalidation hook for status, role, password and account changes
+    public void invalidate(String subject) {
+        if (subject == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        invalidations.merge(subject, now, Math::max);
+        try {
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(subject)),
+                    new Update().max("invalidatedAt", now).max("expiresAt", new Date(now + tokenLifetimeMillis)),
+                    COLLECTION);
+        } catch (Exception e) {
+            // Still enforced on this node; other nodes see it once the marker is written again
+            System.out.println("⚠️  Could not share invalidation of " + subject + ": " + e.getMessage());
+        }
+    }
+
+    // Pull markers written since the last refresh (by any node) and forget the expired ones
+    @Scheduled(fixedDelayString = "${jwt.invalidations.refresh-ms:10000}",
+            initialDelayString = "${jwt.invalidations.refresh-ms:10000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        try {
+            Query query = new Query(Criteria.where("invalidatedAt").gte(refreshedUpTo - REFRESH_OVERLAP_MILLIS));
+            for (Document marker : mongoTemplate.find(query, Document.class, COLLECTION)) {
+                long invalidatedAt = ((Number) marker.get("invalidatedAt")).longValue();
+                invalidations.merge(marker.getString("_id"), invalidatedAt, Math::max);
+            }
+            refreshedUpTo = now;
+        } catch (Exception e) {
+            System.out.println("⚠️  Could not refresh principal invalidations: " + e.getMessage());
+        }
+        invalidations.values().removeIf(invalidatedAt -> invalidatedAt < now - tokenLifetimeMillis);
+    }
+
+    public int size() {
+        return invalidations.size();
+    }
+}
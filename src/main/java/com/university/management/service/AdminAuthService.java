@@ -16,8 +16,11 @@ import com.university.management.dto.response.AdminAuthResponse;
 import com.university.management.dto.response.AdminResponse;
 import com.university.management.dto.response.ApiResponse;
 import com.university.management.model.Admin;
+import com.university.management.model.Identity;
 import com.university.management.repository.AdminRepository;
 import com.university.management.security.JwtUtil;
+import com.university.management.security.PasswordHashingRejectedException;
+import com.university.management.security.PrincipalCache;
 
 @Service
 public class AdminAuthService {
@@ -37,6 +40,12 @@ public class AdminAuthService {
     @Autowired
     private AdminService adminService;
     
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private IdentityService identityService;
+    
     public ApiResponse<AdminAuthResponse> login(AdminLoginRequest loginRequest) {
         try {
             // Authenticate admin
@@ -47,11 +56,14 @@ public class AdminAuthService {
                 )
             );
             
-            // Get admin details
-            Admin admin = adminRepository.findByUsernameOrEmail(
-                loginRequest.getUsernameOrEmail(), 
-                loginRequest.getUsernameOrEmail()
-            ).orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
+            // Get admin details (identity index point lookup, then fetch by id)
+            Admin admin = identityService.findByHandle(loginRequest.getUsernameOrEmail())
+                .filter(Identity::isAdmin)
+                .flatMap(identity -> adminRepository.findById(identity.getOwnerId()))
+                .or(() -> adminRepository.findByUsernameOrEmail(
+                    loginRequest.getUsernameOrEmail(), 
+                    loginRequest.getUsernameOrEmail()))
+                .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
             
             // Check if admin is active
             if (!admin.isActive()) {
@@ -59,7 +71,7 @@ public class AdminAuthService {
             }
             
             // Update last login
-            adminService.updateLastLogin(loginRequest.getUsernameOrEmail());
+            adminService.updateLastLogin(admin);
             
             // Generate JWT token
             String token = jwtUtil.generateTokenForAdmin(
@@ -76,6 +88,8 @@ public class AdminAuthService {
             
             return ApiResponse.success("Admin login successful", authResponse);
             
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (AuthenticationException e) {
             return ApiResponse.error("Invalid username/email or password", e.getMessage());
         } catch (Exception e) {
@@ -115,6 +129,8 @@ public class AdminAuthService {
             
             return ApiResponse.success("Admin registration successful", authResponse);
             
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (Exception e) {
             return ApiResponse.error("Admin registration failed", e.getMessage());
         }
@@ -164,9 +180,13 @@ public class AdminAuthService {
             admin.setPassword(passwordEncoder.encode(newPassword));
             admin.setUpdatedAt(LocalDateTime.now());
             adminRepository.save(admin);
+            identityService.syncAdmin(admin);
+            principalCache.invalidate(admin.getUsername());
             
             return ApiResponse.success("Admin password changed successfully");
             
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (AuthenticationException e) {
             return ApiResponse.error("Current password is incorrect");
         } catch (Exception e) {
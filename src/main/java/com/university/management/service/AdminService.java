@@ -15,6 +15,7 @@ import com.university.management.dto.request.AdminRegistrationRequest;
 import com.university.management.dto.response.AdminResponse;
 import com.university.management.model.Admin;
 import com.university.management.repository.AdminRepository;
+import com.university.management.security.PrincipalCache;
 
 @Service
 public class AdminService {
@@ -25,6 +26,12 @@ public class AdminService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private IdentityService identityService;
+    
     public AdminResponse createAdmin(AdminRegistrationRequest request) {
         // Check if admin already exists
         if (adminRepository.existsByUsername(request.getUsername())) {
@@ -49,6 +56,7 @@ public class AdminService {
         admin.setUpdatedAt(LocalDateTime.now());
         
         Admin savedAdmin = adminRepository.save(admin);
+        identityService.syncAdmin(savedAdmin);
         return new AdminResponse(savedAdmin);
     }
     
@@ -114,6 +122,7 @@ public class AdminService {
     public AdminResponse updateAdmin(String id, AdminRegistrationRequest request) {
         Admin admin = adminRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Admin not found with id: " + id));
+        String previousUsername = admin.getUsername();
         
         // Check if username is being changed and if it's already taken
         if (!admin.getUsername().equals(request.getUsername())) {
@@ -144,6 +153,11 @@ public class AdminService {
         }
         
         Admin updatedAdmin = adminRepository.save(admin);
+        identityService.syncAdmin(updatedAdmin);
+        
+        // Role, username or password may have changed - stop trusting claims in existing tokens
+        principalCache.invalidate(previousUsername);
+        principalCache.invalidate(updatedAdmin.getUsername());
         return new AdminResponse(updatedAdmin);
     }
     
@@ -155,6 +169,8 @@ public class AdminService {
         admin.setUpdatedAt(LocalDateTime.now());
         
         Admin updatedAdmin = adminRepository.save(admin);
+        identityService.syncAdmin(updatedAdmin);
+        principalCache.invalidate(updatedAdmin.getUsername());
         return new AdminResponse(updatedAdmin);
     }
     
@@ -162,6 +178,11 @@ public class AdminService {
         Admin admin = adminRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
                 .orElseThrow(() -> new IllegalArgumentException("Admin not found"));
         
+        return updateLastLogin(admin);
+    }
+    
+    // Update last login on an already loaded admin (saves the extra lookup during login)
+    public AdminResponse updateLastLogin(Admin admin) {
         admin.setLastLogin(LocalDateTime.now());
         admin.setUpdatedAt(LocalDateTime.now());
         
@@ -170,10 +191,11 @@ public class AdminService {
     }
     
     public void deleteAdmin(String id) {
-        if (!adminRepository.existsById(id)) {
-            throw new IllegalArgumentException("Admin not found with id: " + id);
-        }
+        Admin admin = adminRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Admin not found with id: " + id));
         adminRepository.deleteById(id);
+        identityService.removeOwner(id);
+        principalCache.invalidate(admin.getUsername());
     }
     
     public boolean existsByUsername(String username) {
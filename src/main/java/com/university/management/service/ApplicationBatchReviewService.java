@@ -0,0 +1,462 @@
+package com.university.management.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.university.management.dto.request.ApplicationBatchReviewItem;
+import com.university.management.dto.response.BulkUpdateResult;
+import com.university.management.model.Application;
+import com.university.management.model.Course;
+import com.university.management.model.SeatHold;
+import com.university.management.model.Student;
+import com.university.management.security.PasswordHashingRejectedException;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Reviews many applications in one request, with the same outcome per item as
+ * ApplicationService.reviewApplication. Applications, catalog courses and seat holds are loaded
+ * with one $in query each; decisions are written with one unordered bulk of version-checked
+ * updates, so an application changed by another reviewer meanwhile fails alone. Approved
+ * applicants are queued for StudentProvisioningService with one bulk upsert; with provisioning
+ * inline, their temporary passwords are hashed on a small worker pool (each worker waits on the
+ * shared bounded BCrypt pool) and the student accounts are created with one bulk insert.
+ */
+@Service
+public class ApplicationBatchReviewService {
+
+    private static final String APPROVED = "APPROVED";
+    private static final String REJECTED = "REJECTED";
+    private static final int HASH_RETRIES = 3;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private StudentProvisioningService studentProvisioningService;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private IdentityService identityService;
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    @Value("${applications.batch-review.max-items:500}")
+    private int maxItems;
+
+    @Value("${applications.batch-review.hashing-threads:0}")
+    private int hashingThreads;
+
+    private volatile ExecutorService hashingPool;
+
+    /**
+     * Apply the decisions in order and report one result per item (key = application id).
+     * Throws IllegalArgumentException for an empty or oversized request.
+     */
+    public BulkUpdateResult review(List<ApplicationBatchReviewItem> items, String reviewer) throws InterruptedException {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one review decision is required");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("Too many review decisions (max " + maxItems + ")");
+        }
+        long started = System.currentTimeMillis();
+        // Millisecond precision so the stored reviewedAt can be compared after the bulk write
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        BulkUpdateResult.RowResult[] outcomes = new BulkUpdateResult.RowResult[items.size()];
+
+        List<Integer> candidates = validate(items, outcomes);
+        Set<String> ids = candidates.stream().map(i -> items.get(i).getApplicationId()).collect(Collectors.toSet());
+        Map<String, Application> applications = loadApplications(ids);
+        Set<String> catalogCourses = catalogCourses(applications.values());
+        Set<String> heldIds = heldApplicationIds(ids);
+
+        // Seats are confirmed one by one (each is a conditional update); decisions go out in one bulk
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+        List<Integer> queued = new ArrayList<>();
+        Set<String> confirmedHere = new HashSet<>();
+        for (int i : candidates) {
+            ApplicationBatchReviewItem item = items.get(i);
+            String id = item.getApplicationId();
+            Application application = applications.get(id);
+            if (application == null) {
+                outcomes[i] = outcome(i, id, BulkUpdateResult.NOT_FOUND, "Application not found");
+                continue;
+            }
+            if (item.getApplicationStatus().equals(application.getApplicationStatus())) {
+                outcomes[i] = outcome(i, id, BulkUpdateResult.DUPLICATE, "Application is already " + item.getApplicationStatus());
+                continue;
+            }
+            if (APPROVED.equals(item.getApplicationStatus())
+                    && (heldIds.contains(id) || catalogCourses.contains(application.getDesiredCourse()))) {
+                try {
+                    if (seatReservationService.confirmSeat(application.getDesiredCourse(), id).isConfirmedNow()) {
+                        confirmedHere.add(id);
+                    }
+                } catch (RuntimeException e) {
+                    outcomes[i] = outcome(i, id, BulkUpdateResult.FAILED, e.getMessage());
+                    continue;
+                }
+            }
+            bulk.updateOne(new Query(Criteria.where("_id").is(id).and("version").is(application.getVersion())),
+                    toUpdate(item, reviewer, now, application.getVersion()));
+            queued.add(i);
+        }
+
+        List<Application> approved = new ArrayList<>();
+        List<Integer> approvedItems = new ArrayList<>();
+        if (!queued.isEmpty()) {
+            Map<Integer, String> writeErrors = new HashMap<>();
+            int matched;
+            try {
+                matched = bulk.execute().getMatchedCount();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    writeErrors.put(error.getIndex(), error.getMessage());
+                }
+                matched = e.getResult().getMatchedCount();
+            }
+            Set<String> stale = matched + writeErrors.size() < queued.size()
+                    ? staleIds(queued, items, applications, now) : Set.of();
+
+            for (int position = 0; position < queued.size(); position++) {
+                int i = queued.get(position);
+                ApplicationBatchReviewItem item = items.get(i);
+                String id = item.getApplicationId();
+                String error = writeErrors.get(position);
+                boolean conflict = error == null && stale.contains(id);
+                if (conflict) {
+                    error = "Application was modified by another reviewer";
+                }
+                if (error != null) {
+                    // Same as a failed save in the single review: give back a seat confirmed for it,
+                    // unless a concurrent review was saved instead (it may be an approval using the seat)
+                    if (confirmedHere.contains(id) && !conflict) {
+                        seatReservationService.release(id);
+                    }
+                    outcomes[i] = outcome(i, id, BulkUpdateResult.FAILED, error);
+                } else if (REJECTED.equals(item.getApplicationStatus())) {
+                    seatReservationService.release(id);
+                    outcomes[i] = outcome(i, id, BulkUpdateResult.UPDATED, null);
+                } else {
+                    approved.add(applications.get(id));
+                    approvedItems.add(i);
+                }
+            }
+        }
+
+        if (studentProvisioningService.isAsync()) {
+            // Accounts are created by the provisioning workers; one bulk upsert queues them all
+            studentProvisioningService.enqueue(approved.stream().map(Application::getId).collect(Collectors.toList()));
+            for (int position = 0; position < approved.size(); position++) {
+                int i = approvedItems.get(position);
+                outcomes[i] = outcome(i, approved.get(position).getId(), BulkUpdateResult.UPDATED, null);
+            }
+        } else {
+            createStudents(approved, approvedItems, outcomes);
+        }
+
+        BulkUpdateResult result = new BulkUpdateResult();
+        for (BulkUpdateResult.RowResult outcome : outcomes) {
+            result.add(outcome);
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        System.out.println("✅ Batch review by " + reviewer + ": " + result.getUpdated() + " of " + result.getTotal()
+                + " decisions applied (" + approved.size() + " approvals) in " + result.getElapsedMillis() + " ms");
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (hashingPool != null) {
+            hashingPool.shutdownNow();
+        }
+    }
+
+    // Field rules of the single review endpoint; an id repeated in the request only applies its first decision
+    private List<Integer> validate(List<ApplicationBatchReviewItem> items, BulkUpdateResult.RowResult[] outcomes) {
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            ApplicationBatchReviewItem item = items.get(i);
+            if (item == null) {
+                outcomes[i] = outcome(i, null, BulkUpdateResult.INVALID, "Missing review decision");
+                continue;
+            }
+            if (item.getApplicationId() != null) {
+                item.setApplicationId(item.getApplicationId().trim());
+            }
+            String id = item.getApplicationId();
+            Set<ConstraintViolation<ApplicationBatchReviewItem>> violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                outcomes[i] = outcome(i, id, BulkUpdateResult.INVALID, violations.stream()
+                        .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+            } else if (!APPROVED.equals(item.getApplicationStatus()) && !REJECTED.equals(item.getApplicationStatus())) {
+                outcomes[i] = outcome(i, id, BulkUpdateResult.INVALID, "Application can only be APPROVED or REJECTED");
+            } else if (REJECTED.equals(item.getApplicationStatus())
+                    && (item.getRejectionReason() == null || item.getRejectionReason().trim().isEmpty())) {
+                outcomes[i] = outcome(i, id, BulkUpdateResult.INVALID,
+                        "Rejection reason is required when rejecting an application");
+            } else if (!seenIds.add(id)) {
+                outcomes[i] = outcome(i, id, BulkUpdateResult.DUPLICATE, "Application already reviewed earlier in this request");
+            } else {
+                candidates.add(i);
+            }
+        }
+        return candidates;
+    }
+
+    private Map<String, Application> loadApplications(Set<String> ids) {
+        Map<String, Application> applications = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Application application : mongoTemplate.find(new Query(Criteria.where("_id").in(ids)), Application.class)) {
+                applications.put(application.getId(), application);
+            }
+        }
+        return applications;
+    }
+
+    // Desired courses that are in the catalog (their seats are accounted for), resolved once per request
+    private Set<String> catalogCourses(Iterable<Application> applications) {
+        Set<String> names = new HashSet<>();
+        for (Application application : applications) {
+            if (application.getDesiredCourse() != null) {
+                names.add(application.getDesiredCourse());
+            }
+        }
+        Set<String> catalog = new HashSet<>();
+        if (!names.isEmpty()) {
+            Query query = new Query(Criteria.where("courseName").in(names));
+            query.fields().include("courseName");
+            for (Course course : mongoTemplate.find(query, Course.class)) {
+                catalog.add(course.getCourseName());
+            }
+        }
+        return catalog;
+    }
+
+    private Set<String> heldApplicationIds(Set<String> ids) {
+        Set<String> held = new HashSet<>();
+        if (!ids.isEmpty()) {
+            Query query = new Query(Criteria.where("_id").in(ids));
+            query.fields().include("_id");
+            for (SeatHold hold : mongoTemplate.find(query, SeatHold.class)) {
+                held.add(hold.getApplicationId());
+            }
+        }
+        return held;
+    }
+
+    /*
+     * The bulk result only counts matches, so when some updates did not match re-read the queued
+     * applications: ours carry the expected next version and this request's reviewedAt.
+     */
+    private Set<String> staleIds(List<Integer> queued, List<ApplicationBatchReviewItem> items,
+                                 Map<String, Application> applications, LocalDateTime now) {
+        Set<String> ids = queued.stream().map(i -> items.get(i).getApplicationId()).collect(Collectors.toSet());
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields().include("version", "reviewedAt");
+        Set<String> stale = new HashSet<>(ids);
+        for (Application current : mongoTemplate.find(query, Application.class)) {
+            long expected = nextVersion(applications.get(current.getId()).getVersion());
+            if (current.getVersion() != null && current.getVersion() == expected && now.equals(current.getReviewedAt())) {
+                stale.remove(current.getId());
+            }
+        }
+        return stale;
+    }
+
+    /*
+     * Student accounts for the approved applications, as StudentProvisioningService creates them:
+     * existing accounts (by email) are kept, passwords are hashed in parallel and the new
+     * students are written with one bulk insert.
+     */
+    private void createStudents(List<Application> approved, List<Integer> approvedItems,
+                                BulkUpdateResult.RowResult[] outcomes) throws InterruptedException {
+        if (approved.isEmpty()) {
+            return;
+        }
+        Query existingQuery = new Query(Criteria.where("email").in(
+                approved.stream().map(Application::getEmail).collect(Collectors.toList())));
+        existingQuery.fields().include("email");
+        Set<String> existingEmails = mongoTemplate.find(existingQuery, Student.class).stream()
+                .map(Student::getEmail).collect(Collectors.toSet());
+
+        List<Integer> toCreate = new ArrayList<>();
+        List<String> tempPasswords = new ArrayList<>();
+        List<Future<String>> hashes = new ArrayList<>();
+        for (int position = 0; position < approved.size(); position++) {
+            Application application = approved.get(position);
+            int i = approvedItems.get(position);
+            if (existingEmails.contains(application.getEmail())) {
+                System.out.println("⚠️  Student account already exists for: " + application.getEmail());
+                outcomes[i] = outcome(i, application.getId(), BulkUpdateResult.UPDATED, null);
+                continue;
+            }
+            String tempPassword = StudentProvisioningService.generateTemporaryPassword();
+            toCreate.add(position);
+            tempPasswords.add(tempPassword);
+            hashes.add(hashingPool().submit(() -> encodeWithRetry(tempPassword)));
+        }
+
+        List<Student> students = new ArrayList<>();
+        List<Integer> studentPositions = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int n = 0; n < toCreate.size(); n++) {
+            int position = toCreate.get(n);
+            Application application = approved.get(position);
+            int i = approvedItems.get(position);
+            try {
+                students.add(toStudent(application, hashes.get(n).get(), studentProvisioningService.generateRollNumber(), now));
+                studentPositions.add(n);
+            } catch (ExecutionException e) {
+                outcomes[i] = outcome(i, application.getId(), BulkUpdateResult.FAILED,
+                        "Application approved but student account was not created: " + e.getCause().getMessage());
+            } catch (RuntimeException e) {
+                outcomes[i] = outcome(i, application.getId(), BulkUpdateResult.FAILED,
+                        "Application approved but student account was not created: " + e.getMessage());
+            }
+        }
+        if (students.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, String> errors = new HashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Student.class).insert(students).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+        }
+
+        List<Student> inserted = new ArrayList<>();
+        for (int s = 0; s < students.size(); s++) {
+            int n = studentPositions.get(s);
+            Application application = approved.get(toCreate.get(n));
+            int i = approvedItems.get(toCreate.get(n));
+            String error = errors.get(s);
+            if (error != null) {
+                outcomes[i] = outcome(i, application.getId(), BulkUpdateResult.FAILED,
+                        "Application approved but student account was not created: " + error);
+                continue;
+            }
+            Student student = students.get(s);
+            inserted.add(student);
+            outcomes[i] = outcome(i, application.getId(), BulkUpdateResult.UPDATED, null);
+            System.out.println("👤 [CONSOLE LOG] Student Account Created: " + student.getRollNo() + " " + student.getEmail()
+                    + " (temporary password: " + tempPasswords.get(n) + ")");
+        }
+        identityService.syncNewStudents(inserted);
+        inserted.forEach(studentSearchIndex::put);
+    }
+
+    // Back off and retry when the shared hashing pool sheds load (login traffic comes first)
+    private String encodeWithRetry(String rawPassword) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return passwordEncoder.encode(rawPassword);
+            } catch (PasswordHashingRejectedException e) {
+                if (attempt >= HASH_RETRIES) {
+                    throw e;
+                }
+                Thread.sleep(200L * attempt);
+            }
+        }
+    }
+
+    private static Update toUpdate(ApplicationBatchReviewItem item, String reviewer, LocalDateTime now, Long version) {
+        Update update = new Update()
+                .set("applicationStatus", item.getApplicationStatus())
+                .set("reviewComments", item.getReviewComments())
+                .set("reviewedBy", reviewer)
+                .set("reviewedAt", now)
+                .set("updatedAt", now)
+                .set("version", nextVersion(version));
+        if (REJECTED.equals(item.getApplicationStatus())) {
+            update.set("rejectionReason", item.getRejectionReason());
+        }
+        return update;
+    }
+
+    // $set rather than $inc: documents written before versioning may hold a null version
+    private static long nextVersion(Long version) {
+        return version == null ? 1 : version + 1;
+    }
+
+    private static Student toStudent(Application application, String passwordHash, String rollNo, LocalDateTime now) {
+        Student student = new Student();
+        // Assign the id up front so identity and search index entries can be written after the bulk insert
+        student.setId(new ObjectId().toHexString());
+        student.setVersion(0L); // Bulk inserts do not initialize @Version
+        student.setName(application.getFullName());
+        student.setRollNo(rollNo);
+        student.setEmail(application.getEmail());
+        student.setPhone(application.getPhoneNumber());
+        student.setPassword(passwordHash);
+        student.setDepartment(StudentProvisioningService.mapCourseToDepartment(application.getDesiredCourse()));
+        student.setYear(1);
+        student.setSemester(1);
+        student.setCreatedAt(now);
+        student.setUpdatedAt(now);
+        return student;
+    }
+
+    private static BulkUpdateResult.RowResult outcome(int index, String applicationId, String status, String message) {
+        return new BulkUpdateResult.RowResult(index + 1, applicationId, status, message);
+    }
+
+    private ExecutorService hashingPool() {
+        if (hashingPool == null) {
+            synchronized (this) {
+                if (hashingPool == null) {
+                    int threads = hashingThreads > 0 ? hashingThreads
+                            : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+                    AtomicInteger counter = new AtomicInteger();
+                    hashingPool = Executors.newFixedThreadPool(threads, runnable -> {
+                        Thread thread = new Thread(runnable, "application-review-hash-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return hashingPool;
+    }
+}
@@ -3,32 +3,45 @@ package com.university.management.service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.university.management.dto.ApplicationRequestDto;
 import com.university.management.dto.ApplicationReviewDto;
+import com.university.management.dto.request.ApplicationSearchCriteria;
+import com.university.management.dto.response.ApplicationSummary;
+import com.university.management.dto.response.CursorPage;
 import com.university.management.model.Admin;
 import com.university.management.model.Application;
-import com.university.management.model.Student;
 import com.university.management.repository.ApplicationRepository;
-import com.university.management.repository.StudentRepository;
+import com.university.management.repository.ApplicationRepositoryImpl;
+import com.university.management.repository.PageCursor;
 
 @Service
 public class ApplicationService {
     
+    private static final int MAX_PAGE_SIZE = 100;
+    
     @Autowired
     private ApplicationRepository applicationRepository;
     
     @Autowired
-    private StudentRepository studentRepository;
+    private OptimisticRetry optimisticRetry;
+    
+    @Autowired
+    private SeatReservationService seatReservationService;
+    
+    @Autowired
+    private StudentProvisioningService studentProvisioningService;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private StatsService statsService;
     
     /**
      * Submit a new application (simplified version)
@@ -40,8 +53,16 @@ public class ApplicationService {
                 throw new RuntimeException("An application with this email already exists");
             }
             
+            // Catalog courses have a seat held atomically for the application (keyed by its id)
+            String applicationId = new ObjectId().toHexString();
+            boolean seatHeld = seatReservationService.hasCourse(applicationDto.getDesiredCourse());
+            if (seatHeld) {
+                seatReservationService.hold(applicationDto.getDesiredCourse(), applicationId);
+            }
+            
             // Create new application with simplified fields
             Application application = new Application();
+            application.setId(applicationId);
             application.setFullName(applicationDto.getFullName());
             application.setEmail(applicationDto.getEmail());
             application.setPhoneNumber(applicationDto.getPhoneNumber());
@@ -51,8 +72,16 @@ public class ApplicationService {
             application.setApplicationStatus("APPLIED");
             application.setApplicationDate(LocalDateTime.now());
             
-            // Save application
-            Application savedApplication = applicationRepository.save(application);
+            // Save application, giving the seat back if that fails
+            Application savedApplication;
+            try {
+                savedApplication = applicationRepository.save(application);
+            } catch (RuntimeException e) {
+                if (seatHeld) {
+                    seatReservationService.release(applicationId);
+                }
+                throw e;
+            }
             
             // Log to console instead of sending email
             System.out.println("📧 [CONSOLE LOG] New Application Received:");
@@ -76,6 +105,38 @@ public class ApplicationService {
         return applicationRepository.findAll(Sort.by(Sort.Direction.DESC, "applicationDate"));
     }
     
+    /**
+     * Filtered application listing, newest first, one keyset page at a time
+     * (pass the returned nextCursor back with the same filters for the following page)
+     */
+    public CursorPage<ApplicationSummary> searchApplications(ApplicationSearchCriteria criteria, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        if (criteria.getFrom() != null && criteria.getTo() != null && criteria.getFrom().isAfter(criteria.getTo())) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        
+        PageCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = PageCursor.decode(cursor);
+            if (!ApplicationRepositoryImpl.SORT_FIELD.equals(after.getField()) || after.getDirection() != Sort.Direction.DESC) {
+                throw new IllegalArgumentException("Cursor was not issued by the application listing");
+            }
+        }
+        
+        // Fetch one extra row to know whether another page exists
+        List<Application> applications = applicationRepository.searchPage(criteria, after, limit + 1);
+        String nextCursor = null;
+        if (applications.size() > limit) {
+            applications = applications.subList(0, limit);
+            Application last = applications.get(limit - 1);
+            nextCursor = new PageCursor(ApplicationRepositoryImpl.SORT_FIELD, Sort.Direction.DESC, last.getId(),
+                    last.getApplicationDate()).encode();
+        }
+        
+        List<ApplicationSummary> items = applications.stream().map(ApplicationSummary::new).collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor);
+    }
+    
     /**
      * Get applications by status
      */
@@ -102,153 +163,96 @@ public class ApplicationService {
      */
     public Application reviewApplication(String applicationId, ApplicationReviewDto reviewDto, Admin reviewedBy) {
         try {
-            Optional<Application> optionalApp = applicationRepository.findById(applicationId);
-            if (optionalApp.isEmpty()) {
-                throw new RuntimeException("Application not found");
-            }
-            
-            Application application = optionalApp.get();
-            
-            // Update application status and review details
-            application.setApplicationStatus(reviewDto.getApplicationStatus());
-            application.setReviewComments(reviewDto.getReviewComments());
-            application.setReviewedBy(reviewedBy.getUsername());
-            application.setReviewedAt(LocalDateTime.now());
-            application.setUpdatedAt(LocalDateTime.now());
-            
-            if ("REJECTED".equals(reviewDto.getApplicationStatus())) {
-                application.setRejectionReason(reviewDto.getRejectionReason());
-            }
-            
-            // Save updated application
-            Application updatedApplication = applicationRepository.save(application);
-            
-            // Handle approval - create student account (simplified)
-            if ("APPROVED".equals(reviewDto.getApplicationStatus())) {
-                createStudentFromApplication(updatedApplication);
+            // Save conflicts re-run the review on a fresh copy; side effects only follow a successful save
+            AtomicReference<String> observedStatus = new AtomicReference<>();
+            return optimisticRetry.run(() -> {
+                Optional<Application> optionalApp = applicationRepository.findById(applicationId);
+                if (optionalApp.isEmpty()) {
+                    throw new RuntimeException("Application not found");
+                }
                 
-                // Log approval to console
-                System.out.println("✅ [CONSOLE LOG] Application Approved:");
-                System.out.println("   Name: " + updatedApplication.getFullName());
-                System.out.println("   Course: " + updatedApplication.getDesiredCourse());
-                System.out.println("   Student account created successfully");
+                Application application = optionalApp.get();
+                assertUnchangedSinceFirstRead(observedStatus, application);
                 
-            } else if ("REJECTED".equals(reviewDto.getApplicationStatus())) {
-                // Log rejection to console
-                System.out.println("❌ [CONSOLE LOG] Application Rejected:");
-                System.out.println("   Name: " + updatedApplication.getFullName());
-                System.out.println("   Reason: " + updatedApplication.getRejectionReason());
-            }
-            
-            return updatedApplication;
+                // Update application status and review details
+                application.setApplicationStatus(reviewDto.getApplicationStatus());
+                application.setReviewComments(reviewDto.getReviewComments());
+                application.setReviewedBy(reviewedBy.getUsername());
+                application.setReviewedAt(LocalDateTime.now());
+                application.setUpdatedAt(LocalDateTime.now());
+                
+                if ("REJECTED".equals(reviewDto.getApplicationStatus())) {
+                    application.setRejectionReason(reviewDto.getRejectionReason());
+                }
+                
+                // An approval needs a confirmed seat in catalog courses (throws if the course filled up)
+                boolean needsSeat = "APPROVED".equals(reviewDto.getApplicationStatus())
+                        && (seatReservationService.getHold(applicationId) != null
+                                || seatReservationService.hasCourse(application.getDesiredCourse()));
+                boolean seatConfirmedHere = needsSeat
+                        && seatReservationService.confirmSeat(application.getDesiredCourse(), applicationId).isConfirmedNow();
+                
+                // Save updated application
+                Application updatedApplication;
+                try {
+                    updatedApplication = applicationRepository.save(application);
+                } catch (OptimisticLockingFailureException e) {
+                    // A concurrent review was saved and may be an approval using this seat: keep it
+                    throw e;
+                } catch (RuntimeException e) {
+                    if (seatConfirmedHere) {
+                        seatReservationService.release(applicationId);
+                    }
+                    throw e;
+                }
+                if ("REJECTED".equals(reviewDto.getApplicationStatus())) {
+                    seatReservationService.release(applicationId);
+                }
+                
+                // Handle approval - student account is queued for provisioning (or created inline)
+                if ("APPROVED".equals(reviewDto.getApplicationStatus())) {
+                    studentProvisioningService.provision(updatedApplication);
+                    
+                    // Log approval to console
+                    System.out.println("✅ [CONSOLE LOG] Application Approved:");
+                    System.out.println("   Name: " + updatedApplication.getFullName());
+                    System.out.println("   Course: " + updatedApplication.getDesiredCourse());
+                    System.out.println(studentProvisioningService.isAsync()
+                            ? "   Student account queued for provisioning"
+                            : "   Student account created successfully");
+                    
+                } else if ("REJECTED".equals(reviewDto.getApplicationStatus())) {
+                    // Log rejection to console
+                    System.out.println("❌ [CONSOLE LOG] Application Rejected:");
+                    System.out.println("   Name: " + updatedApplication.getFullName());
+                    System.out.println("   Reason: " + updatedApplication.getRejectionReason());
+                }
+                
+                return updatedApplication;
+            });
             
         } catch (Exception e) {
             throw new RuntimeException("Failed to review application: " + e.getMessage());
         }
     }
     
-    /**
-     * Create student account from approved application (simplified)
-     */
-    private void createStudentFromApplication(Application application) {
-        try {
-            // Check if student already exists
-            if (studentRepository.findByEmail(application.getEmail()).isPresent()) {
-                System.out.println("⚠️  Student account already exists for: " + application.getEmail());
-                return;
-            }
-            
-            // Generate student ID and temporary password
-            String rollNo = generateRollNumber();
-            String tempPassword = generateTemporaryPassword();
-            
-            // Create new student with fields that match the Student model
-            Student student = new Student();
-            student.setName(application.getFullName());
-            student.setRollNo(rollNo);
-            student.setEmail(application.getEmail());
-            student.setPhone(application.getPhoneNumber());
-            student.setPassword(passwordEncoder.encode(tempPassword));
-            
-            // Map desired course to department (simplified mapping)
-            String department = mapCourseToDepartment(application.getDesiredCourse());
-            student.setDepartment(department);
-            
-            // Set default academic values
-            student.setYear(1); // Default to first year
-            student.setSemester(1); // Default to first semester
-            
-            // Save student
-            studentRepository.save(student);
-            
-            // Log student creation to console
-            System.out.println("👤 [CONSOLE LOG] Student Account Created:");
-            System.out.println("   Roll Number: " + rollNo);
-            System.out.println("   Name: " + student.getName());
-            System.out.println("   Email: " + student.getEmail());
-            System.out.println("   Department: " + student.getDepartment());
-            System.out.println("   Temporary Password: " + tempPassword);
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create student account: " + e.getMessage());
-        }
-    }
-    
-    /**
-     * Map course name to department (simplified mapping)
-     */
-    private String mapCourseToDepartment(String desiredCourse) {
-        if (desiredCourse == null) return "General";
-        
-        String course = desiredCourse.toLowerCase();
-        if (course.contains("computer") || course.contains("software") || course.contains("it")) {
-            return "Computer Science";
-        } else if (course.contains("electronic") || course.contains("electrical")) {
-            return "Electronics";
-        } else if (course.contains("mechanical")) {
-            return "Mechanical";
-        } else if (course.contains("business") || course.contains("mba") || course.contains("management")) {
-            return "Management";
-        } else if (course.contains("civil")) {
-            return "Civil";
-        } else {
-            return "General";
-        }
-    }
-    
-    /**
-     * Generate unique roll number
-     */
-    private String generateRollNumber() {
-        String year = String.valueOf(LocalDateTime.now().getYear());
-        String randomNum = String.format("%04d", new Random().nextInt(10000));
-        return year + randomNum;
-    }
-    
-    /**
-     * Generate temporary password
-     */
-    private String generateTemporaryPassword() {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-        StringBuilder password = new StringBuilder();
-        Random random = new Random();
-        for (int i = 0; i < 8; i++) {
-            password.append(chars.charAt(random.nextInt(chars.length())));
+    // A retry must not act on an application another reviewer has already decided in the meantime
+    private static void assertUnchangedSinceFirstRead(AtomicReference<String> observedStatus, Application application) {
+        String status = String.valueOf(application.getApplicationStatus());
+        if (!observedStatus.compareAndSet(null, status) && !observedStatus.get().equals(status)) {
+            throw new IllegalStateException("Application was modified by another reviewer");
         }
-        return password.toString();
     }
     
     /**
      * Get application statistics
      */
     public ApplicationStats getApplicationStats() {
-        long totalApplications = applicationRepository.count();
-        long appliedCount = applicationRepository.countByApplicationStatus("APPLIED");
-        long approvedCount = applicationRepository.countByApplicationStatus("APPROVED");
-        long rejectedCount = applicationRepository.countByApplicationStatus("REJECTED");
-        long pendingCount = applicationRepository.countByApplicationStatus("PENDING");
+        // One aggregation for all counts (cached briefly by StatsService)
+        StatsService.Counts counts = statsService.applicationCounts();
         
-        return new ApplicationStats(totalApplications, appliedCount, approvedCount, rejectedCount, pendingCount);
+        return new ApplicationStats(counts.getTotal(), counts.get("APPLIED"), counts.get("APPROVED"),
+                counts.get("REJECTED"), counts.get("PENDING"));
     }
     
     /**
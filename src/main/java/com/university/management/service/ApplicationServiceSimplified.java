@@ -3,9 +3,11 @@ package com.university.management.service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -34,8 +36,24 @@ public class ApplicationServiceSimplified {
 
     @Autowired
     private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private IdentityService identityService;
+    
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+    
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+    
+    @Autowired
+    private SeatReservationService seatReservationService;
 
-    private final Random random = new Random();
+    @Autowired
+    private SequenceAllocator sequenceAllocator;
+
+    @Autowired
+    private StatsService statsService;
 
     // Submit new application (simplified)
     public Application submitApplication(ApplicationRequestDto applicationDto) {
@@ -49,23 +67,14 @@ public class ApplicationServiceSimplified {
             throw new RuntimeException("A student with this email already exists");
         }
 
-        // Validate course exists and is available
-        Optional<Course> courseOpt = courseRepository.findByCourseName(applicationDto.getDesiredCourse());
-        if (courseOpt.isEmpty()) {
-            throw new RuntimeException("The selected course is not available");
-        }
-
-        Course course = courseOpt.get();
-        if (!course.getIsActive()) {
-            throw new RuntimeException("The selected course is currently not accepting applications");
-        }
-
-        if (!course.hasAvailableSeats()) {
-            throw new RuntimeException("No seats available for the selected course");
-        }
+        // Hold a seat atomically (also rejects unknown, inactive and full courses); the id is
+        // assigned up front because the hold is keyed by it
+        String applicationId = new ObjectId().toHexString();
+        seatReservationService.hold(applicationDto.getDesiredCourse(), applicationId);
 
         // Create new application with simplified fields
         Application application = new Application();
+        application.setId(applicationId);
         application.setFullName(applicationDto.getFullName());
         application.setEmail(applicationDto.getEmail());
         application.setPhoneNumber(applicationDto.getPhoneNumber());
@@ -76,8 +85,14 @@ public class ApplicationServiceSimplified {
         application.setApplicationDate(LocalDateTime.now());
         application.setUpdatedAt(LocalDateTime.now());
 
-        // Save application
-        Application savedApplication = applicationRepository.save(application);
+        // Save application, giving the seat back if that fails
+        Application savedApplication;
+        try {
+            savedApplication = applicationRepository.save(application);
+        } catch (RuntimeException e) {
+            seatReservationService.release(applicationId);
+            throw e;
+        }
 
         // Log application submission (instead of email)
         System.out.println("✅ Application submitted successfully:");
@@ -111,63 +126,92 @@ public class ApplicationServiceSimplified {
             throw new RuntimeException("Only SUPER_ADMIN can review applications");
         }
         
-        Optional<Application> applicationOpt = applicationRepository.findById(applicationId);
-        if (applicationOpt.isEmpty()) {
-            throw new RuntimeException("Application not found");
-        }
-
-        Application application = applicationOpt.get();
-        
         // Only allow APPROVED or REJECTED status
         if (!"APPROVED".equals(reviewDto.getApplicationStatus()) && 
             !"REJECTED".equals(reviewDto.getApplicationStatus())) {
             throw new RuntimeException("Application can only be APPROVED or REJECTED");
         }
 
-        // Update review details
-        application.setApplicationStatus(reviewDto.getApplicationStatus());
-        application.setReviewComments(reviewDto.getReviewComments());
-        application.setReviewedBy(reviewer.getId());
-        application.setReviewedAt(LocalDateTime.now());
-        application.setUpdatedAt(LocalDateTime.now());
+        // Save conflicts re-run the review on a fresh copy; side effects only follow a successful save
+        AtomicReference<String> observedStatus = new AtomicReference<>();
+        return optimisticRetry.run(() -> {
+            Optional<Application> applicationOpt = applicationRepository.findById(applicationId);
+            if (applicationOpt.isEmpty()) {
+                throw new RuntimeException("Application not found");
+            }
 
-        // Handle rejection - Keep application record with REJECTED status
-        if ("REJECTED".equals(reviewDto.getApplicationStatus())) {
-            application.setRejectionReason(reviewDto.getRejectionReason());
+            Application application = applicationOpt.get();
+            assertUnchangedSinceFirstRead(observedStatus, application);
 
-            // Save the application with REJECTED status
-            Application savedApplication = applicationRepository.save(application);
+            // Update review details
+            application.setApplicationStatus(reviewDto.getApplicationStatus());
+            application.setReviewComments(reviewDto.getReviewComments());
+            application.setReviewedBy(reviewer.getId());
+            application.setReviewedAt(LocalDateTime.now());
+            application.setUpdatedAt(LocalDateTime.now());
 
-            System.out.println("❌ Application rejected and kept in database: " + application.getEmail());
-            System.out.println("   - Reason: " + reviewDto.getRejectionReason());
-            
-            return savedApplication;
-        }
+            // Handle rejection - Keep application record with REJECTED status
+            if ("REJECTED".equals(reviewDto.getApplicationStatus())) {
+                application.setRejectionReason(reviewDto.getRejectionReason());
 
-        // Handle approval - Change status to APPROVED and create student
-        if ("APPROVED".equals(reviewDto.getApplicationStatus())) {
-            // Generate student credentials
-            String studentId = generateStudentId();
-            String rollNumber = generateRollNumber(application.getDesiredCourse());
+                // Save the application with REJECTED status and free its seat
+                Application savedApplication = applicationRepository.save(application);
+                seatReservationService.release(applicationId);
 
-            // Update application with generated info
-            application.setGeneratedStudentId(studentId);
-            application.setGeneratedRollNumber(rollNumber);
+                System.out.println("❌ Application rejected and kept in database: " + application.getEmail());
+                System.out.println("   - Reason: " + reviewDto.getRejectionReason());
+                
+                return savedApplication;
+            }
 
-            // Save the approved application
-            Application savedApplication = applicationRepository.save(application);
+            // Handle approval - Change status to APPROVED and create student
+            if ("APPROVED".equals(reviewDto.getApplicationStatus())) {
+                // Generate student credentials
+                String studentId = generateStudentId();
+                String rollNumber = generateRollNumber(application.getDesiredCourse());
+
+                // Update application with generated info
+                application.setGeneratedStudentId(studentId);
+                application.setGeneratedRollNumber(rollNumber);
+
+                // Make the seat permanent before approving (throws if the course filled up)
+                boolean seatConfirmedHere = seatReservationService
+                        .confirmSeat(application.getDesiredCourse(), applicationId).isConfirmedNow();
+
+                // Save the approved application
+                Application savedApplication;
+                try {
+                    savedApplication = applicationRepository.save(application);
+                } catch (OptimisticLockingFailureException e) {
+                    // A concurrent review was saved and may be an approval using this seat: keep it
+                    throw e;
+                } catch (RuntimeException e) {
+                    if (seatConfirmedHere) {
+                        seatReservationService.release(applicationId);
+                    }
+                    throw e;
+                }
+
+                // Create student account
+                createStudentFromApplication(savedApplication);
+
+                System.out.println("✅ Application approved and student created: " + application.getEmail());
+                System.out.println("   - Student ID: " + studentId);
+                System.out.println("   - Roll Number: " + rollNumber);
+                
+                return savedApplication;
+            }
 
-            // Create student account
-            createStudentFromApplication(savedApplication);
+            return applicationRepository.save(application);
+        });
+    }
 
-            System.out.println("✅ Application approved and student created: " + application.getEmail());
-            System.out.println("   - Student ID: " + studentId);
-            System.out.println("   - Roll Number: " + rollNumber);
-            
-            return savedApplication;
+    // A retry must not act on an application another reviewer has already decided in the meantime
+    private static void assertUnchangedSinceFirstRead(AtomicReference<String> observedStatus, Application application) {
+        String status = String.valueOf(application.getApplicationStatus());
+        if (!observedStatus.compareAndSet(null, status) && !observedStatus.get().equals(status)) {
+            throw new IllegalStateException("Application was modified by another reviewer");
         }
-
-        return applicationRepository.save(application);
     }
 
     // Create student from approved application
@@ -203,7 +247,9 @@ public class ApplicationServiceSimplified {
         student.setPlacementStatus("Not Placed");
         
         // Save student
-        studentRepository.save(student);
+        Student savedStudent = studentRepository.save(student);
+        identityService.syncStudent(savedStudent);
+        studentSearchIndex.put(savedStudent);
         
         System.out.println("✅ New student created: " + student.getName() + " (" + student.getRollNo() + ")");
         System.out.println("🔑 Default password: " + plainPassword);
@@ -212,10 +258,9 @@ public class ApplicationServiceSimplified {
 
     // Generate unique student ID
     private String generateStudentId() {
-        String prefix = "STU";
-        String year = String.valueOf(LocalDateTime.now().getYear());
-        String randomNum = String.format("%04d", random.nextInt(10000));
-        return prefix + year + randomNum;
+        String prefix = "STU" + LocalDateTime.now().getYear();
+        long number = sequenceAllocator.next(prefix, Application.class, "generatedStudentId");
+        return prefix + String.format("%04d", number);
     }
 
     // Generate roll number based on course
@@ -229,9 +274,10 @@ public class ApplicationServiceSimplified {
             default -> "GN"; // General
         };
         
-        String year = String.valueOf(LocalDateTime.now().getYear()).substring(2);
-        String randomNum = String.format("%03d", random.nextInt(1000));
-        return courseCode + year + randomNum;
+        String prefix = courseCode + String.valueOf(LocalDateTime.now().getYear()).substring(2);
+        // Sequential per course and year; widens past three digits instead of colliding
+        long number = sequenceAllocator.next(prefix, Student.class, "rollNo");
+        return prefix + String.format("%03d", number);
     }
 
     // Generate simple password
@@ -241,10 +287,11 @@ public class ApplicationServiceSimplified {
 
     // Get application statistics
     public Object getApplicationStats() {
-        long totalApplications = applicationRepository.count();
-        long appliedApplications = applicationRepository.countByApplicationStatus("APPLIED");
-        long approvedApplications = applicationRepository.countByApplicationStatus("APPROVED");
-        long rejectedApplications = applicationRepository.countByApplicationStatus("REJECTED");
+        StatsService.Counts counts = statsService.applicationCounts();
+        long totalApplications = counts.getTotal();
+        long appliedApplications = counts.get("APPLIED");
+        long approvedApplications = counts.get("APPROVED");
+        long rejectedApplications = counts.get("REJECTED");
         
         return new Object() {
             public final long total = totalApplications;
@@ -1,8 +1,10 @@
 package com.university.management.service;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,9 +17,13 @@ import com.university.management.dto.request.StudentRegistrationRequest;
 import com.university.management.dto.response.ApiResponse;
 import com.university.management.dto.response.AuthResponse;
 import com.university.management.dto.response.StudentResponse;
+import com.university.management.model.Identity;
 import com.university.management.model.Student;
 import com.university.management.repository.StudentRepository;
+import com.university.management.repository.StudentView;
 import com.university.management.security.JwtUtil;
+import com.university.management.security.PasswordHashingRejectedException;
+import com.university.management.security.PrincipalCache;
 
 @Service
 public class AuthService {
@@ -37,6 +43,12 @@ public class AuthService {
     @Autowired
     private StudentService studentService;
     
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private IdentityService identityService;
+    
     public ApiResponse<AuthResponse> login(LoginRequest loginRequest) {
         try {
             // Authenticate user
@@ -48,7 +60,7 @@ public class AuthService {
             );
             
             // Get student details
-            Student student = studentRepository.findByEmail(loginRequest.getEmail())
+            Student student = findStudentByHandle(loginRequest.getEmail())
                 .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
             
             // Generate JWT token
@@ -66,6 +78,8 @@ public class AuthService {
             
             return ApiResponse.success("Login successful", authResponse);
             
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (AuthenticationException e) {
             return ApiResponse.error("Invalid email or password", e.getMessage());
         } catch (Exception e) {
@@ -75,25 +89,33 @@ public class AuthService {
     
     public ApiResponse<AuthResponse> studentLogin(LoginRequest loginRequest) {
         try {
-            // Try to find student by email or roll number
             Student student = null;
             String identifier = loginRequest.getEmail();
-            
-            if (identifier.contains("@")) {
-                student = studentRepository.findByEmail(identifier).orElse(null);
+            Identity identity = identityService.findByHandle(identifier)
+                .filter(Identity::isStudent)
+                .orElse(null);
+            
+            if (identity != null) {
+                // Verify against the indexed hash before loading the student document
+                if (!passwordEncoder.matches(loginRequest.getPassword(), identity.getPasswordHash())) {
+                    return ApiResponse.error("Invalid credentials");
+                }
+                student = studentRepository.findById(identity.getOwnerId()).orElse(null);
+                upgradePasswordIfNeeded(student, loginRequest.getPassword());
             } else {
-                student = studentRepository.findByRollNo(identifier).orElse(null);
+                // Handle not indexed - try to find student by email or roll number
+                student = findStudentByLegacyHandle(identifier).orElse(null);
+                
+                if (student != null && !passwordEncoder.matches(loginRequest.getPassword(), student.getPassword())) {
+                    return ApiResponse.error("Invalid credentials");
+                }
+                upgradePasswordIfNeeded(student, loginRequest.getPassword());
             }
             
             if (student == null) {
                 return ApiResponse.error("Student not found with provided credentials");
             }
             
-            // Verify password
-            if (!passwordEncoder.matches(loginRequest.getPassword(), student.getPassword())) {
-                return ApiResponse.error("Invalid credentials");
-            }
-            
             // Generate JWT token with STUDENT role
             String token = jwtUtil.generateTokenForStudent(
                 student.getEmail(),
@@ -109,6 +131,8 @@ public class AuthService {
             
             return ApiResponse.success("Student login successful", authResponse);
             
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (Exception e) {
             return ApiResponse.error("Login failed", e.getMessage());
         }
@@ -142,6 +166,8 @@ public class AuthService {
             
             return ApiResponse.success("Registration successful", authResponse);
             
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (Exception e) {
             return ApiResponse.error("Registration failed", e.getMessage());
         }
@@ -179,17 +205,19 @@ public class AuthService {
                 new UsernamePasswordAuthenticationToken(email, oldPassword)
             );
             
-            // Get student
-            Student student = studentRepository.findByEmail(email)
+            // Update password with a single $set so a concurrent profile edit cannot be overwritten
+            Update update = new Update()
+                .set("password", passwordEncoder.encode(newPassword))
+                .set("updatedAt", LocalDateTime.now());
+            Student student = studentRepository.updateByEmail(email, update, StudentView.DETAIL)
                 .orElseThrow(() -> new BadCredentialsException("User not found"));
-            
-            // Update password
-            student.setPassword(passwordEncoder.encode(newPassword));
-            student.setUpdatedAt(LocalDateTime.now());
-            studentRepository.save(student);
+            syncIdentity(student.getId());
+            principalCache.invalidate(student.getEmail());
             
             return ApiResponse.success("Password changed successfully");
             
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (AuthenticationException e) {
             return ApiResponse.error("Current password is incorrect");
         } catch (Exception e) {
@@ -246,4 +274,36 @@ public class AuthService {
             return ApiResponse.error("Failed to get user details", e.getMessage());
         }
     }
+    
+    // Rehash a verified password stored with a lower BCrypt cost than the current one
+    private void upgradePasswordIfNeeded(Student student, String rawPassword) {
+        if (student == null || !passwordEncoder.upgradeEncoding(student.getPassword())) {
+            return;
+        }
+        studentRepository.updateById(student.getId(),
+                new Update().set("password", passwordEncoder.encode(rawPassword)), StudentView.DETAIL)
+                .ifPresent(updated -> syncIdentity(updated.getId()));
+    }
+    
+    // The DETAIL projection leaves out the password hash the identity record carries, so re-read in full
+    private void syncIdentity(String studentId) {
+        studentRepository.findById(studentId).ifPresent(identityService::syncStudent);
+    }
+    
+    // Resolve a student by login handle through the identity index
+    private Optional<Student> findStudentByHandle(String handle) {
+        Optional<Identity> identity = identityService.findByHandle(handle).filter(Identity::isStudent);
+        if (identity.isPresent()) {
+            return studentRepository.findById(identity.get().getOwnerId());
+        }
+        return findStudentByLegacyHandle(handle);
+    }
+    
+    // Email or roll number lookup for handles not present in the identity index
+    private Optional<Student> findStudentByLegacyHandle(String handle) {
+        if (handle.contains("@")) {
+            return studentRepository.findByEmail(handle);
+        }
+        return studentRepository.findByRollNo(handle);
+    }
 }
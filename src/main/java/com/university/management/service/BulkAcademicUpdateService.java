@@ -0,0 +1,417 @@
+package com.university.management.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.university.management.dto.request.StudentAcademicBulkRow;
+import com.university.management.dto.response.BulkUpdateResult;
+import com.university.management.model.Student;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Applies academic updates (year, semester, CGPA, credits, attendance) for many students at once.
+ * Input is read as a stream (JSON array or CSV with a header row) and handled in chunks: each
+ * chunk is validated, checked for existence with one $in query, and written with a single
+ * unordered bulk of $set updates keyed by roll number. Like the single attendance edit, an
+ * attendance percentage only applies to students that already have an attendance record; a
+ * row with nothing else to change is reported as SKIPPED.
+ */
+@Service
+public class BulkAcademicUpdateService {
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("rollNo", "year", "semester", "currentCGPA", "totalCredits", "attendancePercentage");
+
+    private static final String NO_ATTENDANCE_RECORD = "Student has no attendance record";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    @Value("${bulk.academic.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${bulk.academic.max-rows:50000}")
+    private int maxRows;
+
+    // Rows from a JSON array of StudentAcademicBulkRow objects
+    public BulkUpdateResult applyJson(InputStream body) throws IOException {
+        long started = System.currentTimeMillis();
+        BulkUpdateResult result = new BulkUpdateResult();
+        Chunk chunk = new Chunk();
+        int rowNumber = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Request body must be a JSON array of rows");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                rowNumber++;
+                if (rowNumber > maxRows) {
+                    return stop(result, chunk, rowNumber, "Too many rows (max " + maxRows + ")", started);
+                }
+                // Syntax errors end the stream; a row with wrong value types only fails itself
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    chunk.add(rowNumber, objectMapper.treeToValue(node, StudentAcademicBulkRow.class), null);
+                } catch (JsonProcessingException e) {
+                    chunk.add(rowNumber, null, "Invalid row: " + e.getOriginalMessage());
+                }
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, result);
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                return stop(result, chunk, rowNumber + 1, "Expected a row object", started);
+            }
+        } catch (JsonProcessingException e) {
+            return stop(result, chunk, rowNumber + 1, "Malformed JSON: " + e.getOriginalMessage(), started);
+        }
+
+        flush(chunk, result);
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        return result;
+    }
+
+    // Rows from CSV; the header names the columns (rollNo plus any of the academic fields)
+    public BulkUpdateResult applyCsv(InputStream body) throws IOException {
+        long started = System.currentTimeMillis();
+        BulkUpdateResult result = new BulkUpdateResult();
+        Chunk chunk = new Chunk();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("CSV body is empty");
+        }
+        List<String> header = parseCsvLine(stripBom(headerLine));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            String column = CSV_COLUMNS.stream().filter(known -> known.equalsIgnoreCase(name)).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown CSV column '" + name
+                            + "', expected: " + String.join(", ", CSV_COLUMNS)));
+            columns.put(column, i);
+        }
+        if (!columns.containsKey("rollNo")) {
+            throw new IllegalArgumentException("CSV header must include rollNo");
+        }
+
+        int rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            if (rowNumber > maxRows) {
+                return stop(result, chunk, rowNumber, "Too many rows (max " + maxRows + ")", started);
+            }
+            List<String> cells = parseCsvLine(line);
+            try {
+                chunk.add(rowNumber, toRow(cells, columns), null);
+            } catch (IllegalArgumentException e) {
+                chunk.add(rowNumber, null, e.getMessage());
+            }
+            if (chunk.size() >= chunkSize) {
+                flush(chunk, result);
+            }
+        }
+
+        flush(chunk, result);
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        return result;
+    }
+
+    /*
+     * Validate, check existence and write one chunk. Rows keep their input order in the
+     * result; a roll number repeated in the same request only applies its first occurrence.
+     */
+    private void flush(Chunk chunk, BulkUpdateResult result) {
+        if (chunk.size() == 0) {
+            return;
+        }
+        BulkUpdateResult.RowResult[] outcomes = new BulkUpdateResult.RowResult[chunk.size()];
+        List<Integer> candidates = new ArrayList<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            StudentAcademicBulkRow row = chunk.rows.get(i);
+            int rowNumber = chunk.rowNumbers.get(i);
+            String rollNo = row == null ? null : row.getRollNo();
+
+            if (row == null) {
+                outcomes[i] = new BulkUpdateResult.RowResult(rowNumber, null, BulkUpdateResult.INVALID, chunk.errors.get(i));
+                continue;
+            }
+            Set<ConstraintViolation<StudentAcademicBulkRow>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                String message = violations.stream().map(ConstraintViolation::getMessage).sorted()
+                        .collect(Collectors.joining("; "));
+                outcomes[i] = new BulkUpdateResult.RowResult(rowNumber, rollNo, BulkUpdateResult.INVALID, message);
+            } else if (!hasChanges(row)) {
+                outcomes[i] = new BulkUpdateResult.RowResult(rowNumber, rollNo, BulkUpdateResult.INVALID,
+                        "No academic fields to update");
+            } else if (!chunk.seenRollNos.add(rollNo.trim())) {
+                outcomes[i] = new BulkUpdateResult.RowResult(rowNumber, rollNo, BulkUpdateResult.DUPLICATE,
+                        "Roll number already updated earlier in this request");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // One $in query for the whole chunk instead of a findById per row
+        Set<String> rollNos = candidates.stream().map(i -> chunk.rows.get(i).getRollNo().trim()).collect(Collectors.toSet());
+        // Read as documents: a mapped Student always has an Attendance, stored or not
+        Set<String> existing = new HashSet<>();
+        Set<String> withAttendance = new HashSet<>();
+        if (!rollNos.isEmpty()) {
+            Query query = new Query(Criteria.where("rollNo").in(rollNos));
+            query.fields().include("rollNo", "attendance");
+            for (Document student : mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Student.class))) {
+                existing.add(student.getString("rollNo"));
+                if (student.get("attendance") != null) {
+                    withAttendance.add(student.getString("rollNo"));
+                }
+            }
+        }
+
+        List<Integer> queued = new ArrayList<>();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Student.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i : candidates) {
+            StudentAcademicBulkRow row = chunk.rows.get(i);
+            String rollNo = row.getRollNo().trim();
+            if (!existing.contains(rollNo)) {
+                outcomes[i] = new BulkUpdateResult.RowResult(chunk.rowNumbers.get(i), rollNo, BulkUpdateResult.NOT_FOUND,
+                        "Student not found with roll number: " + rollNo);
+                continue;
+            }
+            boolean attendance = row.getAttendancePercentage() != null && withAttendance.contains(rollNo);
+            if (row.getAttendancePercentage() != null && !attendance && !hasChangesBesideAttendance(row)) {
+                outcomes[i] = new BulkUpdateResult.RowResult(chunk.rowNumbers.get(i), rollNo, BulkUpdateResult.SKIPPED,
+                        NO_ATTENDANCE_RECORD);
+                continue;
+            }
+            Criteria filter = Criteria.where("rollNo").is(rollNo);
+            if (attendance) {
+                filter.and("attendance").ne(null);
+            }
+            bulk.updateOne(new Query(filter), toUpdate(row, attendance, now));
+            queued.add(i);
+        }
+
+        if (!queued.isEmpty()) {
+            Map<Integer, String> writeErrors = new HashMap<>();
+            try {
+                bulk.execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    writeErrors.put(error.getIndex(), error.getMessage());
+                }
+            }
+            for (int position = 0; position < queued.size(); position++) {
+                int i = queued.get(position);
+                String rollNo = chunk.rows.get(i).getRollNo().trim();
+                String error = writeErrors.get(position);
+                String note = chunk.rows.get(i).getAttendancePercentage() != null && !withAttendance.contains(rollNo)
+                        ? NO_ATTENDANCE_RECORD + "; attendance not changed" : null;
+                outcomes[i] = error == null
+                        ? new BulkUpdateResult.RowResult(chunk.rowNumbers.get(i), rollNo, BulkUpdateResult.UPDATED, note)
+                        : new BulkUpdateResult.RowResult(chunk.rowNumbers.get(i), rollNo, BulkUpdateResult.FAILED, error);
+            }
+            refreshSearchIndex(chunk, queued, writeErrors);
+        }
+
+        for (BulkUpdateResult.RowResult outcome : outcomes) {
+            result.add(outcome);
+        }
+        chunk.clear();
+    }
+
+    // Year is shown in typeahead results, so re-read the changed students in one query
+    private void refreshSearchIndex(Chunk chunk, List<Integer> queued, Map<Integer, String> writeErrors) {
+        Set<String> changedYear = new HashSet<>();
+        for (int position = 0; position < queued.size(); position++) {
+            StudentAcademicBulkRow row = chunk.rows.get(queued.get(position));
+            if (row.getYear() != null && !writeErrors.containsKey(position)) {
+                changedYear.add(row.getRollNo().trim());
+            }
+        }
+        if (changedYear.isEmpty()) {
+            return;
+        }
+        Query query = new Query(Criteria.where("rollNo").in(changedYear));
+        query.fields().include("name", "rollNo", "email", "department", "year");
+        mongoTemplate.find(query, Student.class).forEach(studentSearchIndex::put);
+    }
+
+    private static Update toUpdate(StudentAcademicBulkRow row, boolean attendance, LocalDateTime now) {
+        Update update = new Update();
+        if (row.getYear() != null) {
+            update.set("year", row.getYear());
+        }
+        if (row.getSemester() != null) {
+            update.set("semester", row.getSemester());
+        }
+        if (row.getCurrentCGPA() != null) {
+            update.set("currentCGPA", row.getCurrentCGPA());
+        }
+        if (row.getTotalCredits() != null) {
+            update.set("totalCredits", row.getTotalCredits());
+        }
+        if (attendance) {
+            update.set("attendance.percentage", row.getAttendancePercentage());
+        }
+        return update.set("updatedAt", now).inc("version", 1);
+    }
+
+    private static boolean hasChanges(StudentAcademicBulkRow row) {
+        return hasChangesBesideAttendance(row) || row.getAttendancePercentage() != null;
+    }
+
+    private static boolean hasChangesBesideAttendance(StudentAcademicBulkRow row) {
+        return row.getYear() != null || row.getSemester() != null || row.getCurrentCGPA() != null
+                || row.getTotalCredits() != null;
+    }
+
+    // Flush what was read so far, record the failing row and mark the result incomplete
+    private BulkUpdateResult stop(BulkUpdateResult result, Chunk chunk, int rowNumber, String message, long started) {
+        flush(chunk, result);
+        result.add(new BulkUpdateResult.RowResult(rowNumber, null, BulkUpdateResult.INVALID, message));
+        result.setComplete(false);
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        return result;
+    }
+
+    private static StudentAcademicBulkRow toRow(List<String> cells, Map<String, Integer> columns) {
+        StudentAcademicBulkRow row = new StudentAcademicBulkRow();
+        row.setRollNo(cell(cells, columns, "rollNo"));
+        row.setYear(toInteger(cell(cells, columns, "year"), "year"));
+        row.setSemester(toInteger(cell(cells, columns, "semester"), "semester"));
+        row.setCurrentCGPA(toDouble(cell(cells, columns, "currentCGPA"), "currentCGPA"));
+        row.setTotalCredits(toInteger(cell(cells, columns, "totalCredits"), "totalCredits"));
+        row.setAttendancePercentage(toDouble(cell(cells, columns, "attendancePercentage"), "attendancePercentage"));
+        return row;
+    }
+
+    private static String cell(List<String> cells, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= cells.size()) {
+            return null;
+        }
+        String value = cells.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer toInteger(String value, String column) {
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static Double toDouble(String value, String column) {
+        try {
+            return value == null ? null : Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    // Split one CSV line, honouring double-quoted cells with "" escapes (same dialect as the export).
+    // Also used by StudentImportService.
+    static List<String> parseCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        cells.add(current.toString());
+        return cells;
+    }
+
+    static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    // Rows buffered for the next flush; seenRollNos spans the whole request
+    private static final class Chunk {
+        private final List<StudentAcademicBulkRow> rows = new ArrayList<>();
+        private final List<Integer> rowNumbers = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private final Set<String> seenRollNos = new HashSet<>();
+
+        void add(int rowNumber, StudentAcademicBulkRow row, String error) {
+            rows.add(row);
+            rowNumbers.add(rowNumber);
+            errors.add(error);
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        void clear() {
+            rows.clear();
+            rowNumbers.clear();
+            errors.clear();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.university.management.service;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.university.management.service.ResponseBytesCache.CachedResponse;
+
+/**
+ * Public course catalog views in the "catalog" namespace of ResponseBytesCache.
+ * Course writes through CourseService invalidate the namespace; seat counts also move with
+ * reservations, so a view is rebuilt after catalog.cache.ttl-seconds at the latest.
+ */
+@Component
+public class CourseCatalogCache {
+
+    private static final String NAMESPACE = "catalog";
+
+    @Autowired
+    private ResponseBytesCache responseBytesCache;
+
+    @Value("${catalog.cache.ttl-seconds:15}")
+    private long ttlSeconds;
+
+    // Cached view for the key; a supplier returning null (e.g. course not found) is not cached
+    public CachedResponse get(String key, Supplier<Object> body) {
+        return responseBytesCache.get(NAMESPACE, key, ttlSeconds * 1000, body);
+    }
+
+    // Clients must revalidate, since seat counts change between invalidations
+    public ResponseEntity<byte[]> respond(CachedResponse view, String acceptEncoding, String ifNoneMatch) {
+        return responseBytesCache.respond(NAMESPACE, view, acceptEncoding, ifNoneMatch, CacheControl.noCache());
+    }
+
+    // Drop every view; called after any course write
+    public void invalidate() {
+        responseBytesCache.invalidate(NAMESPACE);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = responseBytesCache.getMetrics(NAMESPACE);
+        metrics.put("ttlSeconds", ttlSeconds);
+        return metrics;
+    }
+}
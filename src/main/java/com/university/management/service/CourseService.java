@@ -3,13 +3,16 @@ package com.university.management.service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import com.university.management.model.Course;
 import com.university.management.repository.CourseRepository;
+import com.university.management.service.ResponseBytesCache.CachedResponse;
 
 @Service
 public class CourseService {
@@ -17,39 +20,62 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
     
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+    
+    @Autowired
+    private SeatStripeService seatStripeService;
+    
+    @Autowired
+    private CourseCatalogCache courseCatalogCache;
+    
+    @Autowired
+    private StatsService statsService;
+    
     // Get all active courses
     public List<Course> getAllActiveCourses() {
-        return courseRepository.findByIsActiveTrue();
+        return seatStripeService.withLiveSeats(courseRepository.findByIsActiveTrue());
     }
     
     // Get all courses (Admin only)
     public List<Course> getAllCourses() {
-        return courseRepository.findAll(Sort.by(Sort.Direction.ASC, "courseName"));
+        return seatStripeService.withLiveSeats(courseRepository.findAll(Sort.by(Sort.Direction.ASC, "courseName")));
     }
     
     // Get available courses (with seats available)
     public List<Course> getAvailableCourses() {
-        return courseRepository.findAvailableCourses();
+        List<Course> courses = seatStripeService.withLiveSeats(courseRepository.findAvailableCourses());
+        courses.removeIf(course -> !course.hasAvailableSeats());
+        return courses;
     }
     
     // Get courses by department
     public List<Course> getCoursesByDepartment(String department) {
-        return courseRepository.findByDepartment(department);
+        return seatStripeService.withLiveSeats(courseRepository.findByDepartment(department));
     }
     
     // Get courses by program type
     public List<Course> getCoursesByProgramType(String programType) {
-        return courseRepository.findByProgramType(programType);
+        return seatStripeService.withLiveSeats(courseRepository.findByProgramType(programType));
     }
     
     // Get course by ID
     public Optional<Course> getCourseById(String id) {
-        return courseRepository.findById(id);
+        return courseRepository.findById(id).map(seatStripeService::withLiveSeats);
     }
     
     // Get course by name
     public Optional<Course> getCourseByName(String courseName) {
-        return courseRepository.findByCourseName(courseName);
+        return courseRepository.findByCourseName(courseName).map(seatStripeService::withLiveSeats);
+    }
+    
+    // Pre-serialized public catalog view (JSON + gzip bytes, ETag); body is only built on a cache miss
+    public CachedResponse getCatalogView(String key, Supplier<Object> body) {
+        return courseCatalogCache.get(key, body);
+    }
+    
+    public ResponseEntity<byte[]> catalogResponse(CachedResponse view, String acceptEncoding, String ifNoneMatch) {
+        return courseCatalogCache.respond(view, acceptEncoding, ifNoneMatch);
     }
     
     // Create new course (Admin only)
@@ -69,62 +95,80 @@ public class CourseService {
             course.setAvailableSeats(course.getTotalSeats());
         }
         
+        course.setVersion(null); // A client-supplied version would turn the insert into an update
+        course.setSeatStripes(null); // Striping is switched on separately, once the stripes exist
         course.setCreatedAt(LocalDateTime.now());
         course.setUpdatedAt(LocalDateTime.now());
         
-        return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        courseCatalogCache.invalidate();
+        return savedCourse;
     }
     
     // Update course (Admin only)
     public Course updateCourse(String id, Course courseDetails) {
-        Optional<Course> courseOpt = courseRepository.findById(id);
-        if (courseOpt.isEmpty()) {
-            throw new RuntimeException("Course not found");
-        }
-        
-        Course course = courseOpt.get();
-        
-        // Update fields
-        if (courseDetails.getCourseName() != null) {
-            course.setCourseName(courseDetails.getCourseName());
-        }
-        if (courseDetails.getDepartment() != null) {
-            course.setDepartment(courseDetails.getDepartment());
-        }
-        if (courseDetails.getProgramType() != null) {
-            course.setProgramType(courseDetails.getProgramType());
-        }
-        if (courseDetails.getDurationYears() != null) {
-            course.setDurationYears(courseDetails.getDurationYears());
-        }
-        if (courseDetails.getTotalSeats() != null) {
-            course.setTotalSeats(courseDetails.getTotalSeats());
-        }
-        if (courseDetails.getAvailableSeats() != null) {
-            course.setAvailableSeats(courseDetails.getAvailableSeats());
-        }
-        if (courseDetails.getDescription() != null) {
-            course.setDescription(courseDetails.getDescription());
-        }
-        if (courseDetails.getEligibilityCriteria() != null) {
-            course.setEligibilityCriteria(courseDetails.getEligibilityCriteria());
-        }
-        if (courseDetails.getFeeAmount() != null) {
-            course.setFeeAmount(courseDetails.getFeeAmount());
-        }
-        if (courseDetails.getFeeType() != null) {
-            course.setFeeType(courseDetails.getFeeType());
-        }
-        if (courseDetails.getIsActive() != null) {
-            course.setIsActive(courseDetails.getIsActive());
-        }
-        if (courseDetails.getSubjects() != null) {
-            course.setSubjects(courseDetails.getSubjects());
-        }
-        
-        course.setUpdatedAt(LocalDateTime.now());
-        
-        return courseRepository.save(course);
+        Course updatedCourse = optimisticRetry.run(() -> {
+            Optional<Course> courseOpt = courseRepository.findById(id);
+            if (courseOpt.isEmpty()) {
+                throw new RuntimeException("Course not found");
+            }
+            
+            Course course = courseOpt.get();
+            
+            // Update fields
+            if (courseDetails.getCourseName() != null) {
+                course.setCourseName(courseDetails.getCourseName());
+            }
+            if (courseDetails.getDepartment() != null) {
+                course.setDepartment(courseDetails.getDepartment());
+            }
+            if (courseDetails.getProgramType() != null) {
+                course.setProgramType(courseDetails.getProgramType());
+            }
+            if (courseDetails.getDurationYears() != null) {
+                course.setDurationYears(courseDetails.getDurationYears());
+            }
+            if (courseDetails.getTotalSeats() != null) {
+                course.setTotalSeats(courseDetails.getTotalSeats());
+            }
+            if (courseDetails.getAvailableSeats() != null) {
+                if (SeatStripeService.isStriped(course)) {
+                    throw new RuntimeException("Disable seat striping before changing available seats");
+                }
+                course.setAvailableSeats(courseDetails.getAvailableSeats());
+            }
+            if (courseDetails.getDescription() != null) {
+                course.setDescription(courseDetails.getDescription());
+            }
+            if (courseDetails.getEligibilityCriteria() != null) {
+                course.setEligibilityCriteria(courseDetails.getEligibilityCriteria());
+            }
+            if (courseDetails.getFeeAmount() != null) {
+                course.setFeeAmount(courseDetails.getFeeAmount());
+            }
+            if (courseDetails.getFeeType() != null) {
+                course.setFeeType(courseDetails.getFeeType());
+            }
+            if (courseDetails.getIsActive() != null) {
+                course.setIsActive(courseDetails.getIsActive());
+            }
+            if (courseDetails.getSubjects() != null) {
+                course.setSubjects(courseDetails.getSubjects());
+            }
+            
+            course.setUpdatedAt(LocalDateTime.now());
+            
+            return seatStripeService.withLiveSeats(courseRepository.save(course));
+        });
+        courseCatalogCache.invalidate();
+        return updatedCourse;
+    }
+    
+    // Split a hot course's seat pool across stripes, or fold it back with stripes <= 1 (Admin only)
+    public Course setSeatStripes(String id, int stripes) {
+        Course course = stripes > 1 ? seatStripeService.enable(id, stripes) : seatStripeService.disable(id);
+        courseCatalogCache.invalidate();
+        return course;
     }
     
     // Delete course (Admin only)
@@ -133,26 +177,33 @@ public class CourseService {
             throw new RuntimeException("Course not found");
         }
         courseRepository.deleteById(id);
+        seatStripeService.dropStripes(id);
+        courseCatalogCache.invalidate();
     }
     
     // Activate/Deactivate course (Admin only)
     public Course toggleCourseStatus(String id) {
-        Optional<Course> courseOpt = courseRepository.findById(id);
-        if (courseOpt.isEmpty()) {
-            throw new RuntimeException("Course not found");
-        }
-        
-        Course course = courseOpt.get();
-        course.setIsActive(!course.getIsActive());
-        course.setUpdatedAt(LocalDateTime.now());
-        
-        return courseRepository.save(course);
+        Course toggledCourse = optimisticRetry.run(() -> {
+            Optional<Course> courseOpt = courseRepository.findById(id);
+            if (courseOpt.isEmpty()) {
+                throw new RuntimeException("Course not found");
+            }
+            
+            Course course = courseOpt.get();
+            course.setIsActive(!course.getIsActive());
+            course.setUpdatedAt(LocalDateTime.now());
+            
+            return seatStripeService.withLiveSeats(courseRepository.save(course));
+        });
+        courseCatalogCache.invalidate();
+        return toggledCourse;
     }
     
     // Get course statistics
     public CourseStats getCourseStats() {
-        long totalCourses = courseRepository.count();
-        long activeCourses = courseRepository.countByIsActiveTrue();
+        StatsService.Counts counts = statsService.courseCounts();
+        long totalCourses = counts.getTotal();
+        long activeCourses = counts.get(true);
         
         return new CourseStats(totalCourses, activeCourses);
     }
@@ -161,6 +212,7 @@ public class CourseService {
     public void initializeDefaultCourses() {
         if (courseRepository.count() == 0) {
             createDefaultCourses();
+            courseCatalogCache.invalidate();
         }
     }
     
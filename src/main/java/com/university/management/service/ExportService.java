@@ -0,0 +1,200 @@
+package com.university.management.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.management.dto.response.StudentResponse;
+import com.university.management.model.Application;
+import com.university.management.model.Course;
+import com.university.management.model.Student;
+
+/**
+ * Streams whole collections out as NDJSON or CSV.
+ * Records are read through a Mongo cursor and written one at a time, so memory use
+ * stays constant regardless of collection size.
+ */
+@Service
+public class ExportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    private static final Map<String, Function<StudentResponse, Object>> STUDENT_COLUMNS = new LinkedHashMap<>();
+    private static final Map<String, Function<Application, Object>> APPLICATION_COLUMNS = new LinkedHashMap<>();
+    private static final Map<String, Function<Course, Object>> COURSE_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        STUDENT_COLUMNS.put("id", StudentResponse::getId);
+        STUDENT_COLUMNS.put("name", StudentResponse::getName);
+        STUDENT_COLUMNS.put("rollNo", StudentResponse::getRollNo);
+        STUDENT_COLUMNS.put("email", StudentResponse::getEmail);
+        STUDENT_COLUMNS.put("phone", StudentResponse::getPhone);
+        STUDENT_COLUMNS.put("department", StudentResponse::getDepartment);
+        STUDENT_COLUMNS.put("year", StudentResponse::getYear);
+        STUDENT_COLUMNS.put("semester", StudentResponse::getSemester);
+        STUDENT_COLUMNS.put("currentCGPA", StudentResponse::getCurrentCGPA);
+        STUDENT_COLUMNS.put("totalCredits", StudentResponse::getTotalCredits);
+        STUDENT_COLUMNS.put("attendancePercentage",
+                student -> student.getAttendance() == null ? null : student.getAttendance().getPercentage());
+        STUDENT_COLUMNS.put("totalFee", StudentResponse::getTotalFee);
+        STUDENT_COLUMNS.put("paidAmount", StudentResponse::getPaidAmount);
+        STUDENT_COLUMNS.put("placementStatus", StudentResponse::getPlacementStatus);
+        STUDENT_COLUMNS.put("company", StudentResponse::getCompany);
+        STUDENT_COLUMNS.put("packageAmount", StudentResponse::getPackageAmount);
+        STUDENT_COLUMNS.put("createdAt", StudentResponse::getCreatedAt);
+
+        APPLICATION_COLUMNS.put("id", Application::getId);
+        APPLICATION_COLUMNS.put("fullName", Application::getFullName);
+        APPLICATION_COLUMNS.put("email", Application::getEmail);
+        APPLICATION_COLUMNS.put("phoneNumber", Application::getPhoneNumber);
+        APPLICATION_COLUMNS.put("desiredCourse", Application::getDesiredCourse);
+        APPLICATION_COLUMNS.put("previousQualification", Application::getPreviousQualification);
+        APPLICATION_COLUMNS.put("previousGrade", Application::getPreviousGrade);
+        APPLICATION_COLUMNS.put("applicationStatus", Application::getApplicationStatus);
+        APPLICATION_COLUMNS.put("reviewedBy", Application::getReviewedBy);
+        APPLICATION_COLUMNS.put("reviewedAt", Application::getReviewedAt);
+        APPLICATION_COLUMNS.put("generatedRollNumber", Application::getGeneratedRollNumber);
+        APPLICATION_COLUMNS.put("applicationDate", Application::getApplicationDate);
+
+        COURSE_COLUMNS.put("id", Course::getId);
+        COURSE_COLUMNS.put("courseCode", Course::getCourseCode);
+        COURSE_COLUMNS.put("courseName", Course::getCourseName);
+        COURSE_COLUMNS.put("department", Course::getDepartment);
+        COURSE_COLUMNS.put("programType", Course::getProgramType);
+        COURSE_COLUMNS.put("durationYears", Course::getDurationYears);
+        COURSE_COLUMNS.put("totalSeats", Course::getTotalSeats);
+        COURSE_COLUMNS.put("availableSeats", Course::getAvailableSeats);
+        COURSE_COLUMNS.put("feeAmount", Course::getFeeAmount);
+        COURSE_COLUMNS.put("feeType", Course::getFeeType);
+        COURSE_COLUMNS.put("isActive", Course::getIsActive);
+        COURSE_COLUMNS.put("subjects", Course::getSubjects);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SeatStripeService seatStripeService;
+
+    @Value("${export.cursor-batch-size:500}")
+    private int cursorBatchSize;
+
+    public static boolean isSupportedFormat(String format) {
+        return FORMAT_NDJSON.equals(format) || FORMAT_CSV.equals(format);
+    }
+
+    public void exportStudents(OutputStream out, String format) throws IOException {
+        Query query = cursorQuery();
+        query.fields().exclude("password");
+        try (Stream<Student> students = mongoTemplate.stream(query, Student.class)) {
+            write(students.map(StudentResponse::new), STUDENT_COLUMNS, out, format);
+        }
+    }
+
+    public void exportApplications(OutputStream out, String format) throws IOException {
+        try (Stream<Application> applications = mongoTemplate.stream(cursorQuery(), Application.class)) {
+            write(applications, APPLICATION_COLUMNS, out, format);
+        }
+    }
+
+    public void exportCourses(OutputStream out, String format) throws IOException {
+        try (Stream<Course> courses = mongoTemplate.stream(cursorQuery(), Course.class)) {
+            // Striped courses only mirror their seat count, so overlay the live stripe totals per batch
+            write(inBatches(courses, seatStripeService::withLiveSeats), COURSE_COLUMNS, out, format);
+        }
+    }
+
+    // Natural _id order keeps the scan on the primary index; the batch size bounds what the driver buffers
+    private Query cursorQuery() {
+        return new Query().with(Sort.by("_id")).cursorBatchSize(cursorBatchSize);
+    }
+
+    // Lazily group the stream into cursor-sized batches, pass each through the function and flatten again
+    private <T> Stream<T> inBatches(Stream<T> records, Function<List<T>, List<T>> perBatch) {
+        Iterator<T> source = records.iterator();
+        Iterator<List<T>> batches = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                List<T> batch = new ArrayList<>(cursorBatchSize);
+                while (source.hasNext() && batch.size() < cursorBatchSize) {
+                    batch.add(source.next());
+                }
+                return perBatch.apply(batch);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .flatMap(List::stream);
+    }
+
+    private <T> void write(Stream<T> records, Map<String, Function<T, Object>> columns,
+            OutputStream target, String format) throws IOException {
+        OutputStream out = new BufferedOutputStream(target, 16 * 1024);
+        boolean csv = FORMAT_CSV.equals(format);
+
+        if (csv) {
+            out.write(String.join(",", columns.keySet()).getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+        }
+
+        var iterator = records.iterator();
+        while (iterator.hasNext()) {
+            T record = iterator.next();
+            if (csv) {
+                out.write(toCsvRow(record, columns).getBytes(StandardCharsets.UTF_8));
+            } else {
+                out.write(objectMapper.writeValueAsBytes(record));
+            }
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    private static <T> String toCsvRow(T record, Map<String, Function<T, Object>> columns) {
+        return columns.values().stream()
+                .map(column -> csvCell(column.apply(record)))
+                .collect(Collectors.joining(","));
+    }
+
+    private static String csvCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof Collection<?> values
+                ? values.stream().map(String::valueOf).collect(Collectors.joining(";"))
+                : value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,224 @@
+package com.university.management.service;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.university.management.model.Admin;
+import com.university.management.model.Identity;
+import com.university.management.model.Student;
+import com.university.management.repository.IdentityRepository;
+
+/**
+ * Keeps the identities collection (login handle -> owner, hash, active flag) in sync
+ * with the admins and students-SB collections and serves handle point lookups.
+ * Admin handles take precedence over student handles; otherwise the first owner
+ * of a handle keeps it, and callers fall back to the per-collection queries.
+ */
+@Service
+public class IdentityService {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private IdentityRepository identityRepository;
+
+    // Normalize a login handle (trimmed, lower-case)
+    public static String normalize(String handle) {
+        return handle == null ? null : handle.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Single indexed lookup by login handle
+    public Optional<Identity> findByHandle(String handle) {
+        if (handle == null || handle.isBlank()) {
+            return Optional.empty();
+        }
+        return identityRepository.findById(normalize(handle));
+    }
+
+    // Sync handles after a student write (create, email/password change)
+    public void syncStudent(Student student) {
+        if (student == null || student.getId() == null) {
+            return;
+        }
+        Set<String> handles = handlesOf(student.getEmail(), student.getRollNo());
+        removeStaleHandles(student.getId(), handles);
+        for (String handle : handles) {
+            upsert(toUpdate(student), handle, student.getId(), false);
+        }
+    }
+
+    // Handles for freshly inserted students (bulk import), written in unordered batches
+    public void syncNewStudents(List<Student> students) {
+        Iterator<PendingUpsert> upserts = students.stream()
+                .flatMap(student -> handlesOf(student.getEmail(), student.getRollNo()).stream()
+                        .map(handle -> new PendingUpsert(handle, student.getId(), toUpdate(student))))
+                .iterator();
+        // Handles already owned by someone else fail with a duplicate key and are skipped
+        while (upserts.hasNext()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Identity.class);
+            for (int i = 0; i < REBUILD_BATCH_SIZE && upserts.hasNext(); i++) {
+                PendingUpsert upsert = upserts.next();
+                bulk.upsert(new Query(Criteria.where("_id").is(upsert.handle).and("ownerId").is(upsert.ownerId)),
+                        upsert.update);
+            }
+            execute(bulk);
+        }
+    }
+
+    // Sync handles after an admin write (create, username/email/role/status/password change)
+    public void syncAdmin(Admin admin) {
+        if (admin == null || admin.getId() == null) {
+            return;
+        }
+        Set<String> handles = handlesOf(admin.getUsername(), admin.getEmail());
+        removeStaleHandles(admin.getId(), handles);
+        for (String handle : handles) {
+            upsert(toUpdate(admin), handle, admin.getId(), true);
+        }
+    }
+
+    // Remove every handle of a deleted admin/student
+    public void removeOwner(String ownerId) {
+        if (ownerId != null) {
+            identityRepository.deleteByOwnerId(ownerId);
+        }
+    }
+
+    /**
+     * Rebuild the whole index from the admins and students-SB collections.
+     * Entries not touched by the rebuild (orphans of deleted owners) are removed at the end.
+     */
+    public long rebuild() {
+        mongoTemplate.indexOps(Identity.class).ensureIndex(new Index("ownerId", Sort.Direction.ASC));
+        LocalDateTime startedAt = LocalDateTime.now();
+        long written = 0;
+
+        // Admins first so they keep precedence over students on a shared handle
+        Query adminQuery = new Query();
+        adminQuery.fields().include("username", "email", "password", "role", "isActive");
+        try (Stream<Admin> admins = mongoTemplate.stream(adminQuery, Admin.class)) {
+            written += writeInBatches(admins.flatMap(admin -> handlesOf(admin.getUsername(), admin.getEmail()).stream()
+                    .map(handle -> new PendingUpsert(handle, admin.getId(), toUpdate(admin)))).iterator(), startedAt);
+        }
+
+        Query studentQuery = new Query();
+        studentQuery.fields().include("email", "rollNo", "password");
+        try (Stream<Student> students = mongoTemplate.stream(studentQuery, Student.class)) {
+            written += writeInBatches(students.flatMap(student -> handlesOf(student.getEmail(), student.getRollNo()).stream()
+                    .map(handle -> new PendingUpsert(handle, student.getId(), toUpdate(student)))).iterator(), startedAt);
+        }
+
+        mongoTemplate.remove(new Query(Criteria.where("updatedAt").lt(startedAt)), Identity.class);
+        return written;
+    }
+
+    private long writeInBatches(Iterator<PendingUpsert> upserts, LocalDateTime startedAt) {
+        long written = 0;
+        while (upserts.hasNext()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Identity.class);
+            for (int i = 0; i < REBUILD_BATCH_SIZE && upserts.hasNext(); i++) {
+                PendingUpsert upsert = upserts.next();
+                // A handle may be claimed by its owner or taken over from an entry not refreshed by this rebuild
+                Criteria claimable = new Criteria().orOperator(
+                        Criteria.where("ownerId").is(upsert.ownerId),
+                        Criteria.where("updatedAt").lt(startedAt));
+                bulk.upsert(new Query(Criteria.where("_id").is(upsert.handle).andOperator(claimable)), upsert.update);
+            }
+            written += execute(bulk);
+        }
+        return written;
+    }
+
+    private long execute(BulkOperations bulk) {
+        try {
+            BulkWriteResult result = bulk.execute();
+            return result.getModifiedCount() + result.getUpserts().size();
+        } catch (BulkOperationException e) {
+            // Duplicate handles claimed by another owner are expected and skipped
+            BulkWriteResult result = e.getResult();
+            return result.getModifiedCount() + result.getUpserts().size();
+        }
+    }
+
+    private void removeStaleHandles(String ownerId, Set<String> handles) {
+        mongoTemplate.remove(new Query(Criteria.where("ownerId").is(ownerId).and("_id").nin(handles)), Identity.class);
+    }
+
+    private void upsert(Update update, String handle, String ownerId, boolean overridesStudents) {
+        Criteria claimable = Criteria.where("ownerId").is(ownerId);
+        if (overridesStudents) {
+            claimable = new Criteria().orOperator(claimable, Criteria.where("userType").is(Identity.TYPE_STUDENT));
+        }
+        try {
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(handle).andOperator(claimable)), update, Identity.class);
+        } catch (DuplicateKeyException e) {
+            System.out.println("⚠️  Login handle '" + handle + "' is already owned by another account, skipping");
+        }
+    }
+
+    private static Set<String> handlesOf(String... rawHandles) {
+        Set<String> handles = new LinkedHashSet<>();
+        for (String raw : rawHandles) {
+            if (raw != null && !raw.isBlank()) {
+                handles.add(normalize(raw));
+            }
+        }
+        return handles;
+    }
+
+    private static Update toUpdate(Student student) {
+        return new Update()
+                .set("userType", Identity.TYPE_STUDENT)
+                .set("ownerId", student.getId())
+                .set("principal", student.getEmail())
+                .set("passwordHash", student.getPassword())
+                .set("role", null)
+                .set("active", true)
+                .set("updatedAt", LocalDateTime.now());
+    }
+
+    private static Update toUpdate(Admin admin) {
+        return new Update()
+                .set("userType", Identity.TYPE_ADMIN)
+                .set("ownerId", admin.getId())
+                .set("principal", admin.getUsername())
+                .set("passwordHash", admin.getPassword())
+                .set("role", admin.getRole())
+                .set("active", admin.isActive())
+                .set("updatedAt", LocalDateTime.now());
+    }
+
+    private static final class PendingUpsert {
+        private final String handle;
+        private final String ownerId;
+        private final Update update;
+
+        private PendingUpsert(String handle, String ownerId, Update update) {
+            this.handle = handle;
+            this.ownerId = ownerId;
+            this.update = update;
+        }
+    }
+}
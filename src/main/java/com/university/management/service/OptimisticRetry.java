@@ -0,0 +1,70 @@
+package com.university.management.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retries a read-modify-save unit when the save loses an optimistic-locking race (@Version).
+ * The unit must re-read the document and reapply its changes on every call, and must not have
+ * side effects before its save. Backoff is exponential with full jitter and bounded; after the
+ * last attempt the OptimisticLockingFailureException is rethrown.
+ */
+@Component
+public class OptimisticRetry {
+
+    @Value("${concurrency.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${concurrency.retry.initial-backoff-ms:10}")
+    private long initialBackoffMillis;
+
+    @Value("${concurrency.retry.max-backoff-ms:200}")
+    private long maxBackoffMillis;
+
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public <T> T run(Supplier<T> unit) {
+        long backoff = initialBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return unit.get();
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                sleep(ThreadLocalRandom.current().nextLong(backoff + 1));
+                backoff = Math.min(backoff * 2, maxBackoffMillis);
+            }
+        }
+    }
+
+    // Version conflicts seen (each one caused a retry unless attempts were exhausted)
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    public long getExhaustedCount() {
+        return exhausted.sum();
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a concurrent update", e);
+        }
+    }
+}
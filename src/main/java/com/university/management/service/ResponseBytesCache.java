@@ -0,0 +1,271 @@
+package com.university.management.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialize-once cache for hot, rarely changing JSON responses.
+ * Each entry keeps the JSON bytes, a gzip variant (bodies of at least gzip-min-bytes) and a strong
+ * ETag; respond() negotiates Accept-Encoding and writes the stored bytes as they are, answering
+ * a matching If-None-Match with 304. Entries live in namespaces that are invalidated as a whole,
+ * and optionally expire after a TTL (ttlMillis <= 0 means until invalidated).
+ */
+@Component
+public class ResponseBytesCache {
+
+    private static final String GZIP = "gzip";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${response.cache.gzip-min-bytes:512}")
+    private int gzipMinBytes;
+
+    @Value("${response.cache.max-entries:1000}")
+    private int maxEntries;
+
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Cached response for namespace/key, built once per key at a time from the body supplier.
+     * A supplier returning null is not cached and yields null.
+     */
+    public CachedResponse get(String namespace, String key, long ttlMillis, Supplier<Object> body) {
+        String entryKey = namespace + ":" + key;
+        AtomicLong generation = generation(namespace);
+        Stats counters = stats(namespace);
+
+        CachedResponse cached = entries.get(entryKey);
+        if (cached != null && cached.isFresh(generation.get(), System.currentTimeMillis())) {
+            counters.hits.increment();
+            return cached;
+        }
+
+        CachedResponse[] built = new CachedResponse[1];
+        CachedResponse response = entries.compute(entryKey, (k, existing) -> {
+            if (existing != null && existing.isFresh(generation.get(), System.currentTimeMillis())) {
+                return existing;
+            }
+            built[0] = build(generation.get(), ttlMillis, body);
+            return built[0];
+        });
+        if (built[0] != null) {
+            counters.misses.increment();
+        } else if (response != null) {
+            counters.hits.increment();
+        }
+        if (entries.size() > maxEntries) {
+            // Some keys come from request paths; do not let them grow without bound
+            entries.clear();
+        }
+        return response;
+    }
+
+    // Drop every entry of the namespace
+    public void invalidate(String namespace) {
+        generation(namespace).incrementAndGet();
+        entries.keySet().removeIf(key -> key.startsWith(namespace + ":"));
+        stats(namespace).invalidations.increment();
+    }
+
+    /**
+     * Write the cached bytes: 304 if If-None-Match matches, otherwise the gzip variant when the
+     * client accepts it, else the plain JSON. Always Vary: Accept-Encoding.
+     */
+    public ResponseEntity<byte[]> respond(String namespace, CachedResponse response, String acceptEncoding,
+                                          String ifNoneMatch, CacheControl cacheControl) {
+        Stats counters = stats(namespace);
+        boolean gzip = response.gzipBody != null && accepts(acceptEncoding, GZIP);
+        String etag = gzip ? response.gzipEtag() : response.etag;
+
+        if (response.matches(ifNoneMatch)) {
+            counters.notModified.increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            counters.gzipped.increment();
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(response.gzipBody);
+        }
+        return builder.body(response.body);
+    }
+
+    public Map<String, Object> getMetrics(String namespace) {
+        Stats counters = stats(namespace);
+        long size = entries.keySet().stream().filter(key -> key.startsWith(namespace + ":")).count();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("entries", size);
+        metrics.put("hits", counters.hits.sum());
+        metrics.put("misses", counters.misses.sum());
+        metrics.put("notModified", counters.notModified.sum());
+        metrics.put("gzipped", counters.gzipped.sum());
+        metrics.put("invalidations", counters.invalidations.sum());
+        return metrics;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (String namespace : stats.keySet()) {
+            metrics.put(namespace, getMetrics(namespace));
+        }
+        return metrics;
+    }
+
+    private CachedResponse build(long generation, long ttlMillis, Supplier<Object> body) {
+        Object value = body.get();
+        if (value == null) {
+            return null;
+        }
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(value);
+            byte[] gzipBytes = bytes.length >= gzipMinBytes ? gzip(bytes) : null;
+            long expiresAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+            return new CachedResponse(bytes, gzipBytes, etagOf(bytes), generation, expiresAt);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cached response", e);
+        }
+    }
+
+    private AtomicLong generation(String namespace) {
+        return generations.computeIfAbsent(namespace, n -> new AtomicLong());
+    }
+
+    private Stats stats(String namespace) {
+        return stats.computeIfAbsent(namespace, n -> new Stats());
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to compress cached response", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etagOf(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // True if the Accept-Encoding header allows the coding (explicitly or via *) with q > 0
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.trim().split(";");
+            String token = params[0].trim().toLowerCase();
+            boolean allowed = true;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        allowed = Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        allowed = false;
+                    }
+                }
+            }
+            if (token.equals(coding) || token.equals("x-" + coding)) {
+                return allowed;
+            }
+            if (token.equals("*")) {
+                wildcard = allowed;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    public static class CachedResponse {
+        private final byte[] body;
+        private final byte[] gzipBody;
+        private final String etag;
+        private final long generation;
+        private final long expiresAt;
+
+        CachedResponse(byte[] body, byte[] gzipBody, String etag, long generation, long expiresAt) {
+            this.body = body;
+            this.gzipBody = gzipBody;
+            this.etag = etag;
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+        }
+
+        public byte[] getBody() { return body; }
+        public String getEtag() { return etag; }
+
+        // The gzip variant is a different representation, so it gets its own strong tag
+        String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gz\"";
+        }
+
+        boolean isFresh(long currentGeneration, long now) {
+            return generation == currentGeneration && now < expiresAt;
+        }
+
+        // If-None-Match uses weak comparison: W/ prefixes are ignored, "*" matches anything
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag) || (gzipBody != null && tag.equals(gzipEtag()))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Stats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder notModified = new LongAdder();
+        private final LongAdder gzipped = new LongAdder();
+        private final LongAdder invalidations = new LongAdder();
+    }
+}
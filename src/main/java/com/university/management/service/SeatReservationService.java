@@ -0,0 +1,280 @@
+package com.university.management.service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.university.management.model.Course;
+import com.university.management.model.SeatHold;
+
+/**
+ * Course seat reservation. A seat is taken with one conditional findAndModify on the course
+ * (availableSeats > 0 → $inc -1), or on one of its stripes for a striped course (SeatStripeService),
+ * so concurrent reservations can never push a count below zero.
+ * Every taken seat is recorded as a SeatHold keyed by application id; a HELD seat that is not
+ * confirmed before it expires is released back to the course by the sweeper.
+ */
+@Service
+public class SeatReservationService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SeatStripeService seatStripeService;
+
+    @Value("${seats.hold.ttl-minutes:1440}")
+    private long holdTtlMinutes;
+
+    @Value("${seats.hold.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    private final LongAdder reserved = new LongAdder();
+    private final LongAdder soldOut = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    // True when the course is in the catalog, i.e. its seats are accounted for
+    public boolean hasCourse(String courseName) {
+        return courseName != null && mongoTemplate.exists(new Query(Criteria.where("courseName").is(courseName)), Course.class);
+    }
+
+    /**
+     * Take a seat for an application and hold it for seats.hold.ttl-minutes.
+     * Idempotent per application: an existing HELD or CONFIRMED hold is returned as is.
+     */
+    public SeatHold hold(String courseName, String applicationId) {
+        SeatHold existing = mongoTemplate.findById(applicationId, SeatHold.class);
+        if (existing != null && !SeatHold.RELEASED.equals(existing.getStatus())) {
+            return existing;
+        }
+
+        SeatHold hold = takeSeat(courseName);
+        LocalDateTime now = LocalDateTime.now();
+        hold.setApplicationId(applicationId);
+        hold.setStatus(SeatHold.HELD);
+        hold.setHeldAt(now);
+        hold.setExpiresAt(now.plusMinutes(holdTtlMinutes));
+
+        try {
+            SeatHold saved = mongoTemplate.insert(hold);
+            reserved.increment();
+            return saved;
+        } catch (DuplicateKeyException e) {
+            // The application already has a hold document: reuse it if it was released
+            SeatHold revived = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(applicationId).and("status").is(SeatHold.RELEASED)),
+                    new Update()
+                            .set("courseId", hold.getCourseId())
+                            .set("courseName", hold.getCourseName())
+                            .set("stripe", hold.getStripe())
+                            .set("status", SeatHold.HELD)
+                            .set("heldAt", now)
+                            .set("expiresAt", hold.getExpiresAt())
+                            .unset("confirmedAt")
+                            .unset("releasedAt"),
+                    FindAndModifyOptions.options().returnNew(true), SeatHold.class);
+            if (revived != null) {
+                reserved.increment();
+                return revived;
+            }
+            // A concurrent call won the race; give our seat back and use its hold
+            returnSeat(hold.getCourseId(), hold.getStripe());
+            return mongoTemplate.findById(applicationId, SeatHold.class);
+        } catch (RuntimeException e) {
+            returnSeat(hold.getCourseId(), hold.getStripe());
+            throw e;
+        }
+    }
+
+    /**
+     * Turn the application's hold into a permanent seat, taking a fresh seat if the hold
+     * has expired or never existed. Throws IllegalStateException when the course is full.
+     */
+    public SeatHold confirm(String courseName, String applicationId) {
+        return confirmSeat(courseName, applicationId).getHold();
+    }
+
+    /**
+     * Same as confirm(), also telling whether this call did the HELD/new → CONFIRMED transition.
+     * A caller whose save then fails may release only such a seat: an already CONFIRMED seat
+     * belongs to whichever review confirmed it, which may have been saved in the meantime.
+     */
+    public Confirmation confirmSeat(String courseName, String applicationId) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            SeatHold confirmed = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(applicationId).and("status").is(SeatHold.HELD)),
+                    new Update().set("status", SeatHold.CONFIRMED).set("confirmedAt", LocalDateTime.now()),
+                    FindAndModifyOptions.options().returnNew(true), SeatHold.class);
+            if (confirmed != null) {
+                return new Confirmation(confirmed, true);
+            }
+            SeatHold existing = mongoTemplate.findById(applicationId, SeatHold.class);
+            if (existing != null && SeatHold.CONFIRMED.equals(existing.getStatus())) {
+                return new Confirmation(existing, false);
+            }
+            hold(courseName, applicationId);
+        }
+        throw new IllegalStateException("Seat for application " + applicationId + " could not be confirmed");
+    }
+
+    // Give the application's seat back to its course (no-op if it holds none)
+    public boolean release(String applicationId) {
+        SeatHold previous = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(applicationId)
+                        .and("status").in(SeatHold.HELD, SeatHold.CONFIRMED)),
+                new Update().set("status", SeatHold.RELEASED).set("releasedAt", LocalDateTime.now()),
+                SeatHold.class);
+        if (previous == null) {
+            return false;
+        }
+        returnSeat(previous.getCourseId(), previous.getStripe());
+        released.increment();
+        return true;
+    }
+
+    public SeatHold getHold(String applicationId) {
+        return mongoTemplate.findById(applicationId, SeatHold.class);
+    }
+
+    // Release HELD seats whose hold has expired; the status transition makes each release happen once
+    @Scheduled(fixedDelayString = "${seats.hold.sweep-interval-ms:60000}",
+            initialDelayString = "${seats.hold.sweep-interval-ms:60000}")
+    public int releaseExpiredHolds() {
+        int count = 0;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Criteria expiredHold = Criteria.where("status").is(SeatHold.HELD).and("expiresAt").lt(now);
+            List<SeatHold> candidates;
+            do {
+                candidates = mongoTemplate.find(new Query(expiredHold).with(Sort.by("expiresAt")).limit(sweepBatchSize),
+                        SeatHold.class);
+                for (SeatHold candidate : candidates) {
+                    SeatHold previous = mongoTemplate.findAndModify(
+                            new Query(Criteria.where("_id").is(candidate.getApplicationId())
+                                    .and("status").is(SeatHold.HELD).and("expiresAt").lt(now)),
+                            new Update().set("status", SeatHold.RELEASED).set("releasedAt", now),
+                            SeatHold.class);
+                    if (previous != null) {
+                        returnSeat(previous.getCourseId(), previous.getStripe());
+                        count++;
+                    }
+                }
+            } while (candidates.size() == sweepBatchSize);
+        } catch (Exception e) {
+            System.out.println("❌ Seat hold sweep failed: " + e.getMessage());
+        }
+        if (count > 0) {
+            expired.add(count);
+            System.out.println("🪑 Released " + count + " expired seat holds");
+        }
+        return count;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("reserved", reserved.sum());
+        metrics.put("soldOut", soldOut.sum());
+        metrics.put("released", released.sum());
+        metrics.put("expired", expired.sum());
+        metrics.put("held", mongoTemplate.count(new Query(Criteria.where("status").is(SeatHold.HELD)), SeatHold.class));
+        metrics.put("holdTtlMinutes", holdTtlMinutes);
+        return metrics;
+    }
+
+    // Conditional decrement; returns an unsaved hold naming where the seat came from
+    private SeatHold takeSeat(String courseName) {
+        Course course = mongoTemplate.findAndModify(
+                new Query(Criteria.where("courseName").is(courseName)
+                        .and("isActive").is(true)
+                        .and("availableSeats").gt(0)
+                        .and("seatStripes").not().gt(1)),
+                new Update().inc("availableSeats", -1).inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true), Course.class);
+        if (course != null) {
+            return seatFrom(course, null);
+        }
+
+        Course current = courseName == null ? null
+                : mongoTemplate.findOne(new Query(Criteria.where("courseName").is(courseName)), Course.class);
+        if (current == null) {
+            throw new IllegalArgumentException("The selected course is not available");
+        }
+        if (!Boolean.TRUE.equals(current.getIsActive())) {
+            throw new IllegalStateException("The selected course is currently not accepting applications");
+        }
+        if (SeatStripeService.isStriped(current)) {
+            Integer stripe = seatStripeService.take(current.getId(), current.getSeatStripes());
+            if (stripe != null) {
+                return seatFrom(current, stripe);
+            }
+        }
+        soldOut.increment();
+        throw new IllegalStateException("No seats available for the selected course");
+    }
+
+    private static SeatHold seatFrom(Course course, Integer stripe) {
+        SeatHold hold = new SeatHold();
+        hold.setCourseId(course.getId());
+        hold.setCourseName(course.getCourseName());
+        hold.setStripe(stripe);
+        return hold;
+    }
+
+    /*
+     * Back to the stripe it came from; to the course counter, but never above totalSeats (an admin
+     * may have shrunk the course meanwhile); or, if the course has been striped since, to a stripe.
+     */
+    private void returnSeat(String courseId, Integer stripe) {
+        if (courseId == null || (stripe != null && seatStripeService.give(courseId, stripe))) {
+            return;
+        }
+        UpdateResult result = mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(courseId).and("seatStripes").not().gt(1)
+                        .andOperator(Criteria.expr(ComparisonOperators.valueOf("availableSeats").lessThan("totalSeats")))),
+                new Update().inc("availableSeats", 1).inc("version", 1),
+                Course.class);
+        if (result.getMatchedCount() == 0) {
+            Course course = mongoTemplate.findById(courseId, Course.class);
+            if (SeatStripeService.isStriped(course)) {
+                seatStripeService.give(courseId, ThreadLocalRandom.current().nextInt(course.getSeatStripes()));
+            }
+        }
+    }
+
+    public static final class Confirmation {
+        private final SeatHold hold;
+        private final boolean confirmedNow;
+
+        Confirmation(SeatHold hold, boolean confirmedNow) {
+            this.hold = hold;
+            this.confirmedNow = confirmedNow;
+        }
+
+        public SeatHold getHold() {
+            return hold;
+        }
+
+        // True when this call confirmed the seat, false when it already was
+        public boolean isConfirmedNow() {
+            return confirmedNow;
+        }
+    }
+}
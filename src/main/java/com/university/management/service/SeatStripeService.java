@@ -0,0 +1,204 @@
+package com.university.management.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.university.management.model.Course;
+import com.university.management.model.SeatStripe;
+
+/**
+ * Striped seat counters for hot courses. A striped course (seatStripes > 1) keeps its free
+ * seats in N seat_stripes documents; a reservation decrements a random stripe and falls over
+ * to the others when it is empty, so concurrent reservations mostly touch different documents.
+ * Course.availableSeats becomes a mirror refreshed by syncCourseMirrors; read paths overlay
+ * the exact stripe total through withLiveSeats.
+ */
+@Service
+public class SeatStripeService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${seats.stripes.max:64}")
+    private int maxStripes;
+
+    public static boolean isStriped(Course course) {
+        return course != null && course.getSeatStripes() != null && course.getSeatStripes() > 1;
+    }
+
+    // Take one seat from a random stripe, trying the others in turn; returns the stripe or null when all are empty
+    public Integer take(String courseId, int stripes) {
+        int start = ThreadLocalRandom.current().nextInt(stripes);
+        for (int i = 0; i < stripes; i++) {
+            int stripe = (start + i) % stripes;
+            SeatStripe taken = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(SeatStripe.idOf(courseId, stripe)).and("available").gt(0)),
+                    new Update().inc("available", -1),
+                    SeatStripe.class);
+            if (taken != null) {
+                return stripe;
+            }
+        }
+        return null;
+    }
+
+    // Return a seat to a stripe; false if the stripe no longer exists (striping was turned off)
+    public boolean give(String courseId, int stripe) {
+        return mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(SeatStripe.idOf(courseId, stripe))),
+                new Update().inc("available", 1), SeatStripe.class).getMatchedCount() > 0;
+    }
+
+    /**
+     * Split the course's free seats across the given number of stripes.
+     * Reservations arriving between the switch and the seats landing in the stripes see the
+     * course as full, so switch modes ahead of admission traffic.
+     */
+    public Course enable(String courseId, int stripes) {
+        if (stripes < 2 || stripes > maxStripes) {
+            throw new IllegalArgumentException("Stripes must be between 2 and " + maxStripes);
+        }
+        Course current = mongoTemplate.findById(courseId, Course.class);
+        if (current == null) {
+            throw new IllegalArgumentException("Course not found");
+        }
+        if (isStriped(current)) {
+            throw new IllegalStateException("Course seats are already striped; disable striping first");
+        }
+
+        // Leftovers can only come from an interrupted earlier switch
+        mongoTemplate.remove(new Query(Criteria.where("courseId").is(courseId)), SeatStripe.class);
+        List<SeatStripe> empty = new ArrayList<>();
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            empty.add(new SeatStripe(courseId, stripe, 0));
+        }
+        mongoTemplate.insertAll(empty);
+
+        // From here on the single-counter path no longer matches this course
+        Course previous = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(courseId).and("seatStripes").not().gt(1)),
+                new Update().set("seatStripes", stripes).inc("version", 1),
+                Course.class);
+        if (previous == null) {
+            throw new IllegalStateException("Course seats were striped concurrently");
+        }
+
+        int free = previous.getAvailableSeats() == null ? 0 : Math.max(0, previous.getAvailableSeats());
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            int share = free / stripes + (stripe < free % stripes ? 1 : 0);
+            if (share > 0) {
+                give(courseId, stripe, share);
+            }
+        }
+        return withLiveSeats(mongoTemplate.findById(courseId, Course.class));
+    }
+
+    // Fold the stripes back into Course.availableSeats and drop them
+    public Course disable(String courseId) {
+        Course previous = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(courseId).and("seatStripes").gt(1)),
+                new Update().unset("seatStripes").set("availableSeats", 0).inc("version", 1),
+                Course.class);
+        if (previous == null) {
+            if (!mongoTemplate.exists(new Query(Criteria.where("_id").is(courseId)), Course.class)) {
+                throw new IllegalArgumentException("Course not found");
+            }
+            throw new IllegalStateException("Course seats are not striped");
+        }
+
+        for (int stripe = 0; stripe < previous.getSeatStripes(); stripe++) {
+            SeatStripe removed = mongoTemplate.findAndRemove(
+                    new Query(Criteria.where("_id").is(SeatStripe.idOf(courseId, stripe))), SeatStripe.class);
+            if (removed != null && removed.getAvailable() > 0) {
+                mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(courseId)),
+                        new Update().inc("availableSeats", removed.getAvailable()).inc("version", 1), Course.class);
+            }
+        }
+        return mongoTemplate.findById(courseId, Course.class);
+    }
+
+    // Remove the stripes of a deleted course
+    public void dropStripes(String courseId) {
+        mongoTemplate.remove(new Query(Criteria.where("courseId").is(courseId)), SeatStripe.class);
+    }
+
+    // Replace the mirrored availableSeats of striped courses with the live stripe totals
+    public List<Course> withLiveSeats(List<Course> courses) {
+        List<String> stripedIds = new ArrayList<>();
+        for (Course course : courses) {
+            if (isStriped(course)) {
+                stripedIds.add(course.getId());
+            }
+        }
+        if (stripedIds.isEmpty()) {
+            return courses;
+        }
+        Map<String, Integer> totals = totals(stripedIds);
+        for (Course course : courses) {
+            if (isStriped(course)) {
+                course.setAvailableSeats(totals.getOrDefault(course.getId(), 0));
+            }
+        }
+        return courses;
+    }
+
+    public Course withLiveSeats(Course course) {
+        if (isStriped(course)) {
+            withLiveSeats(List.of(course));
+        }
+        return course;
+    }
+
+    // Keep Course.availableSeats (used by the availability queries) close to the stripe totals
+    @Scheduled(fixedDelayString = "${seats.stripes.sync-interval-ms:5000}")
+    public void syncCourseMirrors() {
+        try {
+            Query striped = new Query(Criteria.where("seatStripes").gt(1));
+            striped.fields().include("_id");
+            List<String> ids = new ArrayList<>();
+            for (Course course : mongoTemplate.find(striped, Course.class)) {
+                ids.add(course.getId());
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+            Map<String, Integer> totals = totals(ids);
+            for (String id : ids) {
+                // Not versioned: the mirror is advisory and must not fail concurrent admin edits
+                mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(id).and("seatStripes").gt(1)),
+                        new Update().set("availableSeats", totals.getOrDefault(id, 0)), Course.class);
+            }
+        } catch (Exception e) {
+            System.out.println("❌ Seat stripe mirror sync failed: " + e.getMessage());
+        }
+    }
+
+    private void give(String courseId, int stripe, int seats) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(SeatStripe.idOf(courseId, stripe))),
+                new Update().inc("available", seats), SeatStripe.class);
+    }
+
+    private Map<String, Integer> totals(List<String> courseIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("courseId").in(courseIds)),
+                Aggregation.group("courseId").sum("available").as("available"));
+        Map<String, Integer> totals = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, SeatStripe.class, Document.class)) {
+            totals.put(row.getString("_id"), ((Number) row.get("available")).intValue());
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,212 @@
+package com.university.management.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.SetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.university.management.model.RolloverCheckpoint;
+import com.university.management.model.Student;
+
+/**
+ * Semester rollover: promotes every student below the final semester by one semester and
+ * recomputes the year (two semesters per year), entirely with server-side update pipelines.
+ * Work is partitioned by department and done in _id batches; only ids are read into the JVM.
+ * Each promoted student is stamped with lastRolloverTerm, and the filter skips stamped students,
+ * so a re-run or a resumed run never promotes anyone twice. Progress is checkpointed per batch
+ * in rollover_checkpoints.
+ */
+@Service
+public class SemesterRolloverService {
+
+    private static final int FINAL_SEMESTER = 8;
+    private static final String NO_DEPARTMENT = "_none";
+    private static final Pattern TERM_PATTERN = Pattern.compile("[A-Za-z0-9._/-]{1,32}");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    @Value("${rollover.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${rollover.lease-seconds:300}")
+    private long leaseSeconds;
+
+    /**
+     * Start (or resume) the rollover for a term on a background thread. A completed term is
+     * returned as is; a term already running elsewhere throws IllegalStateException.
+     */
+    public RolloverCheckpoint start(String term, String startedBy) {
+        if (term == null || !TERM_PATTERN.matcher(term).matches()) {
+            throw new IllegalArgumentException("Term must be 1-32 characters of letters, digits, '.', '_', '/' or '-'");
+        }
+        RolloverCheckpoint existing = mongoTemplate.findById(term, RolloverCheckpoint.class);
+        if (existing != null && RolloverCheckpoint.COMPLETED.equals(existing.getStatus())) {
+            return existing;
+        }
+
+        RolloverCheckpoint checkpoint = claim(term, startedBy);
+        Thread worker = new Thread(() -> run(checkpoint), "semester-rollover-" + term);
+        worker.setDaemon(true);
+        worker.start();
+        return checkpoint;
+    }
+
+    public RolloverCheckpoint getStatus(String term) {
+        return mongoTemplate.findById(term, RolloverCheckpoint.class);
+    }
+
+    // Take ownership of the term unless a live run (fresh heartbeat) holds it
+    private RolloverCheckpoint claim(String term, String startedBy) {
+        LocalDateTime now = LocalDateTime.now();
+        Criteria claimable = new Criteria().orOperator(
+                Criteria.where("status").ne(RolloverCheckpoint.RUNNING),
+                Criteria.where("heartbeatAt").lt(now.minusSeconds(leaseSeconds)));
+        Update update = new Update()
+                .set("status", RolloverCheckpoint.RUNNING)
+                .set("runId", UUID.randomUUID().toString())
+                .set("startedBy", startedBy)
+                .set("heartbeatAt", now)
+                .set("startedAt", now)
+                .unset("error")
+                .unset("finishedAt");
+        try {
+            return mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(term).andOperator(claimable)), update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), RolloverCheckpoint.class);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalStateException("Rollover for term " + term + " is already running");
+        }
+    }
+
+    private void run(RolloverCheckpoint checkpoint) {
+        String term = checkpoint.getTerm();
+        long started = System.currentTimeMillis();
+        try {
+            List<String> departments = mongoTemplate.findDistinct(new Query(), "department", Student.class, String.class)
+                    .stream().filter(department -> department != null).sorted().collect(Collectors.toList());
+            departments.add(null); // Students without a department are promoted too
+
+            for (String department : departments) {
+                String key = progressKey(department);
+                RolloverCheckpoint.DepartmentProgress progress = checkpoint.getDepartments().get(key);
+                if (progress != null && RolloverCheckpoint.DepartmentProgress.DONE.equals(progress.getStatus())) {
+                    continue;
+                }
+                promoteDepartment(checkpoint, department, key);
+            }
+
+            finish(checkpoint, new Update()
+                    .set("status", RolloverCheckpoint.COMPLETED)
+                    .set("finishedAt", LocalDateTime.now()));
+            System.out.println("✅ Semester rollover " + term + " completed in "
+                    + (System.currentTimeMillis() - started) + " ms");
+        } catch (Exception e) {
+            finish(checkpoint, new Update()
+                    .set("status", RolloverCheckpoint.FAILED)
+                    .set("error", e.getMessage())
+                    .set("finishedAt", LocalDateTime.now()));
+            System.out.println("❌ Semester rollover " + term + " failed (re-run to resume): " + e.getMessage());
+        } finally {
+            // Year is part of the typeahead results
+            try {
+                studentSearchIndex.rebuild();
+            } catch (Exception e) {
+                System.out.println("⚠️  Student search index rebuild after rollover failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void promoteDepartment(RolloverCheckpoint checkpoint, String department, String key) {
+        String term = checkpoint.getTerm();
+        Criteria eligible = Criteria.where("department").is(department)
+                .and("semester").lt(FINAL_SEMESTER)
+                .and("lastRolloverTerm").ne(term);
+
+        while (true) {
+            // Promoted students drop out of the filter, so each pass picks up the next batch
+            Query batchQuery = new Query(eligible).with(Sort.by("_id")).limit(batchSize);
+            batchQuery.fields().include("_id");
+            List<String> ids = new ArrayList<>();
+            for (Student student : mongoTemplate.find(batchQuery, Student.class)) {
+                ids.add(student.getId());
+            }
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            UpdateResult result = mongoTemplate.updateMulti(
+                    new Query(Criteria.where("_id").in(ids).and("semester").lt(FINAL_SEMESTER).and("lastRolloverTerm").ne(term)),
+                    promotion(term), Student.class);
+
+            checkpoint(checkpoint, new Update()
+                    .inc("promoted", result.getModifiedCount())
+                    .inc("departments." + key + ".promoted", result.getModifiedCount())
+                    .inc("departments." + key + ".batches", 1));
+        }
+
+        checkpoint(checkpoint, new Update()
+                .set("departments." + key + ".status", RolloverCheckpoint.DepartmentProgress.DONE)
+                .set("departments." + key + ".finishedAt", LocalDateTime.now()));
+    }
+
+    /*
+     * One $set stage, so every expression sees the pre-update semester:
+     * year = ceil((semester + 1) / 2), semester = semester + 1, version = version + 1.
+     */
+    private static AggregationUpdate promotion(String term) {
+        ArithmeticOperators.Add nextSemester = ArithmeticOperators.valueOf("semester").add(1);
+        return AggregationUpdate.from(List.of(SetOperation
+                .set("year").toValue(ConvertOperators.ToInt.toInt(
+                        ArithmeticOperators.Ceil.ceilValueOf(ArithmeticOperators.valueOf(nextSemester).divideBy(2))))
+                .and().set("semester").toValue(nextSemester)
+                .and().set("lastRolloverTerm").toValue(term)
+                .and().set("updatedAt").toValue(new Date())
+                .and().set("version").toValue(ArithmeticOperators.valueOf(
+                        ConditionalOperators.ifNull("version").then(0)).add(1))));
+    }
+
+    // Record progress and renew the lease; fails if another instance has taken the run over
+    private void checkpoint(RolloverCheckpoint checkpoint, Update update) {
+        update.set("heartbeatAt", LocalDateTime.now());
+        UpdateResult result = mongoTemplate.updateFirst(ownRun(checkpoint), update, RolloverCheckpoint.class);
+        if (result.getMatchedCount() == 0) {
+            throw new IllegalStateException("Rollover run was taken over by another instance");
+        }
+    }
+
+    private void finish(RolloverCheckpoint checkpoint, Update update) {
+        mongoTemplate.updateFirst(ownRun(checkpoint), update, RolloverCheckpoint.class);
+    }
+
+    private static Query ownRun(RolloverCheckpoint checkpoint) {
+        return new Query(Criteria.where("_id").is(checkpoint.getTerm()).and("runId").is(checkpoint.getRunId()));
+    }
+
+    // Map key for a department ('.' and '$' are not allowed in field names)
+    private static String progressKey(String department) {
+        return department == null ? NO_DEPARTMENT : department.replace('.', '_').replace('$', '_');
+    }
+}
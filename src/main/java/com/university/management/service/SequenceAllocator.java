@@ -0,0 +1,101 @@
+package com.university.management.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.university.management.model.SequenceCounter;
+
+/**
+ * Hi/lo number allocator backed by the counters collection.
+ * A node leases a block of sequence.block-size numbers with one findAndModify ($inc) and hands
+ * them out from memory with an atomic increment; only exhausting a block costs a round trip.
+ * Numbers are unique across nodes; a restart abandons the rest of its blocks, leaving small gaps.
+ * The first lease of a sequence in a process raises the counter ($max) above any number
+ * already stored under that prefix, so sequences can be introduced over existing data.
+ */
+@Service
+public class SequenceAllocator {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${sequence.block-size:20}")
+    private int blockSize;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final Map<String, Object> refillLocks = new ConcurrentHashMap<>();
+    private final Set<String> seeded = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Next number of the sequence named prefix (e.g. "CS25"); on first use it is seeded from
+     * the largest "prefix + digits" value of field in the entity's collection.
+     */
+    public long next(String prefix, Class<?> seedEntity, String seedField) {
+        while (true) {
+            Block block = blocks.get(prefix);
+            if (block != null) {
+                long number = block.next.getAndIncrement();
+                if (number <= block.last) {
+                    return number;
+                }
+            }
+            synchronized (refillLocks.computeIfAbsent(prefix, key -> new Object())) {
+                // Another thread may have refilled while this one waited
+                if (blocks.get(prefix) == block) {
+                    blocks.put(prefix, lease(prefix, seedEntity, seedField));
+                }
+            }
+        }
+    }
+
+    private Block lease(String prefix, Class<?> seedEntity, String seedField) {
+        Query counter = new Query(Criteria.where("_id").is(prefix));
+        if (!seeded.contains(prefix)) {
+            long highest = highestExisting(prefix, seedEntity, seedField);
+            mongoTemplate.upsert(counter, new Update().max("value", highest), SequenceCounter.class);
+            seeded.add(prefix);
+        }
+        SequenceCounter leased = mongoTemplate.findAndModify(counter, new Update().inc("value", blockSize),
+                FindAndModifyOptions.options().upsert(true).returnNew(true), SequenceCounter.class);
+        return new Block(leased.getValue() - blockSize + 1, leased.getValue());
+    }
+
+    // Largest numeric suffix among existing "prefix + digits" values (compared as numbers, not strings)
+    private long highestExisting(String prefix, Class<?> entity, String field) {
+        Query query = new Query(Criteria.where(field).regex("^" + Pattern.quote(prefix) + "[0-9]+$"));
+        query.fields().include(field).exclude("_id");
+        long highest = 0;
+        for (Document document : mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(entity))) {
+            String value = document.getString(field);
+            try {
+                highest = Math.max(highest, Long.parseLong(value.substring(prefix.length())));
+            } catch (NumberFormatException e) {
+                // More digits than a long holds; cannot collide with the sequence
+            }
+        }
+        return highest;
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long last;
+
+        Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.university.management.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.stereotype.Service;
+
+import com.university.management.model.Admin;
+import com.university.management.model.Application;
+import com.university.management.model.Course;
+import com.university.management.model.Student;
+
+/**
+ * Dashboard counts, each computed in one round trip: a $facet aggregation returns the total and
+ * the breakdown by a field together, and collection sizes come from estimatedDocumentCount
+ * (collection metadata, no scan). Results are kept for stats.cache.ttl-ms and computed once per
+ * key at a time, so concurrent dashboard loads share one aggregation; counts may lag by the TTL.
+ */
+@Service
+public class StatsService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${stats.cache.ttl-ms:5000}")
+    private long ttlMillis;
+
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+
+    // Applications in total and per applicationStatus
+    public Counts applicationCounts() {
+        return cached("applications", () -> countsBy(Application.class, "applicationStatus"));
+    }
+
+    // Courses in total and per isActive ("true"/"false")
+    public Counts courseCounts() {
+        return cached("courses", () -> countsBy(Course.class, "isActive"));
+    }
+
+    // Approximate document count of each main collection
+    public Map<String, Long> collectionCounts() {
+        return cached("collections", () -> {
+            Map<String, Long> counts = new HashMap<>();
+            counts.put("admins", mongoTemplate.estimatedCount(Admin.class));
+            counts.put("applications", mongoTemplate.estimatedCount(Application.class));
+            counts.put("courses", mongoTemplate.estimatedCount(Course.class));
+            counts.put("students", mongoTemplate.estimatedCount(Student.class));
+            return counts;
+        });
+    }
+
+    private Counts countsBy(Class<?> entity, String field) {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation
+                .facet(Aggregation.count().as("count")).as("total")
+                .and(Aggregation.group(field).count().as("count")).as("by"));
+        Document facets = mongoTemplate.aggregate(aggregation, entity, Document.class).getUniqueMappedResult();
+
+        long total = 0;
+        Map<String, Long> byValue = new LinkedHashMap<>();
+        if (facets != null) {
+            List<Document> totalRows = facets.getList("total", Document.class);
+            if (!totalRows.isEmpty()) {
+                total = ((Number) totalRows.get(0).get("count")).longValue();
+            }
+            for (Document row : facets.getList("by", Document.class)) {
+                byValue.put(String.valueOf(row.get("_id")), ((Number) row.get("count")).longValue());
+            }
+        }
+        return new Counts(total, byValue);
+    }
+
+    // Fresh entry or one computation per key; callers arriving meanwhile wait for it
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String key, Supplier<T> compute) {
+        Cached entry = cache.get(key);
+        if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+            return (T) entry.value;
+        }
+        return (T) cache.compute(key, (k, existing) -> existing != null && existing.expiresAt > System.currentTimeMillis()
+                ? existing
+                : new Cached(compute.get(), System.currentTimeMillis() + ttlMillis)).value;
+    }
+
+    public static class Counts {
+        private final long total;
+        private final Map<String, Long> byValue;
+
+        Counts(long total, Map<String, Long> byValue) {
+            this.total = total;
+            this.byValue = byValue;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        // Count of documents whose field equals the value (0 if none)
+        public long get(Object value) {
+            return byValue.getOrDefault(String.valueOf(value), 0L);
+        }
+    }
+
+    private static final class Cached {
+        private final Object value;
+        private final long expiresAt;
+
+        Cached(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,596 @@
+package com.university.management.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.university.management.dto.request.StudentRegistrationRequest;
+import com.university.management.dto.response.BulkUpdateResult;
+import com.university.management.dto.response.ImportJobStatus;
+import com.university.management.model.Student;
+import com.university.management.security.PasswordHashingRejectedException;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk student import (CSV with a header row, or NDJSON with one StudentRegistrationRequest per line).
+ * The upload is spooled to a temp file and processed by a background job, so the request returns
+ * at once with a job id. Rows are parsed incrementally and handled in batches: validation, one $in
+ * lookup for existing emails/roll numbers, password hashing fanned out over a small worker pool
+ * (each worker blocks on the shared bounded BCrypt pool, so login verifies keep their priority),
+ * then one unordered bulk insert. Duplicates are reported per row and never fail the batch.
+ */
+@Service
+public class StudentImportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int MAX_REPORTED_ROWS = 1000;
+    private static final int HASH_RETRIES = 3;
+    private static final List<String> CSV_COLUMNS = List.of("name", "rollNo", "email", "password", "department",
+            "year", "semester", "phone", "dateOfBirth", "bloodGroup");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private IdentityService identityService;
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    @Value("${import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${import.max-bytes:52428800}")
+    private long maxBytes;
+
+    @Value("${import.max-queued-jobs:4}")
+    private int maxQueuedJobs;
+
+    @Value("${import.retained-jobs:20}")
+    private int retainedJobs;
+
+    @Value("${import.hashing-threads:0}")
+    private int hashingThreads;
+
+    private final Map<String, Job> jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile ThreadPoolExecutor jobExecutor;
+    private volatile ExecutorService hashingPool;
+
+    /**
+     * Spool the upload and queue an import job. Throws IllegalArgumentException for an unknown
+     * format or an oversized body, IllegalStateException when too many imports are queued.
+     */
+    public ImportJobStatus startImport(InputStream body, String format) throws IOException {
+        String normalizedFormat = format == null ? "" : format.toLowerCase();
+        if (!FORMAT_CSV.equals(normalizedFormat) && !FORMAT_NDJSON.equals(normalizedFormat)) {
+            throw new IllegalArgumentException("Unsupported import format: " + format + " (expected csv or ndjson)");
+        }
+
+        Path spool = Files.createTempFile("student-import-", "." + normalizedFormat);
+        try {
+            copyLimited(body, spool);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), normalizedFormat);
+        remember(job);
+        try {
+            executor().execute(() -> run(job, spool));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            Files.deleteIfExists(spool);
+            throw new IllegalStateException("Too many imports in progress, try again later");
+        }
+        return job.toStatus();
+    }
+
+    public ImportJobStatus getStatus(String jobId) {
+        Job job = jobs.get(jobId);
+        return job == null ? null : job.toStatus();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (jobExecutor != null) {
+            jobExecutor.shutdownNow();
+        }
+        if (hashingPool != null) {
+            hashingPool.shutdownNow();
+        }
+    }
+
+    private void run(Job job, Path spool) {
+        job.status = RUNNING;
+        job.startedAt = LocalDateTime.now();
+        long started = System.currentTimeMillis();
+        try (BufferedReader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            Batch batch = new Batch();
+            if (FORMAT_CSV.equals(job.format)) {
+                readCsv(reader, job, batch);
+            } else {
+                readNdjson(reader, job, batch);
+            }
+            process(batch, job);
+            job.status = COMPLETED;
+            System.out.println("✅ Student import " + job.id + ": " + job.inserted + " inserted, " + job.duplicates
+                    + " duplicates, " + job.invalid + " invalid, " + job.failed + " failed");
+        } catch (Exception e) {
+            job.status = FAILED;
+            job.error = e.getMessage();
+            System.out.println("❌ Student import " + job.id + " failed: " + e.getMessage());
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            job.elapsedMillis = System.currentTimeMillis() - started;
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException e) {
+                System.out.println("⚠️  Could not delete import spool file " + spool + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Job job, Batch batch) throws IOException, InterruptedException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("CSV upload is empty");
+        }
+        List<String> header = BulkAcademicUpdateService.parseCsvLine(BulkAcademicUpdateService.stripBom(headerLine));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            String column = CSV_COLUMNS.stream().filter(known -> known.equalsIgnoreCase(name)).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown CSV column '" + name
+                            + "', expected: " + String.join(", ", CSV_COLUMNS)));
+            columns.put(column, i);
+        }
+
+        int rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            job.rowsRead.incrementAndGet();
+            try {
+                batch.add(rowNumber, toRequest(BulkAcademicUpdateService.parseCsvLine(line), columns), null);
+            } catch (IllegalArgumentException e) {
+                batch.add(rowNumber, null, e.getMessage());
+            }
+            if (batch.size() >= batchSize) {
+                process(batch, job);
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Job job, Batch batch) throws IOException, InterruptedException {
+        int rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            job.rowsRead.incrementAndGet();
+            try {
+                batch.add(rowNumber, objectMapper.readValue(line, StudentRegistrationRequest.class), null);
+            } catch (JsonProcessingException e) {
+                batch.add(rowNumber, null, "Invalid row: " + e.getOriginalMessage());
+            }
+            if (batch.size() >= batchSize) {
+                process(batch, job);
+            }
+        }
+    }
+
+    /*
+     * Validate, de-duplicate, hash and insert one batch. Duplicates are caught three ways:
+     * repeated within the upload, already stored ($in lookup before hashing, so no BCrypt time
+     * is spent on them) and, for races with concurrent writes, duplicate key errors from the insert.
+     */
+    private void process(Batch batch, Job job) throws InterruptedException {
+        if (batch.size() == 0) {
+            return;
+        }
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            StudentRegistrationRequest row = batch.rows.get(i);
+            int rowNumber = batch.rowNumbers.get(i);
+            if (row == null) {
+                job.report(rowNumber, null, BulkUpdateResult.INVALID, batch.errors.get(i));
+                continue;
+            }
+            trim(row);
+            Set<ConstraintViolation<StudentRegistrationRequest>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                job.report(rowNumber, row.getEmail(), BulkUpdateResult.INVALID, violations.stream()
+                        .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+            } else if (!job.seenEmails.add(row.getEmail())) {
+                job.report(rowNumber, row.getEmail(), BulkUpdateResult.DUPLICATE, "Email repeated earlier in this upload");
+            } else if (!job.seenRollNos.add(row.getRollNo())) {
+                job.report(rowNumber, row.getEmail(), BulkUpdateResult.DUPLICATE,
+                        "Roll number " + row.getRollNo() + " repeated earlier in this upload");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        Set<String> existingEmails = new HashSet<>();
+        Set<String> existingRollNos = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            List<String> emails = candidates.stream().map(i -> batch.rows.get(i).getEmail()).collect(Collectors.toList());
+            List<String> rollNos = candidates.stream().map(i -> batch.rows.get(i).getRollNo()).collect(Collectors.toList());
+            Query query = new Query(new Criteria().orOperator(
+                    Criteria.where("email").in(emails), Criteria.where("rollNo").in(rollNos)));
+            query.fields().include("email", "rollNo");
+            for (Student existing : mongoTemplate.find(query, Student.class)) {
+                existingEmails.add(existing.getEmail());
+                existingRollNos.add(existing.getRollNo());
+            }
+        }
+
+        List<Integer> toInsert = new ArrayList<>();
+        for (int i : candidates) {
+            StudentRegistrationRequest row = batch.rows.get(i);
+            if (existingEmails.contains(row.getEmail())) {
+                job.report(batch.rowNumbers.get(i), row.getEmail(), BulkUpdateResult.DUPLICATE, "Email already registered");
+            } else if (existingRollNos.contains(row.getRollNo())) {
+                job.report(batch.rowNumbers.get(i), row.getEmail(), BulkUpdateResult.DUPLICATE,
+                        "Roll number " + row.getRollNo() + " already exists");
+            } else {
+                toInsert.add(i);
+            }
+        }
+
+        // Hash in parallel; each worker waits on the shared encoder pool
+        List<Future<String>> hashes = new ArrayList<>();
+        for (int i : toInsert) {
+            String rawPassword = batch.rows.get(i).getPassword();
+            hashes.add(hashingPool().submit(() -> encodeWithRetry(rawPassword)));
+        }
+
+        List<Student> students = new ArrayList<>();
+        List<Integer> studentRows = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int position = 0; position < toInsert.size(); position++) {
+            int i = toInsert.get(position);
+            StudentRegistrationRequest row = batch.rows.get(i);
+            try {
+                students.add(toStudent(row, hashes.get(position).get(), now));
+                studentRows.add(i);
+            } catch (ExecutionException e) {
+                job.report(batch.rowNumbers.get(i), row.getEmail(), BulkUpdateResult.FAILED,
+                        "Password hashing failed: " + e.getCause().getMessage());
+            }
+        }
+
+        insert(students, studentRows, batch, job);
+        batch.clear();
+    }
+
+    private void insert(List<Student> students, List<Integer> studentRows, Batch batch, Job job) {
+        if (students.isEmpty()) {
+            return;
+        }
+        Map<Integer, BulkWriteError> errors = new HashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Student.class).insert(students).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error);
+            }
+        }
+
+        List<Student> inserted = new ArrayList<>();
+        for (int position = 0; position < students.size(); position++) {
+            BulkWriteError error = errors.get(position);
+            Student student = students.get(position);
+            int rowNumber = batch.rowNumbers.get(studentRows.get(position));
+            if (error == null) {
+                inserted.add(student);
+            } else if (error.getCode() == DUPLICATE_KEY) {
+                job.report(rowNumber, student.getEmail(), BulkUpdateResult.DUPLICATE, error.getMessage());
+            } else {
+                job.report(rowNumber, student.getEmail(), BulkUpdateResult.FAILED, error.getMessage());
+            }
+        }
+
+        job.inserted.addAndGet(inserted.size());
+        identityService.syncNewStudents(inserted);
+        inserted.forEach(studentSearchIndex::put);
+    }
+
+    // Back off and retry when the shared hashing pool sheds load (login traffic comes first)
+    private String encodeWithRetry(String rawPassword) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return passwordEncoder.encode(rawPassword);
+            } catch (PasswordHashingRejectedException e) {
+                if (attempt >= HASH_RETRIES) {
+                    throw e;
+                }
+                Thread.sleep(200L * attempt);
+            }
+        }
+    }
+
+    private static Student toStudent(StudentRegistrationRequest row, String passwordHash, LocalDateTime now) {
+        Student student = new Student();
+        // Assign the id up front so identity and search index entries can be written after the bulk insert
+        student.setId(new ObjectId().toHexString());
+        student.setVersion(0L); // Bulk inserts do not initialize @Version
+        student.setName(row.getName());
+        student.setRollNo(row.getRollNo());
+        student.setEmail(row.getEmail());
+        student.setPassword(passwordHash);
+        student.setDepartment(row.getDepartment());
+        student.setYear(row.getYear());
+        student.setSemester(row.getSemester());
+        student.setPhone(row.getPhone());
+        student.setDateOfBirth(row.getDateOfBirth());
+        student.setBloodGroup(row.getBloodGroup());
+        student.setCreatedAt(now);
+        student.setUpdatedAt(now);
+        return student;
+    }
+
+    private static void trim(StudentRegistrationRequest row) {
+        if (row.getEmail() != null) {
+            row.setEmail(row.getEmail().trim());
+        }
+        if (row.getRollNo() != null) {
+            row.setRollNo(row.getRollNo().trim());
+        }
+        if (row.getName() != null) {
+            row.setName(row.getName().trim());
+        }
+    }
+
+    private static StudentRegistrationRequest toRequest(List<String> cells, Map<String, Integer> columns) {
+        StudentRegistrationRequest row = new StudentRegistrationRequest();
+        row.setName(cell(cells, columns, "name"));
+        row.setRollNo(cell(cells, columns, "rollNo"));
+        row.setEmail(cell(cells, columns, "email"));
+        row.setPassword(cell(cells, columns, "password"));
+        row.setDepartment(cell(cells, columns, "department"));
+        row.setYear(toInteger(cell(cells, columns, "year"), "year"));
+        row.setSemester(toInteger(cell(cells, columns, "semester"), "semester"));
+        row.setPhone(cell(cells, columns, "phone"));
+        String dateOfBirth = cell(cells, columns, "dateOfBirth");
+        try {
+            row.setDateOfBirth(dateOfBirth == null ? null : LocalDate.parse(dateOfBirth));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid dateOfBirth (expected yyyy-MM-dd): " + dateOfBirth);
+        }
+        row.setBloodGroup(cell(cells, columns, "bloodGroup"));
+        return row;
+    }
+
+    private static String cell(List<String> cells, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= cells.size()) {
+            return null;
+        }
+        String value = cells.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer toInteger(String value, String column) {
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private void copyLimited(InputStream body, Path target) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new IllegalArgumentException("Upload exceeds the " + maxBytes + " byte import limit");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    // Keep the most recent jobs only; running and queued jobs are never evicted
+    private void remember(Job job) {
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            Iterator<Job> oldest = jobs.values().iterator();
+            while (jobs.size() > retainedJobs && oldest.hasNext()) {
+                Job candidate = oldest.next();
+                if (COMPLETED.equals(candidate.status) || FAILED.equals(candidate.status)) {
+                    oldest.remove();
+                }
+            }
+        }
+    }
+
+    // One import at a time; a few more may wait in the queue
+    private ThreadPoolExecutor executor() {
+        if (jobExecutor == null) {
+            synchronized (this) {
+                if (jobExecutor == null) {
+                    jobExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                            new LinkedBlockingQueue<>(maxQueuedJobs), daemonThreads("student-import"));
+                }
+            }
+        }
+        return jobExecutor;
+    }
+
+    private ExecutorService hashingPool() {
+        if (hashingPool == null) {
+            synchronized (this) {
+                if (hashingPool == null) {
+                    int threads = hashingThreads > 0 ? hashingThreads
+                            : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+                    hashingPool = Executors.newFixedThreadPool(threads, daemonThreads("student-import-hash"));
+                }
+            }
+        }
+        return hashingPool;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Rows buffered for the next batch
+    private static final class Batch {
+        private final List<StudentRegistrationRequest> rows = new ArrayList<>();
+        private final List<Integer> rowNumbers = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+
+        void add(int rowNumber, StudentRegistrationRequest row, String error) {
+            rows.add(row);
+            rowNumbers.add(rowNumber);
+            errors.add(error);
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        void clear() {
+            rows.clear();
+            rowNumbers.clear();
+            errors.clear();
+        }
+    }
+
+    // Live progress of one import; counters are read by status requests while the job runs
+    private static final class Job {
+        private final String id;
+        private final String format;
+        private volatile String status = QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile long elapsedMillis;
+        private volatile String error;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final AtomicLong invalid = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<BulkUpdateResult.RowResult> rows = Collections.synchronizedList(new ArrayList<>());
+        private final Set<String> seenEmails = new HashSet<>();
+        private final Set<String> seenRollNos = new HashSet<>();
+
+        private Job(String id, String format) {
+            this.id = id;
+            this.format = format;
+        }
+
+        void report(int rowNumber, String key, String status, String message) {
+            if (BulkUpdateResult.DUPLICATE.equals(status)) {
+                duplicates.incrementAndGet();
+            } else if (BulkUpdateResult.INVALID.equals(status)) {
+                invalid.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+            if (rows.size() < MAX_REPORTED_ROWS) {
+                rows.add(new BulkUpdateResult.RowResult(rowNumber, key, status, message));
+            }
+        }
+
+        ImportJobStatus toStatus() {
+            ImportJobStatus status = new ImportJobStatus();
+            status.setJobId(id);
+            status.setStatus(this.status);
+            status.setFormat(format);
+            status.setRowsRead(rowsRead.get());
+            status.setInserted(inserted.get());
+            status.setDuplicates(duplicates.get());
+            status.setInvalid(invalid.get());
+            status.setFailed(failed.get());
+            status.setStartedAt(startedAt);
+            status.setFinishedAt(finishedAt);
+            status.setElapsedMillis(finishedAt == null && startedAt != null
+                    ? Duration.between(startedAt, LocalDateTime.now()).toMillis() : elapsedMillis);
+            status.setError(error);
+            synchronized (rows) {
+                status.setRows(new ArrayList<>(rows));
+            }
+            return status;
+        }
+    }
+}
@@ -0,0 +1,487 @@
+package com.university.management.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.university.management.model.Application;
+import com.university.management.model.ProvisioningJob;
+import com.university.management.model.Student;
+import com.university.management.repository.StudentRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Creates student accounts for approved applications. With provisioning.async (default) an
+ * approval only queues a job in provisioning_jobs; up to provisioning.workers threads claim jobs
+ * with a findAndModify lease, create the account (BCrypt and the Mongo writes happen here) and
+ * retry failures with exponential backoff until max-attempts, after which the job is DEAD until
+ * an admin retries it. A lease that expires (crashed node, stuck worker) makes the job claimable
+ * again, or DEAD once it has used max-attempts; account creation is idempotent by email, so a
+ * repeated attempt finds the first account. The approval and its job are separate writes, so a
+ * periodic sweep queues recently approved applications that have neither a job nor a student
+ * (the node died between the two).
+ */
+@Service
+public class StudentProvisioningService {
+
+    private static final long MAX_BACKOFF_FACTOR = 64;
+
+    // Leaves approvals whose job is still being queued by the reviewing request to that request
+    private static final long SWEEP_GRACE_SECONDS = 60;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private IdentityService identityService;
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    @Autowired
+    private SequenceAllocator sequenceAllocator;
+
+    @Value("${provisioning.async:true}")
+    private boolean async;
+
+    @Value("${provisioning.workers:4}")
+    private int workers;
+
+    @Value("${provisioning.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${provisioning.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${provisioning.retry-backoff-ms:5000}")
+    private long retryBackoffMillis;
+
+    @Value("${provisioning.sweep-window-hours:168}")
+    private long sweepWindowHours;
+
+    private volatile ExecutorService workerPool;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final LongAdder provisioned = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    // Student account for an approved application: queued when provisioning.async, otherwise created inline
+    public void provision(Application application) {
+        if (async) {
+            enqueue(List.of(application.getId()));
+        } else {
+            createStudent(application);
+        }
+    }
+
+    /**
+     * Queue one job per application with a single bulk upsert and wake the workers.
+     * An application that already has a job keeps it (a DEAD job is restarted through retry()).
+     */
+    public void enqueue(Collection<String> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProvisioningJob.class);
+        for (String applicationId : applicationIds) {
+            bulk.upsert(new Query(Criteria.where("_id").is(applicationId)), new Update()
+                    .setOnInsert("status", ProvisioningJob.PENDING)
+                    .setOnInsert("attempts", 0)
+                    .setOnInsert("nextAttemptAt", now)
+                    .setOnInsert("createdAt", now)
+                    .setOnInsert("updatedAt", now));
+        }
+        bulk.execute();
+        wake(applicationIds.size());
+    }
+
+    public Optional<ProvisioningJob> getJob(String applicationId) {
+        return Optional.ofNullable(mongoTemplate.findById(applicationId, ProvisioningJob.class));
+    }
+
+    // Put a dead-lettered job back in the queue with a fresh attempt budget
+    public ProvisioningJob retry(String applicationId) {
+        ProvisioningJob job = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(applicationId).and("status").is(ProvisioningJob.DEAD)),
+                new Update().set("status", ProvisioningJob.PENDING).set("attempts", 0)
+                        .set("nextAttemptAt", LocalDateTime.now()).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true), ProvisioningJob.class);
+        if (job == null) {
+            if (mongoTemplate.findById(applicationId, ProvisioningJob.class) == null) {
+                throw new IllegalArgumentException("No provisioning job for application " + applicationId);
+            }
+            throw new IllegalStateException("Only dead-lettered provisioning jobs can be retried");
+        }
+        wake(1);
+        return job;
+    }
+
+    // Picks up jobs queued by other nodes, due retries and expired leases
+    @Scheduled(fixedDelayString = "${provisioning.poll-interval-ms:5000}",
+            initialDelayString = "${provisioning.poll-interval-ms:5000}")
+    public void poll() {
+        if (!async) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (mongoTemplate.exists(new Query(due(now)), ProvisioningJob.class)
+                    || mongoTemplate.exists(new Query(expiredLease(now)), ProvisioningJob.class)) {
+                wake(workers);
+            }
+        } catch (Exception e) {
+            System.out.println("❌ Provisioning queue poll failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queue approved applications reviewed within provisioning.sweep-window-hours that have no
+     * job and no student account. Returns the number queued.
+     */
+    @Scheduled(fixedDelayString = "${provisioning.sweep-interval-ms:60000}",
+            initialDelayString = "${provisioning.sweep-interval-ms:60000}")
+    public int sweepUnqueuedApprovals() {
+        if (!async) {
+            return 0;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Query approved = new Query(Criteria.where("applicationStatus").is("APPROVED")
+                    .and("reviewedAt").gte(now.minusHours(sweepWindowHours)).lte(now.minusSeconds(SWEEP_GRACE_SECONDS)));
+            approved.fields().include("email");
+            Map<String, String> emails = new LinkedHashMap<>();
+            for (Application application : mongoTemplate.find(approved, Application.class)) {
+                emails.put(application.getId(), application.getEmail());
+            }
+            if (emails.isEmpty()) {
+                return 0;
+            }
+
+            Query jobs = new Query(Criteria.where("_id").in(emails.keySet()));
+            jobs.fields().include("_id");
+            for (ProvisioningJob job : mongoTemplate.find(jobs, ProvisioningJob.class)) {
+                emails.remove(job.getApplicationId());
+            }
+            Query students = new Query(Criteria.where("email").in(emails.values()));
+            students.fields().include("email");
+            Set<String> provisionedEmails = new HashSet<>();
+            for (Student student : mongoTemplate.find(students, Student.class)) {
+                provisionedEmails.add(student.getEmail());
+            }
+            emails.values().removeIf(provisionedEmails::contains);
+
+            if (!emails.isEmpty()) {
+                enqueue(emails.keySet());
+                System.out.println("🔁 Queued provisioning for " + emails.size() + " approved application(s) without a job");
+            }
+            return emails.size();
+        } catch (Exception e) {
+            System.out.println("❌ Provisioning sweep failed: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workerPool != null) {
+            workerPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Create the student account for an approved application, or return the existing one
+     * (matched by email). Runs on a worker in async mode, inline otherwise.
+     */
+    public Student createStudent(Application application) {
+        try {
+            // Check if student already exists
+            Optional<Student> existing = studentRepository.findByEmail(application.getEmail());
+            if (existing.isPresent()) {
+                System.out.println("⚠️  Student account already exists for: " + application.getEmail());
+                return existing.get();
+            }
+
+            // Generate student ID and temporary password
+            String rollNo = generateRollNumber();
+            String tempPassword = generateTemporaryPassword();
+
+            // Create new student with fields that match the Student model
+            Student student = new Student();
+            student.setName(application.getFullName());
+            student.setRollNo(rollNo);
+            student.setEmail(application.getEmail());
+            student.setPhone(application.getPhoneNumber());
+            student.setPassword(passwordEncoder.encode(tempPassword));
+
+            // Map desired course to department (simplified mapping)
+            String department = mapCourseToDepartment(application.getDesiredCourse());
+            student.setDepartment(department);
+
+            // Set default academic values
+            student.setYear(1); // Default to first year
+            student.setSemester(1); // Default to first semester
+
+            // Save student
+            Student savedStudent = studentRepository.save(student);
+            identityService.syncStudent(savedStudent);
+            studentSearchIndex.put(savedStudent);
+
+            // Log student creation to console
+            System.out.println("👤 [CONSOLE LOG] Student Account Created:");
+            System.out.println("   Roll Number: " + rollNo);
+            System.out.println("   Name: " + student.getName());
+            System.out.println("   Email: " + student.getEmail());
+            System.out.println("   Department: " + student.getDepartment());
+            System.out.println("   Temporary Password: " + tempPassword);
+
+            return savedStudent;
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create student account: " + e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        Map<String, Object> jobs = new LinkedHashMap<>();
+        for (String status : new String[] { ProvisioningJob.PENDING, ProvisioningJob.RUNNING,
+                ProvisioningJob.DONE, ProvisioningJob.DEAD }) {
+            jobs.put(status, 0L);
+        }
+        Aggregation byStatus = Aggregation.newAggregation(Aggregation.group("status").count().as("count"));
+        for (Document row : mongoTemplate.aggregate(byStatus, ProvisioningJob.class, Document.class)) {
+            jobs.put(String.valueOf(row.get("_id")), ((Number) row.get("count")).longValue());
+        }
+        metrics.put("async", async);
+        metrics.put("jobs", jobs);
+        metrics.put("activeWorkers", activeWorkers.get());
+        metrics.put("workers", workers);
+        metrics.put("provisioned", provisioned.sum());
+        metrics.put("retried", retried.sum());
+        metrics.put("deadLettered", deadLettered.sum());
+        metrics.put("maxAttempts", maxAttempts);
+        return metrics;
+    }
+
+    /**
+     * Map course name to department (simplified mapping)
+     * Also used by ApplicationBatchReviewService.
+     */
+    static String mapCourseToDepartment(String desiredCourse) {
+        if (desiredCourse == null) return "General";
+
+        String course = desiredCourse.toLowerCase();
+        if (course.contains("computer") || course.contains("software") || course.contains("it")) {
+            return "Computer Science";
+        } else if (course.contains("electronic") || course.contains("electrical")) {
+            return "Electronics";
+        } else if (course.contains("mechanical")) {
+            return "Mechanical";
+        } else if (course.contains("business") || course.contains("mba") || course.contains("management")) {
+            return "Management";
+        } else if (course.contains("civil")) {
+            return "Civil";
+        } else {
+            return "General";
+        }
+    }
+
+    /**
+     * Generate unique roll number (next number of the year's sequence)
+     * Also used by ApplicationBatchReviewService.
+     */
+    String generateRollNumber() {
+        String year = String.valueOf(LocalDateTime.now().getYear());
+        long number = sequenceAllocator.next(year, Student.class, "rollNo");
+        return year + String.format("%04d", number);
+    }
+
+    /**
+     * Generate temporary password
+     * Also used by ApplicationBatchReviewService.
+     */
+    static String generateTemporaryPassword() {
+        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+        StringBuilder password = new StringBuilder();
+        Random random = new Random();
+        for (int i = 0; i < 8; i++) {
+            password.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return password.toString();
+    }
+
+    // Start up to wanted more workers, never more than provisioning.workers at a time
+    private void wake(int wanted) {
+        int started = 0;
+        while (started < wanted) {
+            int running = activeWorkers.get();
+            if (running >= workers) {
+                return;
+            }
+            if (activeWorkers.compareAndSet(running, running + 1)) {
+                try {
+                    workerPool().execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    activeWorkers.decrementAndGet();
+                    return;
+                }
+                started++;
+            }
+        }
+    }
+
+    // Claim and run jobs until none is claimable
+    private void drain() {
+        try {
+            ProvisioningJob job;
+            while ((job = claim()) != null) {
+                run(job);
+            }
+        } catch (Exception e) {
+            System.out.println("❌ Provisioning worker stopped: " + e.getMessage());
+        } finally {
+            activeWorkers.decrementAndGet();
+        }
+    }
+
+    // Oldest due job first, then jobs whose lease has expired; every claim counts as an attempt
+    private ProvisioningJob claim() {
+        LocalDateTime now = LocalDateTime.now();
+        Update lease = new Update()
+                .set("status", ProvisioningJob.RUNNING)
+                .set("leaseToken", UUID.randomUUID().toString())
+                .set("leaseExpiresAt", now.plusSeconds(leaseSeconds))
+                .set("updatedAt", now)
+                .inc("attempts", 1);
+        FindAndModifyOptions returnNew = FindAndModifyOptions.options().returnNew(true);
+        ProvisioningJob job = mongoTemplate.findAndModify(new Query(due(now)).with(Sort.by("nextAttemptAt")),
+                lease, returnNew, ProvisioningJob.class);
+        if (job == null) {
+            deadLetterExpiredLeases(now);
+            job = mongoTemplate.findAndModify(
+                    new Query(expiredLease(now).and("attempts").lt(maxAttempts)).with(Sort.by("leaseExpiresAt")),
+                    lease, returnNew, ProvisioningJob.class);
+        }
+        return job;
+    }
+
+    // A job whose last allowed attempt lost its lease (worker crashed or hung) is not leased again
+    private void deadLetterExpiredLeases(LocalDateTime now) {
+        long dead = mongoTemplate.updateMulti(new Query(expiredLease(now).and("attempts").gte(maxAttempts)),
+                new Update().set("status", ProvisioningJob.DEAD)
+                        .set("lastError", "Lease expired on the last of " + maxAttempts + " attempts")
+                        .set("updatedAt", now)
+                        .unset("leaseToken")
+                        .unset("leaseExpiresAt"),
+                ProvisioningJob.class).getModifiedCount();
+        if (dead > 0) {
+            deadLettered.add(dead);
+            System.out.println("☠️  " + dead + " provisioning job(s) dead-lettered after their final lease expired");
+        }
+    }
+
+    private void run(ProvisioningJob job) {
+        try {
+            Application application = mongoTemplate.findById(job.getApplicationId(), Application.class);
+            if (application == null || !"APPROVED".equals(application.getApplicationStatus())) {
+                // Rejected or removed after the approval was queued: nothing to provision
+                finish(job, new Update().set("status", ProvisioningJob.DONE)
+                        .set("completedAt", LocalDateTime.now())
+                        .set("lastError", "Application is no longer approved"));
+                return;
+            }
+            Student student = createStudent(application);
+            finish(job, new Update().set("status", ProvisioningJob.DONE)
+                    .set("completedAt", LocalDateTime.now())
+                    .set("studentId", student.getId())
+                    .set("rollNo", student.getRollNo())
+                    .unset("lastError"));
+            provisioned.increment();
+        } catch (Exception e) {
+            if (job.getAttempts() >= maxAttempts) {
+                finish(job, new Update().set("status", ProvisioningJob.DEAD).set("lastError", e.getMessage()));
+                deadLettered.increment();
+                System.out.println("☠️  Provisioning of application " + job.getApplicationId() + " dead-lettered after "
+                        + job.getAttempts() + " attempts: " + e.getMessage());
+            } else {
+                long factor = Math.min(MAX_BACKOFF_FACTOR, 1L << Math.min(job.getAttempts() - 1, 30));
+                finish(job, new Update().set("status", ProvisioningJob.PENDING)
+                        .set("nextAttemptAt", LocalDateTime.now().plus(retryBackoffMillis * factor, ChronoUnit.MILLIS))
+                        .set("lastError", e.getMessage()));
+                retried.increment();
+            }
+        }
+    }
+
+    // Only the holder of the current lease may move the job on; a stale worker's result is dropped
+    private void finish(ProvisioningJob job, Update update) {
+        update.set("updatedAt", LocalDateTime.now()).unset("leaseToken").unset("leaseExpiresAt");
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(job.getApplicationId())
+                .and("status").is(ProvisioningJob.RUNNING).and("leaseToken").is(job.getLeaseToken())),
+                update, ProvisioningJob.class);
+    }
+
+    private static Criteria due(LocalDateTime now) {
+        return Criteria.where("status").is(ProvisioningJob.PENDING).and("nextAttemptAt").lte(now);
+    }
+
+    private static Criteria expiredLease(LocalDateTime now) {
+        return Criteria.where("status").is(ProvisioningJob.RUNNING).and("leaseExpiresAt").lt(now);
+    }
+
+    private ExecutorService workerPool() {
+        if (workerPool == null) {
+            synchronized (this) {
+                if (workerPool == null) {
+                    AtomicInteger counter = new AtomicInteger();
+                    workerPool = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+                        Thread thread = new Thread(runnable, "student-provisioning-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return workerPool;
+    }
+}
@@ -0,0 +1,402 @@
+package com.university.management.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.university.management.dto.response.StudentSearchResult;
+import com.university.management.model.Student;
+
+/**
+ * In-memory typeahead index over student name, roll number and email.
+ * Queries of three or more characters intersect trigram posting sets and are confirmed with
+ * a substring check ("contains" match); one- and two-character queries match word prefixes
+ * through a sorted map. The index is rebuilt from a cursor scan at startup and
+ * kept current by the student write paths; while it is building, or when the collection
+ * outgrows search.index.max-students, lookups fall back to a regex query.
+ */
+@Service
+public class StudentSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final int MAX_FIELD_LENGTH = 64;
+    private static final int MAX_RESULTS = 50;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${search.index.max-students:200000}")
+    private int maxStudents;
+
+    @Value("${search.index.batch-size:1000}")
+    private int batchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Snapshot current = new Snapshot();
+    private Map<String, Entry> pendingDuringRebuild;
+    private boolean ready;
+    private boolean truncated;
+
+    private volatile long lastRebuildMillis = -1;
+    private volatile long lastRebuildAt;
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong fallbackLookups = new AtomicLong();
+    private final AtomicLong lookupNanos = new AtomicLong();
+
+    /**
+     * Rebuild from a cursor scan of students-SB. Writes that arrive during the scan are
+     * recorded and replayed onto the new snapshot before it replaces the old one.
+     */
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Snapshot fresh = new Snapshot();
+        boolean overflow = false;
+        Query query = new Query().with(Sort.by("_id")).cursorBatchSize(batchSize);
+        query.fields().include("name", "rollNo", "email", "department", "year");
+
+        try (Stream<Student> students = mongoTemplate.stream(query, Student.class)) {
+            for (Student student : (Iterable<Student>) students::iterator) {
+                if (fresh.entries.size() >= maxStudents) {
+                    overflow = true;
+                    break;
+                }
+                fresh.put(Entry.of(student));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, Entry> pending : pendingDuringRebuild.entrySet()) {
+                if (pending.getValue() == null) {
+                    fresh.remove(pending.getKey());
+                } else if (fresh.entries.size() < maxStudents || fresh.entries.containsKey(pending.getKey())) {
+                    fresh.put(pending.getValue());
+                } else {
+                    overflow = true;
+                }
+            }
+            pendingDuringRebuild = null;
+            current = overflow ? new Snapshot() : fresh;
+            truncated = overflow;
+            ready = !overflow;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        lastRebuildMillis = System.currentTimeMillis() - started;
+        lastRebuildAt = System.currentTimeMillis();
+        if (overflow) {
+            System.out.println("⚠️  Student search index disabled: more than " + maxStudents
+                    + " students, lookups use the database");
+        }
+        return overflow ? 0 : fresh.entries.size();
+    }
+
+    // Add or refresh a student after a write
+    public void put(Student student) {
+        if (student == null || student.getId() == null) {
+            return;
+        }
+        Entry entry = Entry.of(student);
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.put(entry.id, entry);
+            }
+            if (ready && (current.entries.size() < maxStudents || current.entries.containsKey(entry.id))) {
+                current.put(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drop a deleted student
+    public void remove(String studentId) {
+        if (studentId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.put(studentId, null);
+            }
+            current.remove(studentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Students whose name, roll number or email contains the query (case-insensitive),
+     * ordered by name and capped at limit (max 50).
+     */
+    public List<StudentSearchResult> search(String q, int limit) {
+        String needle = normalize(q);
+        int max = Math.max(1, Math.min(limit, MAX_RESULTS));
+        if (needle.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        long started = System.nanoTime();
+        lookups.incrementAndGet();
+        List<Entry> matches;
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                matches = null;
+            } else {
+                matches = current.find(needle);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (matches == null) {
+            fallbackLookups.incrementAndGet();
+            return searchDatabase(needle, max);
+        }
+
+        matches.sort((a, b) -> a.name.compareTo(b.name));
+        List<StudentSearchResult> results = new ArrayList<>();
+        for (Entry entry : matches.subList(0, Math.min(max, matches.size()))) {
+            results.add(entry.toResult());
+        }
+        lookupNanos.addAndGet(System.nanoTime() - started);
+        return results;
+    }
+
+    // Metrics for /system/student-search
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            metrics.put("ready", ready);
+            metrics.put("truncated", truncated);
+            metrics.put("students", current.entries.size());
+            metrics.put("grams", current.grams.size());
+            metrics.put("prefixes", current.prefixes.size());
+            metrics.put("postings", current.postings);
+        } finally {
+            lock.readLock().unlock();
+        }
+        metrics.put("maxStudents", maxStudents);
+        metrics.put("lastRebuildMillis", lastRebuildMillis);
+        metrics.put("lastRebuildAt", lastRebuildAt);
+        long served = lookups.get() - fallbackLookups.get();
+        metrics.put("lookups", lookups.get());
+        metrics.put("fallbackLookups", fallbackLookups.get());
+        metrics.put("averageLookupMicros", served == 0 ? 0.0 : lookupNanos.get() / 1000.0 / served);
+        return metrics;
+    }
+
+    // Contains-match straight against the collection, used until the index is ready
+    private List<StudentSearchResult> searchDatabase(String needle, int max) {
+        String pattern = ".*" + Pattern.quote(needle) + ".*";
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("name").regex(pattern, "i"),
+                Criteria.where("rollNo").regex(pattern, "i"),
+                Criteria.where("email").regex(pattern, "i")))
+                .with(Sort.by("name"))
+                .limit(max);
+        query.fields().include("name", "rollNo", "email", "department", "year");
+
+        List<StudentSearchResult> results = new ArrayList<>();
+        for (Student student : mongoTemplate.find(query, Student.class)) {
+            results.add(Entry.of(student).toResult());
+        }
+        return results;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_FIELD_LENGTH ? normalized.substring(0, MAX_FIELD_LENGTH) : normalized;
+    }
+
+    /*
+     * One generation of the index. Posting sets hold student ids; each entry remembers its
+     * keys so an update or delete only touches its own postings.
+     */
+    private static final class Snapshot {
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final Map<String, Set<String>> grams = new HashMap<>();
+        private final NavigableMap<String, Set<String>> prefixes = new TreeMap<>();
+        private long postings;
+
+        void put(Entry entry) {
+            remove(entry.id);
+            entries.put(entry.id, entry);
+            for (String gram : entry.grams()) {
+                if (grams.computeIfAbsent(gram, g -> new HashSet<>()).add(entry.id)) {
+                    postings++;
+                }
+            }
+            for (String word : entry.words()) {
+                if (prefixes.computeIfAbsent(word, w -> new HashSet<>()).add(entry.id)) {
+                    postings++;
+                }
+            }
+        }
+
+        void remove(String id) {
+            Entry previous = entries.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String gram : previous.grams()) {
+                postings -= detach(grams, gram, id);
+            }
+            for (String word : previous.words()) {
+                postings -= detach(prefixes, word, id);
+            }
+        }
+
+        List<Entry> find(String needle) {
+            Set<String> candidates = new HashSet<>();
+            if (needle.length() < GRAM) {
+                // Short queries: words starting with the needle
+                for (Set<String> ids : prefixes.subMap(needle, true, needle + Character.MAX_VALUE, false).values()) {
+                    candidates.addAll(ids);
+                }
+            } else {
+                // Intersect starting from the rarest trigram
+                List<Set<String>> postingSets = new ArrayList<>();
+                for (int i = 0; i + GRAM <= needle.length(); i++) {
+                    Set<String> ids = grams.get(needle.substring(i, i + GRAM));
+                    if (ids == null) {
+                        return new ArrayList<>();
+                    }
+                    postingSets.add(ids);
+                }
+                postingSets.sort((a, b) -> Integer.compare(a.size(), b.size()));
+                candidates.addAll(postingSets.get(0));
+                for (int i = 1; i < postingSets.size() && !candidates.isEmpty(); i++) {
+                    candidates.retainAll(postingSets.get(i));
+                }
+            }
+
+            List<Entry> matches = new ArrayList<>();
+            for (String id : candidates) {
+                Entry entry = entries.get(id);
+                if (entry != null && entry.matches(needle)) {
+                    matches.add(entry);
+                }
+            }
+            return matches;
+        }
+
+        private static int detach(Map<String, Set<String>> index, String key, String id) {
+            Set<String> ids = index.get(key);
+            if (ids == null || !ids.remove(id)) {
+                return 0;
+            }
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+            return 1;
+        }
+    }
+
+    private static final class Entry {
+        private final String id;
+        private final String name;
+        private final String rollNo;
+        private final String email;
+        private final String department;
+        private final Integer year;
+        private final String[] keys;
+
+        private Entry(Student student) {
+            this.id = student.getId();
+            this.name = student.getName() == null ? "" : student.getName();
+            this.rollNo = student.getRollNo();
+            this.email = student.getEmail();
+            this.department = student.getDepartment();
+            this.year = student.getYear();
+            this.keys = new String[] { normalize(name), normalize(rollNo), normalize(email) };
+        }
+
+        static Entry of(Student student) {
+            return new Entry(student);
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (String key : keys) {
+                for (int i = 0; i + GRAM <= key.length(); i++) {
+                    grams.add(key.substring(i, i + GRAM));
+                }
+            }
+            return grams;
+        }
+
+        // Name words plus the whole roll number and email, for short-prefix lookups
+        Set<String> words() {
+            Set<String> words = new HashSet<>();
+            for (String word : keys[0].split("\\s+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+            for (int i = 1; i < keys.length; i++) {
+                if (!keys[i].isEmpty()) {
+                    words.add(keys[i]);
+                }
+            }
+            return words;
+        }
+
+        boolean matches(String needle) {
+            for (String key : keys) {
+                if (key.contains(needle)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        StudentSearchResult toResult() {
+            return new StudentSearchResult(id, name, rollNo, email, department, year);
+        }
+    }
+}
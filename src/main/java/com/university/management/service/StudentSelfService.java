@@ -1,16 +1,21 @@
 package com.university.management.service;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import com.university.management.dto.request.StudentBasicUpdateDto;
 import com.university.management.dto.response.ApiResponse;
 import com.university.management.model.Student;
 import com.university.management.repository.StudentRepository;
+import com.university.management.repository.StudentView;
+import com.university.management.security.PrincipalCache;
 
 @Service
 public class StudentSelfService {
@@ -18,12 +23,21 @@ public class StudentSelfService {
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private IdentityService identityService;
+    
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+    
     /**
      * Get student profile information by email
      */
     public ApiResponse<Student> getStudentProfile(String studentEmail) {
         try {
-            Optional<Student> studentOpt = studentRepository.findByEmail(studentEmail);
+            Optional<Student> studentOpt = studentRepository.findViewByEmail(studentEmail, StudentView.DETAIL);
             
             if (!studentOpt.isPresent()) {
                 return ApiResponse.error("Student not found");
@@ -40,38 +54,45 @@ public class StudentSelfService {
      */
     public ApiResponse<Student> updateStudentBasicInfo(String studentEmail, StudentBasicUpdateDto updateDto) {
         try {
-            Optional<Student> studentOpt = studentRepository.findByEmail(studentEmail);
-            
-            if (!studentOpt.isPresent()) {
-                return ApiResponse.error("Student not found");
-            }
+            // Update only the fields that are provided (not null), in one findAndModify
+            Update update = new Update();
+            String newEmail = studentEmail;
             
-            Student student = studentOpt.get();
-            
-            // Update only the fields that are provided (not null)
             if (updateDto.getName() != null && !updateDto.getName().trim().isEmpty()) {
-                student.setName(updateDto.getName().trim());
+                update.set("name", updateDto.getName().trim());
             }
             
             if (updateDto.getEmail() != null && !updateDto.getEmail().trim().isEmpty()) {
-                // Check if email is already taken by another student
-                Optional<Student> existingStudentOpt = studentRepository.findByEmail(updateDto.getEmail());
-                if (existingStudentOpt.isPresent() && !existingStudentOpt.get().getId().equals(student.getId())) {
-                    return ApiResponse.error("Email is already registered with another student");
-                }
-                student.setEmail(updateDto.getEmail().trim());
+                // Uniqueness is enforced by the unique email index (DuplicateKeyException below)
+                newEmail = updateDto.getEmail().trim();
+                update.set("email", newEmail);
             }
             
             if (updateDto.getPhone() != null && !updateDto.getPhone().trim().isEmpty()) {
-                student.setPhone(updateDto.getPhone().trim());
+                update.set("phone", updateDto.getPhone().trim());
             }
             
             // Note: Student model doesn't have address, guardianName, guardianPhone, emergencyContact fields
             // These would need to be added to the Student model if required
             
-            Student updatedStudent = studentRepository.save(student);
+            update.set("updatedAt", LocalDateTime.now());
+            Optional<Student> studentOpt = studentRepository.updateByEmail(studentEmail, update, StudentView.DETAIL);
+            
+            if (!studentOpt.isPresent()) {
+                return ApiResponse.error("Student not found");
+            }
+            
+            Student updatedStudent = studentOpt.get();
+            studentSearchIndex.put(updatedStudent);
+            if (!studentEmail.equals(newEmail)) {
+                // The projection leaves out the password hash the identity record carries, so re-read in full (rare path)
+                studentRepository.findById(updatedStudent.getId()).ifPresent(identityService::syncStudent);
+                principalCache.invalidate(studentEmail);
+            }
             return ApiResponse.success("Student profile updated successfully", updatedStudent);
             
+        } catch (DuplicateKeyException e) {
+            return ApiResponse.error("Email is already registered with another student");
         } catch (Exception e) {
             return ApiResponse.error("Error updating student profile: " + e.getMessage());
         }
@@ -82,7 +103,7 @@ public class StudentSelfService {
      */
     public ApiResponse<Map<String, Object>> getStudentAcademicRecords(String studentEmail) {
         try {
-            Optional<Student> studentOpt = studentRepository.findByEmail(studentEmail);
+            Optional<Student> studentOpt = studentRepository.findViewByEmail(studentEmail, StudentView.ACADEMIC);
             
             if (!studentOpt.isPresent()) {
                 return ApiResponse.error("Student not found");
@@ -111,7 +132,7 @@ public class StudentSelfService {
      */
     public ApiResponse<Map<String, Object>> getStudentFeeStatus(String studentEmail) {
         try {
-            Optional<Student> studentOpt = studentRepository.findByEmail(studentEmail);
+            Optional<Student> studentOpt = studentRepository.findViewByEmail(studentEmail, StudentView.FEE);
             
             if (!studentOpt.isPresent()) {
                 return ApiResponse.error("Student not found");
@@ -145,7 +166,7 @@ public class StudentSelfService {
      */
     public ApiResponse<Map<String, Object>> getStudentPlacementInfo(String studentEmail) {
         try {
-            Optional<Student> studentOpt = studentRepository.findByEmail(studentEmail);
+            Optional<Student> studentOpt = studentRepository.findViewByEmail(studentEmail, StudentView.PLACEMENT);
             
             if (!studentOpt.isPresent()) {
                 return ApiResponse.error("Student not found");
@@ -182,7 +203,7 @@ public class StudentSelfService {
      */
     public ApiResponse<Map<String, Object>> getStudentCourses(String studentEmail) {
         try {
-            Optional<Student> studentOpt = studentRepository.findByEmail(studentEmail);
+            Optional<Student> studentOpt = studentRepository.findViewByEmail(studentEmail, StudentView.ACADEMIC);
             
             if (!studentOpt.isPresent()) {
                 return ApiResponse.error("Student not found");
@@ -220,7 +241,7 @@ public class StudentSelfService {
      */
     public ApiResponse<Map<String, Object>> getStudentDashboard(String studentEmail) {
         try {
-            Optional<Student> studentOpt = studentRepository.findByEmail(studentEmail);
+            Optional<Student> studentOpt = studentRepository.findViewByEmail(studentEmail, StudentView.LISTING);
             
             if (!studentOpt.isPresent()) {
                 return ApiResponse.error("Student not found");
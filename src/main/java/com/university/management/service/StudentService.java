@@ -8,28 +8,52 @@ import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.university.management.dto.request.StudentAcademicUpdateDto;
 import com.university.management.dto.request.StudentFullUpdateDto;
 import com.university.management.dto.request.StudentRegistrationRequest;
+import com.university.management.dto.request.StudentSearchCriteria;
+import com.university.management.dto.response.CursorPage;
 import com.university.management.dto.response.StudentResponse;
+import com.university.management.dto.response.StudentSearchResult;
 import com.university.management.model.Student;
+import com.university.management.repository.PageCursor;
 import com.university.management.repository.StudentRepository;
+import com.university.management.repository.StudentSortField;
+import com.university.management.repository.StudentView;
+import com.university.management.security.PrincipalCache;
 
 @Service
 public class StudentService {
     
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    
     @Autowired
     private StudentRepository studentRepository;
     
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private IdentityService identityService;
+    
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+    
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+    
     // Get all students
     public List<StudentResponse> getAllStudents() {
-        return studentRepository.findAll()
+        return studentRepository.findViewAll(new Criteria(), StudentView.DETAIL)
                 .stream()
                 .map(StudentResponse::new)
                 .collect(Collectors.toList());
@@ -37,83 +61,95 @@ public class StudentService {
     
     // Get student by ID
     public Optional<StudentResponse> getStudentById(String id) {
-        return studentRepository.findById(id)
+        return studentRepository.findViewById(id, StudentView.DETAIL)
                 .map(StudentResponse::new);
     }
     
     // Method to update student academic records (for STAFF_ADMIN)
     public StudentResponse updateStudentAcademicData(String id, StudentAcademicUpdateDto request) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + id));
-        
-        if (request.getCurrentCGPA() != null) {
-            student.setCurrentCGPA(request.getCurrentCGPA());
-        }
-        if (request.getAttendancePercentage() != null) {
-            // Update attendance percentage in the Attendance object
-            if (student.getAttendance() != null) {
-                student.getAttendance().setPercentage(request.getAttendancePercentage());
+        // Re-read and re-apply on a version conflict
+        return optimisticRetry.run(() -> {
+            Student student = studentRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + id));
+            
+            if (request.getCurrentCGPA() != null) {
+                student.setCurrentCGPA(request.getCurrentCGPA());
             }
-        }
-        if (request.getTotalCredits() != null) {
-            student.setTotalCredits(request.getTotalCredits());
-        }
-        if (request.getSemester() != null) {
-            student.setSemester(request.getSemester());
-        }
-        if (request.getYear() != null) {
-            student.setYear(request.getYear());
-        }
-        
-        student.setUpdatedAt(LocalDateTime.now());
-        Student updatedStudent = studentRepository.save(student);
-        return new StudentResponse(updatedStudent);
+            if (request.getAttendancePercentage() != null) {
+                // Update attendance percentage in the Attendance object
+                if (student.getAttendance() != null) {
+                    student.getAttendance().setPercentage(request.getAttendancePercentage());
+                }
+            }
+            if (request.getTotalCredits() != null) {
+                student.setTotalCredits(request.getTotalCredits());
+            }
+            if (request.getSemester() != null) {
+                student.setSemester(request.getSemester());
+            }
+            if (request.getYear() != null) {
+                student.setYear(request.getYear());
+            }
+            
+            student.setUpdatedAt(LocalDateTime.now());
+            Student updatedStudent = studentRepository.save(student);
+            studentSearchIndex.put(updatedStudent);
+            return new StudentResponse(updatedStudent);
+        });
     }
     
     // Method to update complete student profile (for SUPER_ADMIN)
     public StudentResponse updateStudentFullData(String id, StudentFullUpdateDto request) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + id));
-        
-        if (request.getName() != null) {
-            student.setName(request.getName());
-        }
-        if (request.getEmail() != null) {
-            student.setEmail(request.getEmail());
-        }
-        if (request.getPhone() != null) {
-            student.setPhone(request.getPhone());
-        }
-        if (request.getDepartment() != null) {
-            student.setDepartment(request.getDepartment());
-        }
-        if (request.getCurrentCGPA() != null) {
-            student.setCurrentCGPA(request.getCurrentCGPA());
-        }
-        if (request.getAttendancePercentage() != null) {
-            if (student.getAttendance() != null) {
-                student.getAttendance().setPercentage(request.getAttendancePercentage());
+        return optimisticRetry.run(() -> {
+            Student student = studentRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + id));
+            String previousEmail = student.getEmail();
+            
+            if (request.getName() != null) {
+                student.setName(request.getName());
             }
-        }
-        if (request.getTotalCredits() != null) {
-            student.setTotalCredits(request.getTotalCredits());
-        }
-        if (request.getSemester() != null) {
-            student.setSemester(request.getSemester());
-        }
-        if (request.getYear() != null) {
-            student.setYear(request.getYear());
-        }
-        if (request.getPaidAmount() != null) {
-            student.setPaidAmount(request.getPaidAmount());
-        }
-        if (request.getTotalFee() != null) {
-            student.setTotalFee(request.getTotalFee());
-        }
-        
-        student.setUpdatedAt(LocalDateTime.now());
-        Student updatedStudent = studentRepository.save(student);
-        return new StudentResponse(updatedStudent);
+            if (request.getEmail() != null) {
+                student.setEmail(request.getEmail());
+            }
+            if (request.getPhone() != null) {
+                student.setPhone(request.getPhone());
+            }
+            if (request.getDepartment() != null) {
+                student.setDepartment(request.getDepartment());
+            }
+            if (request.getCurrentCGPA() != null) {
+                student.setCurrentCGPA(request.getCurrentCGPA());
+            }
+            if (request.getAttendancePercentage() != null) {
+                if (student.getAttendance() != null) {
+                    student.getAttendance().setPercentage(request.getAttendancePercentage());
+                }
+            }
+            if (request.getTotalCredits() != null) {
+                student.setTotalCredits(request.getTotalCredits());
+            }
+            if (request.getSemester() != null) {
+                student.setSemester(request.getSemester());
+            }
+            if (request.getYear() != null) {
+                student.setYear(request.getYear());
+            }
+            if (request.getPaidAmount() != null) {
+                student.setPaidAmount(request.getPaidAmount());
+            }
+            if (request.getTotalFee() != null) {
+                student.setTotalFee(request.getTotalFee());
+            }
+            
+            student.setUpdatedAt(LocalDateTime.now());
+            Student updatedStudent = studentRepository.save(student);
+            studentSearchIndex.put(updatedStudent);
+            if (!previousEmail.equals(updatedStudent.getEmail())) {
+                identityService.syncStudent(updatedStudent);
+                principalCache.invalidate(previousEmail);
+            }
+            return new StudentResponse(updatedStudent);
+        });
     }
     
     // Create student (existing functionality)
@@ -133,138 +169,208 @@ public class StudentService {
         student.setUpdatedAt(LocalDateTime.now());
         
         Student savedStudent = studentRepository.save(student);
+        identityService.syncStudent(savedStudent);
+        studentSearchIndex.put(savedStudent);
         return new StudentResponse(savedStudent);
     }
     
     // Additional methods required by StudentController
     public Page<StudentResponse> getStudentsPaginated(Pageable pageable) {
-        return studentRepository.findAll(pageable)
+        return studentRepository.findViewPage(pageable, StudentView.DETAIL)
                 .map(StudentResponse::new);
     }
     
+    // Keyset pagination: every page is an index seek on (sortBy, _id) instead of a skip
+    public CursorPage<StudentResponse> getStudentsAfter(String cursor, int size, String sortBy, String sortDir) {
+        return searchStudents(new StudentSearchCriteria(), cursor, size, sortBy, sortDir, "detail");
+    }
+    
+    // Combined filter: every set criterion is ANDed into one query, paged with the same keyset cursor
+    public CursorPage<StudentResponse> searchStudents(StudentSearchCriteria criteria, String cursor, int size,
+            String sortBy, String sortDir, String viewName) {
+        StudentSortField sortField = StudentSortField.fromField(sortBy);
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        StudentView view = searchView(viewName);
+        validateRange("CGPA", criteria.getMinCgpa(), criteria.getMaxCgpa());
+        validateRange("credits", criteria.getMinCredits(), criteria.getMaxCredits());
+        validateRange("package", criteria.getMinPackage(), criteria.getMaxPackage());
+        
+        PageCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = PageCursor.decode(cursor);
+            if (!after.getField().equals(sortField.getField()) || after.getDirection() != direction) {
+                throw new IllegalArgumentException("Cursor was issued for a different sortBy/sortDir");
+            }
+        }
+        
+        // Fetch one extra row to know whether another page exists
+        List<Student> students = studentRepository.searchPage(criteria, sortField, direction, after, limit + 1, view);
+        String nextCursor = null;
+        if (students.size() > limit) {
+            students = students.subList(0, limit);
+            Student last = students.get(limit - 1);
+            nextCursor = new PageCursor(sortField.getField(), direction, last.getId(), sortField.valueOf(last)).encode();
+        }
+        
+        List<StudentResponse> items = students.stream()
+                .map(view.isDetail() ? StudentResponse::new : StudentResponse::listing)
+                .collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor);
+    }
+    
+    private StudentView searchView(String viewName) {
+        if (viewName == null || viewName.isBlank()) {
+            return StudentView.LISTING;
+        }
+        switch (viewName.toLowerCase()) {
+            case "listing":
+                return StudentView.LISTING;
+            case "placement":
+                return StudentView.PLACEMENT;
+            case "detail":
+                return StudentView.DETAIL;
+            default:
+                throw new IllegalArgumentException("Unsupported view '" + viewName + "', expected one of: listing, placement, detail");
+        }
+    }
+    
+    private void validateRange(String name, Number min, Number max) {
+        if (min != null && max != null && min.doubleValue() > max.doubleValue()) {
+            throw new IllegalArgumentException("Minimum " + name + " must not exceed maximum " + name);
+        }
+    }
+    
+    // Typeahead over name, roll number and email, served from the in-memory search index
+    public List<StudentSearchResult> searchStudentsByText(String q, int limit) {
+        return studentSearchIndex.search(q, limit);
+    }
+    
     public Optional<StudentResponse> getStudentByEmail(String email) {
-        return studentRepository.findByEmail(email)
+        return studentRepository.findViewByEmail(email, StudentView.DETAIL)
                 .map(StudentResponse::new);
     }
     
     public Optional<StudentResponse> getStudentByRollNo(String rollNo) {
-        return studentRepository.findByRollNo(rollNo)
+        return studentRepository.findViewByRollNo(rollNo, StudentView.DETAIL)
                 .map(StudentResponse::new);
     }
     
     public List<StudentResponse> getStudentsByDepartment(String department) {
-        return studentRepository.findByDepartment(department)
+        return studentRepository.findViewAll(Criteria.where("department").is(department), StudentView.LISTING)
                 .stream()
-                .map(StudentResponse::new)
+                .map(StudentResponse::listing)
                 .collect(Collectors.toList());
     }
     
     public List<StudentResponse> getStudentsByYear(Integer year) {
-        return studentRepository.findByYear(year)
+        return studentRepository.findViewAll(Criteria.where("year").is(year), StudentView.LISTING)
                 .stream()
-                .map(StudentResponse::new)
+                .map(StudentResponse::listing)
                 .collect(Collectors.toList());
     }
     
     public List<StudentResponse> getStudentsByDepartmentAndYear(String department, Integer year) {
-        return studentRepository.findByDepartmentAndYear(department, year)
+        return studentRepository.findViewAll(Criteria.where("department").is(department).and("year").is(year),
+                        StudentView.LISTING)
                 .stream()
-                .map(StudentResponse::new)
+                .map(StudentResponse::listing)
                 .collect(Collectors.toList());
     }
     
     public List<StudentResponse> getPlacedStudents() {
-        return studentRepository.findByPlacementStatus("Placed")
+        return studentRepository.findViewAll(Criteria.where("placementStatus").is("Placed"), StudentView.PLACEMENT)
                 .stream()
-                .map(StudentResponse::new)
+                .map(StudentResponse::listing)
                 .collect(Collectors.toList());
     }
     
     public StudentResponse updateStudent(String id, StudentRegistrationRequest request) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + id));
+        // Hash once, outside the retry loop
+        String passwordHash = request.getPassword() != null && !request.getPassword().isEmpty()
+                ? passwordEncoder.encode(request.getPassword())
+                : null;
         
-        student.setName(request.getName());
-        student.setEmail(request.getEmail());
-        if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-            student.setPassword(passwordEncoder.encode(request.getPassword()));
-        }
-        student.setPhone(request.getPhone());
-        student.setDateOfBirth(request.getDateOfBirth());
-        student.setUpdatedAt(LocalDateTime.now());
-        
-        Student savedStudent = studentRepository.save(student);
-        return new StudentResponse(savedStudent);
+        return optimisticRetry.run(() -> {
+            Student student = studentRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + id));
+            String previousEmail = student.getEmail();
+            
+            student.setName(request.getName());
+            student.setEmail(request.getEmail());
+            if (passwordHash != null) {
+                student.setPassword(passwordHash);
+            }
+            student.setPhone(request.getPhone());
+            student.setDateOfBirth(request.getDateOfBirth());
+            student.setUpdatedAt(LocalDateTime.now());
+            
+            Student savedStudent = studentRepository.save(student);
+            identityService.syncStudent(savedStudent);
+            studentSearchIndex.put(savedStudent);
+            
+            // Email (token subject) or password may have changed
+            principalCache.invalidate(previousEmail);
+            return new StudentResponse(savedStudent);
+        });
     }
     
+    // Field-level updates below: one findAndModify with $set, returning the new document
     public StudentResponse updateStudentAcademicInfo(String id, String department, Integer year, Integer semester) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + id));
-        
-        student.setDepartment(department);
-        student.setYear(year);
-        student.setSemester(semester);
-        student.setUpdatedAt(LocalDateTime.now());
-        
-        Student savedStudent = studentRepository.save(student);
+        Update update = new Update()
+                .set("department", department)
+                .set("year", year)
+                .set("semester", semester);
+        Student savedStudent = applyUpdate(id, update);
+        studentSearchIndex.put(savedStudent);
         return new StudentResponse(savedStudent);
     }
     
     public StudentResponse updateStudentCGPA(String id, Double cgpa, Integer semester) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + id));
-        
-        student.setCurrentCGPA(cgpa);
-        student.setSemester(semester);
-        student.setUpdatedAt(LocalDateTime.now());
-        
-        Student savedStudent = studentRepository.save(student);
-        return new StudentResponse(savedStudent);
+        Update update = new Update()
+                .set("currentCGPA", cgpa)
+                .set("semester", semester);
+        return new StudentResponse(applyUpdate(id, update));
     }
     
     public StudentResponse updateStudentAttendance(String id, Double attendancePercentage) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + id));
-        
-        if (student.getAttendance() != null) {
-            student.getAttendance().setPercentage(attendancePercentage);
-        }
-        student.setUpdatedAt(LocalDateTime.now());
-        
-        Student savedStudent = studentRepository.save(student);
-        return new StudentResponse(savedStudent);
+        // Only students that already have an attendance record get the percentage; the rest just move updatedAt
+        Update update = new Update()
+                .set("attendance.percentage", attendancePercentage)
+                .set("updatedAt", LocalDateTime.now());
+        Student student = studentRepository.updateByIdWhere(id, Criteria.where("attendance").ne(null), update,
+                StudentView.DETAIL).orElseGet(() -> applyUpdate(id, new Update()));
+        return new StudentResponse(student);
     }
     
     public StudentResponse updateStudentFee(String id, Double paidAmount, Double totalFee) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + id));
-        
-        student.setPaidAmount(paidAmount);
-        student.setTotalFee(totalFee);
-        student.setUpdatedAt(LocalDateTime.now());
-        
-        Student savedStudent = studentRepository.save(student);
-        return new StudentResponse(savedStudent);
+        Update update = new Update()
+                .set("paidAmount", paidAmount)
+                .set("totalFee", totalFee);
+        return new StudentResponse(applyUpdate(id, update));
     }
     
     public StudentResponse updateStudentPlacement(String id, String companyName, String jobRole, Double salary) {
-        Student student = studentRepository.findById(id)
+        Update update = new Update()
+                .set("company", companyName)
+                .set("packageAmount", salary)
+                .set("placementStatus", "Placed");
+        return new StudentResponse(applyUpdate(id, update));
+    }
+    
+    private Student applyUpdate(String id, Update update) {
+        update.set("updatedAt", LocalDateTime.now());
+        return studentRepository.updateById(id, update, StudentView.DETAIL)
                 .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + id));
-        
-        student.setCompany(companyName);
-        student.setPackageAmount(salary);
-        student.setPlacementStatus("Placed");
-        student.setUpdatedAt(LocalDateTime.now());
-        
-        Student savedStudent = studentRepository.save(student);
-        return new StudentResponse(savedStudent);
     }
     
     public void deleteStudent(String id) {
-        if (!studentRepository.existsById(id)) {
-            throw new IllegalArgumentException("Student not found with id: " + id);
-        }
+        Student student = studentRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Student not found with id: " + id));
         studentRepository.deleteById(id);
+        identityService.removeOwner(id);
+        studentSearchIndex.remove(id);
+        principalCache.invalidate(student.getEmail());
     }
     
     public Long getTotalStudentCount() {
@@ -0,0 +1,64 @@
+package com.university.management.config;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.client.result.UpdateResult;
+import com.university.management.model.Course;
+
+class DocumentVersionBackfillTest {
+
+    private MongoTemplate mongoTemplate;
+    private DocumentVersionBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), any(Class.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        backfill = new DocumentVersionBackfill();
+        ReflectionTestUtils.setField(backfill, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(backfill, "backfillOnStartup", true);
+    }
+
+    @Test
+    void firstStartupStampsAndRecordsTheMarker() {
+        backfill.backfill();
+
+        verify(mongoTemplate, times(3)).updateMulti(any(Query.class), any(Update.class), any(Class.class));
+        verify(mongoTemplate).save(any(Document.class), eq("schema_migrations"));
+    }
+
+    @Test
+    void laterStartupsSkipTheScan() {
+        when(mongoTemplate.exists(any(Query.class), eq("schema_migrations"))).thenReturn(true);
+
+        backfill.backfill();
+
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), any(Class.class));
+    }
+
+    @Test
+    void failedCollectionLeavesTheMarkerUnwritten() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Course.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        backfill.backfill();
+
+        verify(mongoTemplate, never()).save(any(Document.class), eq("schema_migrations"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.university.management.config;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.model.IndexOptions;
+import com.university.management.model.Student;
+
+/**
+ * Reconciles every declared index into an empty database, then explains each IndexCatalog query
+ * shape and fails on a COLLSCAN (what indexes.verify-plans=true does at startup).
+ * Needs MONGODB_TEST_URI, e.g. MONGODB_TEST_URI=mongodb://localhost:27017 mvn test;
+ * uses and drops a throwaway database.
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_TEST_URI", matches = ".+")
+class IndexReconcilerIntegrationTest {
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private IndexReconciler reconciler;
+    private QueryPlanVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create(System.getenv("MONGODB_TEST_URI"));
+        mongoTemplate = new MongoTemplate(client, "index_reconcile_" + new ObjectId().toHexString());
+        IndexCatalog catalog = new IndexCatalog();
+
+        verifier = new QueryPlanVerifier();
+        ReflectionTestUtils.setField(verifier, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(verifier, "indexCatalog", catalog);
+
+        reconciler = new IndexReconciler();
+        ReflectionTestUtils.setField(reconciler, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(reconciler, "mongoMappingContext", new MongoMappingContext());
+        ReflectionTestUtils.setField(reconciler, "indexCatalog", catalog);
+        ReflectionTestUtils.setField(reconciler, "queryPlanVerifier", verifier);
+        ReflectionTestUtils.setField(reconciler, "recreateOnConflict", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.getDb().drop();
+        client.close();
+    }
+
+    @Test
+    void everyQueryShapeUsesAnIndex() {
+        assertNoFailures(reconciler.reconcile());
+        assertDoesNotThrow(verifier::verify);
+    }
+
+    @Test
+    void rebuildsUniqueRollNoIndexAsSparse() {
+        // Index as created before rollNo became sparse
+        String students = mongoTemplate.getCollectionName(Student.class);
+        mongoTemplate.getCollection(students).createIndex(new Document("rollNo", 1),
+                new IndexOptions().name("rollNo").unique(true));
+
+        assertNoFailures(reconciler.reconcile());
+
+        Document rollNo = mongoTemplate.getCollection(students).listIndexes().into(new ArrayList<>())
+                .stream().filter(index -> "rollNo".equals(index.getString("name"))).findFirst().orElseThrow();
+        assertEquals(Boolean.TRUE, rollNo.getBoolean("sparse"));
+        assertEquals(Boolean.TRUE, rollNo.getBoolean("unique"));
+
+        // Two students without a roll number no longer collide
+        mongoTemplate.insert(new Document("email", "a@university.edu"), students);
+        assertDoesNotThrow(() -> mongoTemplate.insert(new Document("email", "b@university.edu"), students));
+    }
+
+    @Test
+    void failedRebuildRestoresTheUniqueIndex() {
+        // Duplicate roll numbers block the declared unique index, so the rebuild cannot succeed
+        String students = mongoTemplate.getCollectionName(Student.class);
+        mongoTemplate.getCollection(students).createIndex(new Document("rollNo", 1), new IndexOptions().name("rollNo"));
+        mongoTemplate.insert(new Document("email", "a@university.edu").append("rollNo", "CS001"), students);
+        mongoTemplate.insert(new Document("email", "b@university.edu").append("rollNo", "CS001"), students);
+
+        Map<String, String> result = reconciler.reconcile();
+
+        assertTrue(result.values().stream().anyMatch(state -> state.startsWith("failed")), result.toString());
+        assertTrue(mongoTemplate.getCollection(students).listIndexes().into(new ArrayList<>())
+                .stream().anyMatch(index -> "rollNo".equals(index.getString("name"))));
+    }
+
+    private static void assertNoFailures(Map<String, String> result) {
+        assertTrue(result.values().stream().noneMatch(state -> state.startsWith("failed")), result.toString());
+    }
+}
@@ -0,0 +1,79 @@
+package com.university.management.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.university.management.dto.request.AdminLoginRequest;
+import com.university.management.dto.response.AdminAuthResponse;
+import com.university.management.dto.response.ApiResponse;
+import com.university.management.security.LoginThrottle;
+import com.university.management.service.AdminAuthService;
+
+class AdminAuthControllerTest {
+
+    private static final String IP = "10.0.0.1";
+
+    private AdminAuthController controller;
+    private AdminAuthService adminAuthService;
+    private LoginThrottle loginThrottle;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        adminAuthService = mock(AdminAuthService.class);
+        loginThrottle = mock(LoginThrottle.class);
+        when(loginThrottle.clientIp(any())).thenReturn(IP);
+
+        controller = new AdminAuthController();
+        ReflectionTestUtils.setField(controller, "adminAuthService", adminAuthService);
+        ReflectionTestUtils.setField(controller, "loginThrottle", loginThrottle);
+        request = new MockHttpServletRequest();
+    }
+
+    @Test
+    void throttledLoginReturns429WithRetryAfter() {
+        when(loginThrottle.tryAcquire("admin", IP)).thenReturn(42L);
+
+        ResponseEntity<ApiResponse<AdminAuthResponse>> response = controller.login(login(), request);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("42", response.getHeaders().getFirst("Retry-After"));
+        verifyNoInteractions(adminAuthService);
+    }
+
+    @Test
+    void failedLoginIsChargedToTheClientIp() {
+        when(adminAuthService.login(any())).thenReturn(ApiResponse.error("Invalid credentials"));
+
+        ResponseEntity<ApiResponse<AdminAuthResponse>> response = controller.login(login(), request);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verify(loginThrottle).recordFailure(IP);
+    }
+
+    @Test
+    void successfulLoginIsNotChargedToTheClientIp() {
+        when(adminAuthService.login(any())).thenReturn(ApiResponse.success("Login successful", null));
+
+        ResponseEntity<ApiResponse<AdminAuthResponse>> response = controller.login(login(), request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(loginThrottle, never()).recordFailure(any());
+    }
+
+    private static AdminLoginRequest login() {
+        return new AdminLoginRequest("admin", "secret");
+    }
+}
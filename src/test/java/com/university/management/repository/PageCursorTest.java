@@ -0,0 +1,70 @@
+package com.university.management.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class PageCursorTest {
+
+    private static final String ID = "65f1c2a9e4b0a1b2c3d4e5f6";
+
+    @Test
+    void roundTripsEveryValueType() {
+        assertRoundTrip("name", Sort.Direction.ASC, "Asha|Rao");
+        assertRoundTrip("year", Sort.Direction.DESC, 3);
+        assertRoundTrip("currentCGPA", Sort.Direction.DESC, 8.75);
+        assertRoundTrip("applicationDate", Sort.Direction.DESC, LocalDateTime.of(2025, 6, 1, 9, 30, 15));
+        assertRoundTrip("department", Sort.Direction.ASC, null);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String token = new PageCursor("name", Sort.Direction.ASC, ID, "??>>~~").encode();
+        assertEquals(token, token.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void rejectsTokenThatIsNotBase64() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor!"));
+    }
+
+    @Test
+    void rejectsTokenWithMissingParts() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(encodeRaw("name|ASC|" + ID)));
+    }
+
+    @Test
+    void rejectsTamperedDirection() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(encodeRaw("name|SIDEWAYS|" + ID + "|s|Asha")));
+    }
+
+    @Test
+    void rejectsTamperedValueType() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(encodeRaw("year|ASC|" + ID + "|i|three")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(encodeRaw("year|ASC|" + ID + "|t|yesterday")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(encodeRaw("year|ASC|" + ID + "|x|3")));
+    }
+
+    private static void assertRoundTrip(String field, Sort.Direction direction, Object value) {
+        PageCursor decoded = PageCursor.decode(new PageCursor(field, direction, ID, value).encode());
+        assertEquals(field, decoded.getField());
+        assertEquals(direction, decoded.getDirection());
+        assertEquals(ID, decoded.getLastId());
+        if (value == null) {
+            assertNull(decoded.getLastValue());
+        } else {
+            assertEquals(value, decoded.getLastValue());
+        }
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,88 @@
+package com.university.management.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+class JwtClaimsCacheTest {
+
+    private JwtClaimsCache cache;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JwtClaimsCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        Claims claims = claimsExpiringIn(60_000);
+        Function<String, Claims> verifier = counting(claims);
+
+        assertSame(claims, cache.get("token-a", verifier));
+        assertSame(claims, cache.get("token-a", verifier));
+
+        assertEquals(1, verifications.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void expiredEntryIsVerifiedAgain() throws InterruptedException {
+        // exp has one-second resolution
+        Function<String, Claims> verifier = counting(claimsExpiringIn(2_000));
+
+        cache.get("token-a", verifier);
+        assertEquals(1, cache.size());
+        Thread.sleep(2_100);
+        cache.get("token-a", verifier);
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void alreadyExpiredClaimsAreNotCached() {
+        Function<String, Claims> verifier = counting(claimsExpiringIn(-1_000));
+
+        cache.get("token-a", verifier);
+        cache.get("token-a", verifier);
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void sizeStaysWithinMaxEntries() {
+        Function<String, Claims> verifier = counting(claimsExpiringIn(60_000));
+
+        cache.get("token-a", verifier);
+        cache.get("token-b", verifier);
+        cache.get("token-c", verifier);
+
+        assertEquals(2, cache.size());
+    }
+
+    private Function<String, Claims> counting(Claims claims) {
+        return token -> {
+            verifications.incrementAndGet();
+            return claims;
+        };
+    }
+
+    private static Claims claimsExpiringIn(long millis) {
+        return Jwts.claims().subject("asha@university.edu")
+                .expiration(new Date(System.currentTimeMillis() + millis))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.university.management.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * In-memory token buckets: identifier buckets are charged per attempt, IP buckets per failure.
+ */
+class LoginThrottleTest {
+
+    private static final String IP = "10.0.0.1";
+
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = newThrottle(3, 3, 1);
+    }
+
+    @Test
+    void identifierBucketRunsDryAfterCapacity() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, throttle.tryAcquire("asha@university.edu", IP));
+        }
+
+        long retryAfter = throttle.tryAcquire("ASHA@university.edu ", IP);
+        assertTrue(retryAfter >= 1, "expected a wait, got " + retryAfter);
+        assertEquals(1, throttle.getThrottledCount());
+
+        // Other accounts behind the same IP are unaffected
+        assertEquals(0, throttle.tryAcquire("ravi@university.edu", IP));
+    }
+
+    @Test
+    void bucketRefillsOverTime() throws InterruptedException {
+        // 600 per minute = one token every 100 ms
+        throttle = newThrottle(1, 600, 1);
+        assertEquals(0, throttle.tryAcquire("asha@university.edu", IP));
+        assertTrue(throttle.tryAcquire("asha@university.edu", IP) > 0);
+
+        Thread.sleep(150);
+        assertEquals(0, throttle.tryAcquire("asha@university.edu", IP));
+    }
+
+    @Test
+    void successfulLoginsDoNotDrainTheIpBucket() {
+        // Many students behind one NAT, each signing in once
+        for (int i = 0; i < 50; i++) {
+            assertEquals(0, throttle.tryAcquire("student" + i + "@university.edu", IP));
+        }
+    }
+
+    @Test
+    void failedLoginsDrainTheIpBucket() {
+        assertEquals(0, throttle.tryAcquire("student0@university.edu", IP));
+        throttle.recordFailure(IP);
+
+        // The IP is out of tokens for every identifier, while other clients still get through
+        assertTrue(throttle.tryAcquire("student1@university.edu", IP) > 0);
+        assertEquals(0, throttle.tryAcquire("student1@university.edu", "10.0.0.2"));
+    }
+
+    private static LoginThrottle newThrottle(int identifierCapacity, double identifierRefillPerMinute, int ipCapacity) {
+        LoginThrottle throttle = new LoginThrottle();
+        ReflectionTestUtils.setField(throttle, "enabled", true);
+        ReflectionTestUtils.setField(throttle, "store", "memory");
+        ReflectionTestUtils.setField(throttle, "identifierCapacity", identifierCapacity);
+        ReflectionTestUtils.setField(throttle, "identifierRefillPerMinute", identifierRefillPerMinute);
+        ReflectionTestUtils.setField(throttle, "ipCapacity", ipCapacity);
+        ReflectionTestUtils.setField(throttle, "ipRefillPerMinute", 1.0);
+        ReflectionTestUtils.setField(throttle, "stripeCount", 4);
+        ReflectionTestUtils.setField(throttle, "maxBuckets", 1000);
+        ReflectionTestUtils.setField(throttle, "idleEvictionMillis", 600_000L);
+        throttle.init();
+        return throttle;
+    }
+}
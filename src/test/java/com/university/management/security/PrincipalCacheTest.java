@@ -0,0 +1,81 @@
+package com.university.management.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PrincipalCacheTest {
+
+    private static final String SUBJECT = "asha@university.edu";
+    private static final long LIFETIME = 604_800_000L;
+
+    private PrincipalCache cache;
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        cache = new PrincipalCache();
+        ReflectionTestUtils.setField(cache, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(cache, "tokenLifetimeMillis", LIFETIME);
+    }
+
+    @Test
+    void onlyTokensIssuedBeforeInvalidationAreAffected() {
+        Date before = new Date(System.currentTimeMillis() - 5_000);
+        assertFalse(cache.isInvalidated(SUBJECT, before));
+
+        cache.invalidate(SUBJECT);
+
+        assertTrue(cache.isInvalidated(SUBJECT, before));
+        assertTrue(cache.isInvalidated(SUBJECT, null));
+        assertFalse(cache.isInvalidated(SUBJECT, new Date(System.currentTimeMillis() + 5_000)));
+        assertFalse(cache.isInvalidated("other@university.edu", before));
+    }
+
+    @Test
+    void invalidationIsWrittenForOtherNodes() {
+        cache.invalidate(SUBJECT);
+
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq("principal_invalidations"));
+    }
+
+    @Test
+    void refreshPicksUpMarkersWrittenElsewhere() {
+        long now = System.currentTimeMillis();
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("principal_invalidations")))
+                .thenReturn(List.of(new Document("_id", SUBJECT).append("invalidatedAt", now)));
+
+        cache.refresh();
+
+        assertTrue(cache.isInvalidated(SUBJECT, new Date(now - 1_000)));
+        assertFalse(cache.isInvalidated(SUBJECT, new Date(now + 1_000)));
+    }
+
+    @Test
+    void markersOlderThanATokenLifetimeAreDropped() {
+        long now = System.currentTimeMillis();
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("principal_invalidations")))
+                .thenReturn(List.of(new Document("_id", SUBJECT).append("invalidatedAt", now - LIFETIME - 1_000)));
+
+        cache.refresh();
+
+        assertEquals(0, cache.size());
+    }
+}
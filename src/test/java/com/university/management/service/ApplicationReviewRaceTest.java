@@ -0,0 +1,208 @@
+package com.university.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.university.management.dto.ApplicationReviewDto;
+import com.university.management.model.Admin;
+import com.university.management.model.Application;
+import com.university.management.model.SeatHold;
+import com.university.management.repository.ApplicationRepository;
+
+/**
+ * Two reviewers approving the same application at once: both confirm the same seat, one save wins
+ * and the other hits a version conflict. The loser, which is the one that moved the seat to
+ * CONFIRMED, must not give the winner's seat back.
+ * The application and its seat hold live in memory with the same version and status rules as Mongo.
+ */
+class ApplicationReviewRaceTest {
+
+    private static final String APPLICATION_ID = "app-1";
+    private static final String COURSE = "Computer Science Engineering";
+
+    private final ExecutorService reviewers = Executors.newFixedThreadPool(2);
+
+    private ApplicationService applicationService;
+    private ApplicationRepository applicationRepository;
+    private SeatReservationService seats;
+    private StudentProvisioningService provisioning;
+
+    private Application stored;
+    private SeatHold hold;
+    private CyclicBarrier firstReads;
+    private final AtomicInteger reads = new AtomicInteger();
+    private final CountDownLatch otherSaved = new CountDownLatch(1);
+    private volatile Thread confirmedBy;
+
+    @BeforeEach
+    void setUp() {
+        stored = application("PENDING", 0L);
+        hold = new SeatHold();
+        hold.setApplicationId(APPLICATION_ID);
+        hold.setCourseName(COURSE);
+        hold.setStatus(SeatHold.HELD);
+        firstReads = new CyclicBarrier(2);
+
+        applicationRepository = mock(ApplicationRepository.class);
+        when(applicationRepository.findById(APPLICATION_ID)).thenAnswer(call -> {
+            Application copy = read();
+            // Both reviewers load the application before either of them saves
+            if (reads.incrementAndGet() <= 2) {
+                firstReads.await(5, TimeUnit.SECONDS);
+            }
+            return Optional.of(copy);
+        });
+        when(applicationRepository.save(any(Application.class))).thenAnswer(call -> {
+            // The reviewer that confirmed the seat saves last, so it is the one that loses the race
+            boolean confirmer = Thread.currentThread() == confirmedBy;
+            if (confirmer) {
+                otherSaved.await(5, TimeUnit.SECONDS);
+            }
+            try {
+                return save(call.getArgument(0));
+            } finally {
+                if (!confirmer) {
+                    otherSaved.countDown();
+                }
+            }
+        });
+
+        seats = mock(SeatReservationService.class);
+        when(seats.getHold(APPLICATION_ID)).thenAnswer(call -> hold);
+        when(seats.confirmSeat(COURSE, APPLICATION_ID)).thenAnswer(call -> confirm());
+        when(seats.release(APPLICATION_ID)).thenAnswer(call -> release());
+
+        provisioning = mock(StudentProvisioningService.class);
+
+        OptimisticRetry optimisticRetry = new OptimisticRetry();
+        ReflectionTestUtils.setField(optimisticRetry, "maxAttempts", 5);
+        ReflectionTestUtils.setField(optimisticRetry, "initialBackoffMillis", 1L);
+        ReflectionTestUtils.setField(optimisticRetry, "maxBackoffMillis", 5L);
+
+        applicationService = new ApplicationService();
+        ReflectionTestUtils.setField(applicationService, "applicationRepository", applicationRepository);
+        ReflectionTestUtils.setField(applicationService, "optimisticRetry", optimisticRetry);
+        ReflectionTestUtils.setField(applicationService, "seatReservationService", seats);
+        ReflectionTestUtils.setField(applicationService, "studentProvisioningService", provisioning);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reviewers.shutdownNow();
+    }
+
+    @Test
+    void losingApproverKeepsTheWinnersSeat() throws Exception {
+        List<Future<Application>> reviews = new ArrayList<>();
+        reviews.add(reviewers.submit(() -> applicationService.reviewApplication(APPLICATION_ID, approve(), admin("a"))));
+        reviews.add(reviewers.submit(() -> applicationService.reviewApplication(APPLICATION_ID, approve(), admin("b"))));
+
+        int approved = 0;
+        int failed = 0;
+        for (Future<Application> review : reviews) {
+            try {
+                review.get(10, TimeUnit.SECONDS);
+                approved++;
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+
+        assertEquals(1, approved);
+        assertEquals(1, failed);
+        assertEquals("APPROVED", read().getApplicationStatus());
+        assertEquals(SeatHold.CONFIRMED, hold.getStatus());
+        verify(seats, never()).release(anyString());
+        verify(provisioning).provision(any(Application.class));
+    }
+
+    @Test
+    void failedSaveReleasesOnlyASeatConfirmedByThisReview() {
+        firstReads = new CyclicBarrier(1);
+        when(applicationRepository.save(any(Application.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        assertThrows(RuntimeException.class,
+                () -> applicationService.reviewApplication(APPLICATION_ID, approve(), admin("a")));
+        assertEquals(SeatHold.RELEASED, hold.getStatus());
+
+        // A seat that was already confirmed before this review is left alone
+        hold.setStatus(SeatHold.CONFIRMED);
+        assertThrows(RuntimeException.class,
+                () -> applicationService.reviewApplication(APPLICATION_ID, approve(), admin("a")));
+        assertEquals(SeatHold.CONFIRMED, hold.getStatus());
+    }
+
+    private synchronized Application read() {
+        return application(stored.getApplicationStatus(), stored.getVersion());
+    }
+
+    // Version-checked like MongoTemplate.save on a @Version entity
+    private synchronized Application save(Application application) {
+        if (!stored.getVersion().equals(application.getVersion())) {
+            throw new OptimisticLockingFailureException("Version mismatch for application " + APPLICATION_ID);
+        }
+        stored = application(application.getApplicationStatus(), stored.getVersion() + 1);
+        return read();
+    }
+
+    private synchronized SeatReservationService.Confirmation confirm() {
+        if (SeatHold.CONFIRMED.equals(hold.getStatus())) {
+            return new SeatReservationService.Confirmation(hold, false);
+        }
+        hold.setStatus(SeatHold.CONFIRMED);
+        confirmedBy = Thread.currentThread();
+        return new SeatReservationService.Confirmation(hold, true);
+    }
+
+    private synchronized boolean release() {
+        hold.setStatus(SeatHold.RELEASED);
+        return true;
+    }
+
+    private static Application application(String status, Long version) {
+        Application application = new Application();
+        application.setId(APPLICATION_ID);
+        application.setDesiredCourse(COURSE);
+        application.setApplicationStatus(status);
+        application.setVersion(version);
+        return application;
+    }
+
+    private static ApplicationReviewDto approve() {
+        ApplicationReviewDto review = new ApplicationReviewDto();
+        review.setApplicationStatus("APPROVED");
+        return review;
+    }
+
+    private static Admin admin(String username) {
+        Admin admin = new Admin();
+        admin.setUsername(username);
+        return admin;
+    }
+}
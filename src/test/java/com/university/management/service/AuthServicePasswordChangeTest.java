@@ -0,0 +1,143 @@
+package com.university.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.university.management.dto.request.LoginRequest;
+import com.university.management.model.Identity;
+import com.university.management.model.Student;
+import com.university.management.repository.IdentityRepository;
+import com.university.management.repository.StudentRepository;
+import com.university.management.repository.StudentView;
+import com.university.management.security.JwtUtil;
+import com.university.management.security.PrincipalCache;
+
+/**
+ * Password writes must keep the identity's hash in step with the student document, since
+ * student login verifies against the identity only. The repositories are backed by maps that
+ * behave like the real projections: reads through StudentView.DETAIL carry no password.
+ */
+class AuthServicePasswordChangeTest {
+
+    private static final String EMAIL = "asha@university.edu";
+
+    private final Map<String, Identity> identities = new ConcurrentHashMap<>();
+    private Student stored;
+    private AuthService authService;
+    private IdentityService identityService;
+
+    @BeforeEach
+    void setUp() {
+        stored = new Student();
+        stored.setId("student-1");
+        stored.setName("Asha");
+        stored.setEmail(EMAIL);
+        stored.setRollNo("CS25001");
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(Identity.class))).thenAnswer(call -> {
+            Query query = call.getArgument(0);
+            Document set = (Document) ((Update) call.getArgument(1)).getUpdateObject().get("$set");
+            Identity identity = new Identity();
+            identity.setHandle((String) query.getQueryObject().get("_id"));
+            identity.setUserType(set.getString("userType"));
+            identity.setOwnerId(set.getString("ownerId"));
+            identity.setPrincipal(set.getString("principal"));
+            identity.setPasswordHash(set.getString("passwordHash"));
+            identity.setActive(set.getBoolean("active"));
+            identities.put(identity.getHandle(), identity);
+            return null;
+        });
+        IdentityRepository identityRepository = mock(IdentityRepository.class);
+        when(identityRepository.findById(anyString()))
+                .thenAnswer(call -> Optional.ofNullable(identities.get(call.<String>getArgument(0))));
+
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findById(stored.getId())).thenAnswer(call -> Optional.of(stored));
+        when(studentRepository.updateByEmail(eq(EMAIL), any(Update.class), eq(StudentView.DETAIL)))
+                .thenAnswer(call -> Optional.of(applyAndProject(call.getArgument(1))));
+        when(studentRepository.updateById(eq(stored.getId()), any(Update.class), eq(StudentView.DETAIL)))
+                .thenAnswer(call -> Optional.of(applyAndProject(call.getArgument(1))));
+
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        when(jwtUtil.generateTokenForStudent(any(), any(), any(), any(), any())).thenReturn("token");
+
+        identityService = new IdentityService();
+        ReflectionTestUtils.setField(identityService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(identityService, "identityRepository", identityRepository);
+
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "authenticationManager", mock(AuthenticationManager.class));
+        ReflectionTestUtils.setField(authService, "studentRepository", studentRepository);
+        ReflectionTestUtils.setField(authService, "passwordEncoder", new BCryptPasswordEncoder(5));
+        ReflectionTestUtils.setField(authService, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(authService, "principalCache", mock(PrincipalCache.class));
+        ReflectionTestUtils.setField(authService, "identityService", identityService);
+    }
+
+    @Test
+    void studentCanLogInWithChangedPassword() {
+        stored.setPassword(new BCryptPasswordEncoder(5).encode("old-secret"));
+        identityService.syncStudent(stored);
+
+        assertTrue(authService.changePassword(EMAIL, "old-secret", "new-secret").isSuccess());
+
+        assertNotNull(identities.get(EMAIL).getPasswordHash());
+        assertTrue(authService.studentLogin(login(EMAIL, "new-secret")).isSuccess());
+        assertTrue(authService.studentLogin(login("cs25001", "new-secret")).isSuccess());
+        assertFalse(authService.studentLogin(login(EMAIL, "old-secret")).isSuccess());
+    }
+
+    @Test
+    void studentCanStillLogInAfterHashUpgrade() {
+        // Stored below the encoder's cost, so the first login rehashes it
+        PasswordEncoder weaker = new BCryptPasswordEncoder(4);
+        stored.setPassword(weaker.encode("secret"));
+        identityService.syncStudent(stored);
+
+        assertTrue(authService.studentLogin(login(EMAIL, "secret")).isSuccess());
+        assertTrue(stored.getPassword().startsWith("$2a$05$"));
+
+        assertTrue(authService.studentLogin(login(EMAIL, "secret")).isSuccess());
+    }
+
+    // Apply the $set to the stored document and return it as the DETAIL projection would (no password)
+    private Student applyAndProject(Update update) {
+        Document set = (Document) update.getUpdateObject().get("$set");
+        stored.setPassword(set.getString("password"));
+        Student projected = new Student();
+        projected.setId(stored.getId());
+        projected.setName(stored.getName());
+        projected.setEmail(stored.getEmail());
+        projected.setRollNo(stored.getRollNo());
+        return projected;
+    }
+
+    private static LoginRequest login(String handle, String password) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(handle);
+        request.setPassword(password);
+        return request;
+    }
+}
@@ -0,0 +1,101 @@
+package com.university.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.management.dto.response.BulkUpdateResult;
+import com.university.management.model.Student;
+
+import jakarta.validation.Validator;
+
+/**
+ * Attendance in a bulk row only applies to students that already have an attendance record,
+ * the same as the single attendance edit; it never creates one.
+ */
+class BulkAcademicUpdateServiceTest {
+
+    private BulkAcademicUpdateService service;
+    private BulkOperations bulk;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionName(Student.class)).thenReturn("students");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("students"))).thenReturn(List.of(
+                new Document("rollNo", "20250001").append("attendance", new Document("percentage", 70.0)),
+                new Document("rollNo", "20250002")));
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Student.class)).thenReturn(bulk);
+
+        Validator validator = mock(Validator.class);
+        when(validator.validate(any())).thenReturn(Set.of());
+
+        service = new BulkAcademicUpdateService();
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "validator", validator);
+        ReflectionTestUtils.setField(service, "studentSearchIndex", mock(StudentSearchIndex.class));
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+        ReflectionTestUtils.setField(service, "maxRows", 50000);
+    }
+
+    @Test
+    void attendanceIsOnlySetWhereARecordExists() throws IOException {
+        BulkUpdateResult result = applyCsv("rollNo,attendancePercentage\n20250001,85\n20250002,90\n");
+
+        assertEquals(BulkUpdateResult.UPDATED, result.getRows().get(0).getStatus());
+        assertEquals(BulkUpdateResult.SKIPPED, result.getRows().get(1).getStatus());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getSkipped());
+        assertEquals(0, result.getFailed());
+
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk).updateOne(filter.capture(), update.capture());
+        assertTrue(filter.getValue().getQueryObject().containsKey("attendance"));
+        assertEquals(85.0, update.getValue().getUpdateObject().get("$set", Document.class).get("attendance.percentage"));
+    }
+
+    @Test
+    void otherFieldsStillApplyWithoutAnAttendanceRecord() throws IOException {
+        BulkUpdateResult result = applyCsv("rollNo,semester,attendancePercentage\n20250002,2,90\n");
+
+        assertEquals(BulkUpdateResult.UPDATED, result.getRows().get(0).getStatus());
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(1)).updateOne(filter.capture(), update.capture());
+        assertFalse(filter.getValue().getQueryObject().containsKey("attendance"));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(2, set.get("semester"));
+        assertNull(set.get("attendance.percentage"));
+    }
+
+    private BulkUpdateResult applyCsv(String csv) throws IOException {
+        return service.applyCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
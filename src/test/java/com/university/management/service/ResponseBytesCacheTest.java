@@ -0,0 +1,119 @@
+package com.university.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.management.service.ResponseBytesCache.CachedResponse;
+
+class ResponseBytesCacheTest {
+
+    private static final String NAMESPACE = "test";
+
+    private ResponseBytesCache cache;
+    private CachedResponse large;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseBytesCache();
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "gzipMinBytes", 64);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        large = cache.get(NAMESPACE, "large", 0, () -> Map.of("text", "catalog ".repeat(50)));
+    }
+
+    @Test
+    void acceptEncodingQValuesPickTheVariant() {
+        assertGzip(true, "gzip");
+        assertGzip(true, "GZIP, deflate");
+        assertGzip(true, "gzip;q=0.5, identity");
+        assertGzip(true, "x-gzip");
+        assertGzip(true, "*");
+        assertGzip(false, "gzip;q=0");
+        assertGzip(false, "gzip; q=0.000");
+        assertGzip(false, "br, gzip;q=0, *;q=1");
+        assertGzip(false, "*;q=0, identity");
+        assertGzip(false, "deflate");
+        assertGzip(false, "gzip;q=abc");
+        assertGzip(false, null);
+    }
+
+    @Test
+    void gzipVariantDecompressesToThePlainBody() throws IOException {
+        ResponseEntity<byte[]> gzipped = respond("gzip", null);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(large.getBody(), in.readAllBytes());
+        }
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzipped.getHeaders().getFirst(HttpHeaders.VARY));
+        assertTrue(gzipped.getHeaders().getETag().endsWith("-gz\""));
+    }
+
+    @Test
+    void smallBodiesAreNeverGzipped() {
+        CachedResponse small = cache.get(NAMESPACE, "small", 0, () -> Map.of("status", "UP"));
+        ResponseEntity<byte[]> response = cache.respond(NAMESPACE, small, "gzip", null, CacheControl.noCache());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(small.getBody(), response.getBody());
+    }
+
+    @Test
+    void matchingIfNoneMatchReturns304WithoutBody() {
+        String plainEtag = large.getEtag();
+        String gzipEtag = respond("gzip", null).getHeaders().getETag();
+
+        assertNotModified(respond(null, plainEtag));
+        assertNotModified(respond("gzip", gzipEtag));
+        assertNotModified(respond("gzip", "W/" + plainEtag));
+        assertNotModified(respond(null, "\"other\", " + plainEtag));
+        assertNotModified(respond(null, "*"));
+
+        ResponseEntity<byte[]> modified = respond(null, "\"other\"");
+        assertEquals(HttpStatus.OK, modified.getStatusCode());
+        assertArrayEquals(large.getBody(), modified.getBody());
+    }
+
+    @Test
+    void entryIsBuiltOnceUntilInvalidated() {
+        AtomicInteger builds = new AtomicInteger();
+        CachedResponse first = cache.get(NAMESPACE, "counted", 0, () -> Map.of("build", builds.incrementAndGet()));
+        assertSame(first, cache.get(NAMESPACE, "counted", 0, () -> Map.of("build", builds.incrementAndGet())));
+
+        cache.invalidate(NAMESPACE);
+        CachedResponse rebuilt = cache.get(NAMESPACE, "counted", 0, () -> Map.of("build", builds.incrementAndGet()));
+        assertEquals(2, builds.get());
+        assertNotEquals(first.getEtag(), rebuilt.getEtag());
+    }
+
+    private void assertGzip(boolean expected, String acceptEncoding) {
+        ResponseEntity<byte[]> response = respond(acceptEncoding, null);
+        assertEquals(expected ? "gzip" : null, response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING),
+                "Accept-Encoding: " + acceptEncoding);
+    }
+
+    private void assertNotModified(ResponseEntity<byte[]> response) {
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    private ResponseEntity<byte[]> respond(String acceptEncoding, String ifNoneMatch) {
+        return cache.respond(NAMESPACE, large, acceptEncoding, ifNoneMatch, CacheControl.noCache());
+    }
+}
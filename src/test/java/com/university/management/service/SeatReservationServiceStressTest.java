@@ -0,0 +1,156 @@
+package com.university.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.university.management.model.Course;
+import com.university.management.model.SeatHold;
+
+/**
+ * Runs hundreds of parallel approvals against a real MongoDB, on a single counter and on striped
+ * counters, and checks that no seat is sold twice.
+ * Needs MONGODB_TEST_URI (e.g. mongodb://localhost:27017); uses and drops a throwaway database.
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_TEST_URI", matches = ".+")
+class SeatReservationServiceStressTest {
+
+    private static final int SEATS = 40;
+    private static final int APPROVALS = 400;
+    private static final int THREADS = 64;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private SeatReservationService seats;
+    private SeatStripeService stripes;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create(System.getenv("MONGODB_TEST_URI"));
+        mongoTemplate = new MongoTemplate(client, "seat_stress_" + new ObjectId().toHexString());
+        stripes = new SeatStripeService();
+        ReflectionTestUtils.setField(stripes, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(stripes, "maxStripes", 64);
+        seats = new SeatReservationService();
+        ReflectionTestUtils.setField(seats, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(seats, "seatStripeService", stripes);
+        ReflectionTestUtils.setField(seats, "holdTtlMinutes", 60L);
+        ReflectionTestUtils.setField(seats, "sweepBatchSize", 100);
+
+        course = mongoTemplate.insert(new Course("CSE101", "Computer Science Engineering", "Computer Science",
+                "Undergraduate", 4, SEATS));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.getDb().drop();
+        client.close();
+    }
+
+    @Test
+    void parallelApprovalsNeverOversell() throws Exception {
+        runParallelApprovals();
+        assertEquals(0, reloadCourse().getAvailableSeats());
+    }
+
+    @Test
+    void parallelApprovalsNeverOversellStripedCourse() throws Exception {
+        stripes.enable(course.getId(), 8);
+        runParallelApprovals();
+        assertEquals(0, stripes.withLiveSeats(reloadCourse()).getAvailableSeats());
+
+        // Folding the stripes back keeps the count, and releases land on the course counter again
+        seats.release(confirmedHold().getApplicationId());
+        stripes.disable(course.getId());
+        assertEquals(1, reloadCourse().getAvailableSeats());
+        seats.release(confirmedHold().getApplicationId());
+        assertEquals(2, reloadCourse().getAvailableSeats());
+    }
+
+    private void runParallelApprovals() throws Exception {
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < APPROVALS; i++) {
+            String applicationId = new ObjectId().toHexString();
+            boolean heldFirst = i % 2 == 0; // Half go through submit (hold) then review, half are approved directly
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    if (heldFirst) {
+                        seats.hold(course.getCourseName(), applicationId);
+                    }
+                    seats.confirm(course.getCourseName(), applicationId);
+                    approved.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    refused.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(SEATS, approved.get());
+        assertEquals(APPROVALS - SEATS, refused.get());
+        assertEquals(SEATS, countHolds(SeatHold.CONFIRMED));
+        assertEquals(0, countHolds(SeatHold.HELD));
+    }
+
+    @Test
+    void expiredAndReleasedHoldsReturnTheirSeats() {
+        ReflectionTestUtils.setField(seats, "holdTtlMinutes", -1L); // Already expired when taken
+        for (int i = 0; i < 10; i++) {
+            seats.hold(course.getCourseName(), new ObjectId().toHexString());
+        }
+        String kept = new ObjectId().toHexString();
+        seats.confirm(course.getCourseName(), kept);
+        assertEquals(SEATS - 11, reloadCourse().getAvailableSeats());
+
+        assertEquals(10, seats.releaseExpiredHolds());
+        assertEquals(0, seats.releaseExpiredHolds());
+        assertEquals(SEATS - 1, reloadCourse().getAvailableSeats());
+
+        seats.release(kept);
+        seats.release(kept);
+        assertEquals(SEATS, reloadCourse().getAvailableSeats());
+    }
+
+    private SeatHold confirmedHold() {
+        return mongoTemplate.findOne(new Query(Criteria.where("status").is(SeatHold.CONFIRMED)), SeatHold.class);
+    }
+
+    private Course reloadCourse() {
+        return mongoTemplate.findById(course.getId(), Course.class);
+    }
+
+    private long countHolds(String status) {
+        return mongoTemplate.count(new Query(Criteria.where("status").is(status)), SeatHold.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.university.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.university.management.model.Application;
+import com.university.management.model.ProvisioningJob;
+import com.university.management.model.Student;
+
+/**
+ * An approval whose job upsert never happened (crash between the two writes) is picked up by the
+ * sweep; approvals that already have a job or a student are left alone.
+ */
+class StudentProvisioningSweepTest {
+
+    private MongoTemplate mongoTemplate;
+    private StudentProvisioningService service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        service = spy(new StudentProvisioningService());
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "async", true);
+        ReflectionTestUtils.setField(service, "sweepWindowHours", 168L);
+        doNothing().when(service).enqueue(anyCollection());
+    }
+
+    @Test
+    void queuesOnlyApprovalsWithoutJobOrStudent() {
+        when(mongoTemplate.find(any(Query.class), eq(Application.class))).thenReturn(List.of(
+                application("queued", "queued@university.edu"),
+                application("provisioned", "provisioned@university.edu"),
+                application("orphan", "orphan@university.edu")));
+        ProvisioningJob job = new ProvisioningJob();
+        job.setApplicationId("queued");
+        when(mongoTemplate.find(any(Query.class), eq(ProvisioningJob.class))).thenReturn(List.of(job));
+        Student student = new Student();
+        student.setEmail("provisioned@university.edu");
+        when(mongoTemplate.find(any(Query.class), eq(Student.class))).thenReturn(List.of(student));
+
+        assertEquals(1, service.sweepUnqueuedApprovals());
+        verify(service).enqueue(Set.of("orphan"));
+    }
+
+    @Test
+    void nothingToQueueWhenEveryApprovalHasAJob() {
+        when(mongoTemplate.find(any(Query.class), eq(Application.class)))
+                .thenReturn(List.of(application("queued", "queued@university.edu")));
+        ProvisioningJob job = new ProvisioningJob();
+        job.setApplicationId("queued");
+        when(mongoTemplate.find(any(Query.class), eq(ProvisioningJob.class))).thenReturn(List.of(job));
+
+        assertEquals(0, service.sweepUnqueuedApprovals());
+        verify(service, never()).enqueue(anyCollection());
+    }
+
+    private static Application application(String id, String email) {
+        Application application = new Application();
+        application.setId(id);
+        application.setEmail(email);
+        application.setApplicationStatus("APPROVED");
+        return application;
+    }
+}